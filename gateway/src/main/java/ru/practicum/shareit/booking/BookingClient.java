@@ -1,47 +1,60 @@
 package ru.practicum.shareit.booking;
 
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingSeriesRequestDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.client.BaseClient;
 
 @Service
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final long eventsTimeoutMillis;
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl,
+                         @Value("${shareit-server.events.timeout-ms:1860000}") long eventsTimeoutMillis,
+                         RestTemplateBuilder builder) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
                         .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
                         .build()
         );
+        this.eventsTimeoutMillis = eventsTimeoutMillis;
     }
 
-    public ResponseEntity<Object> getBookings(long userId, BookingState state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
-                "state", state.name(),
-                "from", from,
-                "size", size
-        );
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
+    public ResponseEntity<Object> getBookings(long userId, BookingState state, Integer from, Integer size, String cursor) {
+        return get(pagedPath("", cursor), userId, pageParameters(state.name(), from, size, cursor));
     }
 
-
     public ResponseEntity<Object> bookItem(long userId, BookItemRequestDto requestDto) {
         return post("", userId, requestDto);
     }
 
+    public ResponseEntity<Object> bookItems(long userId, List<BookItemRequestDto> requestDtos) {
+        return post("/batch", userId, requestDtos);
+    }
+
     public ResponseEntity<Object> getBooking(long userId, Long bookingId) {
         return get("/" + bookingId, userId);
     }
@@ -50,8 +63,66 @@ public class BookingClient extends BaseClient {
         return patch("/" + bookingId + "?approved=" + approved, userId);
     }
 
-    public ResponseEntity<Object> getBookingsByOwner(long userId, String state) {
-        Map<String, Object> parameters = Map.of("state", state);
-        return get("/owner?state={state}", userId, parameters);
+    public ResponseEntity<Object> updateBookingStatuses(long userId, BookingDecisionDto decision) {
+        return patch("/bulk", userId, decision);
+    }
+
+    public ResponseEntity<Object> bookSeries(long userId, BookingSeriesRequestDto requestDto) {
+        return post("/series", userId, requestDto);
+    }
+
+    public ResponseEntity<Object> updateSeriesStatus(long seriesId, boolean approved, long userId) {
+        return patch("/series/" + seriesId + "?approved=" + approved, userId);
+    }
+
+    public ResponseEntity<Object> getSeriesOccurrences(long userId, long seriesId, String from, String to) {
+        Map<String, Object> parameters = new HashMap<>();
+        StringBuilder path = new StringBuilder("/series/" + seriesId + "/occurrences");
+        if (from != null) {
+            parameters.put("from", from);
+            path.append("?from={from}");
+        }
+        if (to != null) {
+            parameters.put("to", to);
+            path.append(from == null ? "?" : "&").append("to={to}");
+        }
+        return get(path.toString(), userId, parameters);
+    }
+
+    public ResponseEntity<Object> getBookingsByOwner(long userId, String state, Integer from, Integer size, String cursor) {
+        return get(pagedPath("/owner", cursor), userId, pageParameters(state, from, size, cursor));
+    }
+
+    public ResponseEntity<Object> getBookingSummary(long userId) {
+        return get("/summary", userId);
+    }
+
+    public ResponseEntity<Object> getOwnerBookingSummary(long userId) {
+        return get("/owner/summary", userId);
+    }
+
+    public void exportOwnerBookings(long userId, HttpServletResponse response) throws IOException {
+        stream("/owner/export", userId, List.of(NDJSON, MediaType.APPLICATION_JSON), response);
+    }
+
+    public CompletableFuture<ResponseEntity<ResponseBodyEmitter>> streamEvents(long userId) {
+        return streamAsync("/events", userId, List.of(MediaType.TEXT_EVENT_STREAM, MediaType.APPLICATION_JSON),
+                eventsTimeoutMillis);
+    }
+
+    private static String pagedPath(String path, String cursor) {
+        String query = "?state={state}&from={from}&size={size}";
+        return cursor == null ? path + query : path + query + "&cursor={cursor}";
+    }
+
+    private static Map<String, Object> pageParameters(String state, Integer from, Integer size, String cursor) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("state", state);
+        parameters.put("from", from);
+        parameters.put("size", size);
+        if (cursor != null) {
+            parameters.put("cursor", cursor);
+        }
+        return parameters;
     }
 }
@@ -1,12 +1,21 @@
 package ru.practicum.shareit.booking;
 
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingSeriesRequestDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/bookings")
 public class BookingController {
@@ -24,6 +33,45 @@ public class BookingController {
         return bookingClient.bookItem(userId, bookingDto);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<Object> addBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                              @RequestBody List<@Valid BookItemRequestDto> bookingDtos) {
+        log.info("Gateway: adding batch of {} bookings for user {}", bookingDtos.size(), userId);
+        return bookingClient.bookItems(userId, bookingDtos);
+    }
+
+    @PatchMapping("/bulk")
+    public ResponseEntity<Object> updateBookingStatuses(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                        @RequestBody BookingDecisionDto decision) {
+        log.info("Gateway: bulk booking decision by user {}: {}", userId, decision);
+        return bookingClient.updateBookingStatuses(userId, decision);
+    }
+
+    @PostMapping("/series")
+    public ResponseEntity<Object> addSeries(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                            @Valid @RequestBody BookingSeriesRequestDto seriesDto) {
+        log.info("Gateway: adding booking series for user {}: {}", userId, seriesDto);
+        return bookingClient.bookSeries(userId, seriesDto);
+    }
+
+    @PatchMapping("/series/{seriesId}")
+    public ResponseEntity<Object> updateSeriesStatus(@PathVariable Long seriesId,
+                                                     @RequestParam boolean approved,
+                                                     @RequestHeader("X-Sharer-User-Id") Long userId) {
+        log.info("Gateway: updating booking series status, seriesId={}, approved={}, userId={}",
+                seriesId, approved, userId);
+        return bookingClient.updateSeriesStatus(seriesId, approved, userId);
+    }
+
+    @GetMapping("/series/{seriesId}/occurrences")
+    public ResponseEntity<Object> getSeriesOccurrences(@PathVariable Long seriesId,
+                                                       @RequestHeader("X-Sharer-User-Id") Long userId,
+                                                       @RequestParam(required = false) String from,
+                                                       @RequestParam(required = false) String to) {
+        log.info("Gateway: retrieving occurrences of series {} for user {}, from={}, to={}", seriesId, userId, from, to);
+        return bookingClient.getSeriesOccurrences(userId, seriesId, from, to);
+    }
+
     @PatchMapping("/{bookingId}")
     public ResponseEntity<Object> updateBookingStatus(@PathVariable Long bookingId,
                                                       @RequestParam boolean approved,
@@ -42,15 +90,49 @@ public class BookingController {
 
     @GetMapping
     public ResponseEntity<Object> getUserBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                  @RequestParam(defaultValue = "ALL") String state) {
-        log.info("Gateway: retrieving bookings for user {} with state {}", userId, state);
-        return bookingClient.getBookings(userId, BookingState.valueOf(state), 0, 10);
+                                                  @RequestParam(defaultValue = "ALL") String state,
+                                                  @RequestParam(defaultValue = "0") Integer from,
+                                                  @RequestParam(defaultValue = "10") Integer size,
+                                                  @RequestParam(required = false) String cursor) {
+        log.info("Gateway: retrieving bookings for user {} with state {}, from={}, size={}, cursor={}",
+                userId, state, from, size, cursor);
+        return bookingClient.getBookings(userId, BookingState.valueOf(state), from, size, cursor);
     }
 
     @GetMapping("/owner")
     public ResponseEntity<Object> getOwnerBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                   @RequestParam(defaultValue = "ALL") String state) {
-        log.info("Gateway: retrieving owner bookings for user {} with state {}", userId, state);
-        return bookingClient.getBookingsByOwner(userId, state);
+                                                   @RequestParam(defaultValue = "ALL") String state,
+                                                   @RequestParam(defaultValue = "0") Integer from,
+                                                   @RequestParam(defaultValue = "10") Integer size,
+                                                   @RequestParam(required = false) String cursor) {
+        log.info("Gateway: retrieving owner bookings for user {} with state {}, from={}, size={}, cursor={}",
+                userId, state, from, size, cursor);
+        return bookingClient.getBookingsByOwner(userId, state, from, size, cursor);
+    }
+
+    @GetMapping("/summary")
+    public ResponseEntity<Object> getUserBookingSummary(@RequestHeader("X-Sharer-User-Id") Long userId) {
+        log.info("Gateway: retrieving booking summary for user {}", userId);
+        return bookingClient.getBookingSummary(userId);
+    }
+
+    @GetMapping("/owner/summary")
+    public ResponseEntity<Object> getOwnerBookingSummary(@RequestHeader("X-Sharer-User-Id") Long userId) {
+        log.info("Gateway: retrieving owner booking summary for user {}", userId);
+        return bookingClient.getOwnerBookingSummary(userId);
+    }
+
+    @GetMapping("/owner/export")
+    public void exportOwnerBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                    HttpServletResponse response) throws IOException {
+        log.info("Gateway: streaming booking export for owner {}", userId);
+        bookingClient.exportOwnerBookings(userId, response);
+    }
+
+    @GetMapping("/events")
+    public CompletableFuture<ResponseEntity<ResponseBodyEmitter>> streamEvents(
+            @RequestHeader("X-Sharer-User-Id") Long userId) {
+        log.info("Gateway: opening booking event stream for user {}", userId);
+        return bookingClient.streamEvents(userId);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,37 @@
+package ru.practicum.shareit.booking.dto;
+
+import java.time.LocalDateTime;
+
+import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.FutureOrPresent;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+@Getter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingSeriesRequestDto {
+	@NotNull
+	private Long itemId;
+	@NotNull
+	@FutureOrPresent
+	private LocalDateTime start;
+	@NotNull
+	@Future
+	private LocalDateTime end;
+	/**
+	 * DAILY or WEEKLY.
+	 */
+	@NotNull
+	private String recurrence;
+	@Positive
+	private Integer interval;
+	@NotNull
+	@FutureOrPresent
+	private LocalDateTime until;
+}
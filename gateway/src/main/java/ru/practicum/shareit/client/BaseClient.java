@@ -1,18 +1,38 @@
 package ru.practicum.shareit.client;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
 
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.StreamingHttpOutputMessage;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
 public class BaseClient {
+    private static final HttpClient STREAM_CLIENT = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
     protected final RestTemplate rest;
 
     public BaseClient(RestTemplate rest) {
@@ -79,6 +99,152 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
+    /**
+     * Relays a GET response of the server to {@code target} while it is being received, without materializing the
+     * body. Every chunk is flushed as soon as it arrives. Holds the request thread until the body ends, so long-lived
+     * streams use {@link #streamAsync} instead.
+     */
+    protected void stream(String path, long userId, List<MediaType> accept, HttpServletResponse target) throws IOException {
+        HttpHeaders headers = defaultHeaders(userId);
+        headers.setAccept(accept);
+        try {
+            rest.execute(path, HttpMethod.GET, request -> request.getHeaders().addAll(headers),
+                    response -> relayResponse(response, target));
+        } catch (HttpStatusCodeException e) {
+            relayError(e, target);
+        }
+    }
+
+    /**
+     * Relays a GET response of the server without holding a request thread while it lasts. The response is received
+     * by a non-blocking client and every chunk is written through the returned emitter as soon as it arrives, with
+     * the status and content type of the server. The connection to the server is closed when the client goes away or
+     * after {@code timeoutMillis}.
+     */
+    protected CompletableFuture<ResponseEntity<ResponseBodyEmitter>> streamAsync(String path, long userId,
+                                                                              List<MediaType> accept,
+                                                                              long timeoutMillis) {
+        HttpRequest request = HttpRequest.newBuilder(rest.getUriTemplateHandler().expand(path))
+                .header("X-Sharer-User-Id", String.valueOf(userId))
+                .header(HttpHeaders.ACCEPT, MediaType.toString(accept))
+                .GET()
+                .build();
+        return STREAM_CLIENT.sendAsync(request, HttpResponse.BodyHandlers.ofPublisher()).thenApply(response -> {
+            ResponseBodyEmitter emitter = new ResponseBodyEmitter(timeoutMillis);
+            response.body().subscribe(new EmitterSubscriber(emitter));
+            ResponseEntity.BodyBuilder builder = ResponseEntity.status(response.statusCode());
+            response.headers().firstValue(HttpHeaders.CONTENT_TYPE)
+                    .ifPresent(contentType -> builder.contentType(MediaType.parseMediaType(contentType)));
+            return builder.body(emitter);
+        });
+    }
+
+    /**
+     * POSTs {@code body} to the server while it is being read and relays the response to {@code target}, so an
+     * upload of any size passes through without being materialized.
+     */
+    protected void upload(String path, long userId, MediaType contentType, InputStream body,
+                          HttpServletResponse target) throws IOException {
+        HttpHeaders headers = defaultHeaders(userId);
+        headers.setContentType(contentType);
+        try {
+            rest.execute(path, HttpMethod.POST, request -> {
+                request.getHeaders().addAll(headers);
+                if (request instanceof StreamingHttpOutputMessage streaming) {
+                    streaming.setBody(out -> StreamUtils.copy(body, out));
+                } else {
+                    StreamUtils.copy(body, request.getBody());
+                }
+            }, response -> relayResponse(response, target));
+        } catch (HttpStatusCodeException e) {
+            relayError(e, target);
+        }
+    }
+
+    private static Void relayResponse(ClientHttpResponse response, HttpServletResponse target) throws IOException {
+        target.setStatus(response.getStatusCode().value());
+        if (response.getHeaders().getContentType() != null) {
+            target.setContentType(response.getHeaders().getContentType().toString());
+        }
+        relay(response.getBody(), target.getOutputStream());
+        return null;
+    }
+
+    private static void relayError(HttpStatusCodeException e, HttpServletResponse target) throws IOException {
+        target.setStatus(e.getStatusCode().value());
+        if (e.getResponseHeaders() != null && e.getResponseHeaders().getContentType() != null) {
+            target.setContentType(e.getResponseHeaders().getContentType().toString());
+        }
+        target.getOutputStream().write(e.getResponseBodyAsByteArray());
+    }
+
+    private static void relay(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[StreamUtils.BUFFER_SIZE];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+            out.flush();
+        }
+    }
+
+    /**
+     * Writes the chunks of a server response to an emitter one at a time, and cancels the server response once the
+     * emitter is done for any reason.
+     */
+    private static final class EmitterSubscriber implements Flow.Subscriber<List<ByteBuffer>> {
+        private final ResponseBodyEmitter emitter;
+        private Flow.Subscription subscription;
+
+        private EmitterSubscriber(ResponseBodyEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            emitter.onCompletion(subscription::cancel);
+            emitter.onTimeout(() -> {
+                subscription.cancel();
+                emitter.complete();
+            });
+            emitter.onError(error -> subscription.cancel());
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> buffers) {
+            int size = 0;
+            for (ByteBuffer buffer : buffers) {
+                size += buffer.remaining();
+            }
+            byte[] chunk = new byte[size];
+            int offset = 0;
+            for (ByteBuffer buffer : buffers) {
+                int length = buffer.remaining();
+                buffer.get(chunk, offset, length);
+                offset += length;
+            }
+            try {
+                emitter.send(chunk);
+            } catch (IOException | IllegalStateException e) {
+                subscription.cancel();
+                emitter.completeWithError(e);
+                return;
+            }
+            subscription.request(1);
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            emitter.completeWithError(error);
+        }
+
+        @Override
+        public void onComplete() {
+            emitter.complete();
+        }
+    }
+
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
         HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
 
@@ -3,6 +3,8 @@ package ru.practicum.shareit.item;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
@@ -11,6 +13,9 @@ import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.Map;
 
 @Service
@@ -31,6 +36,11 @@ public class ItemClient extends BaseClient {
         return post("", userId, itemDto);
     }
 
+    public void importItems(long userId, MediaType contentType, InputStream body, HttpServletResponse response)
+            throws IOException {
+        upload("/import", userId, contentType, body, response);
+    }
+
     public ResponseEntity<Object> updateItem(Long itemId, Long userId, ItemDto itemDto) {
         return patch("/" + itemId, userId, itemDto);
     }
@@ -43,12 +53,32 @@ public class ItemClient extends BaseClient {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> searchItems(String text) {
-        Map<String, Object> parameters = Map.of("text", text);
-        return get("/search?text={text}", null, parameters);
+    public ResponseEntity<Object> searchItems(String text, Integer from, Integer size, Boolean fuzzy) {
+        Map<String, Object> parameters = Map.of("text", text, "from", from, "size", size, "fuzzy", fuzzy);
+        return get("/search?text={text}&from={from}&size={size}&fuzzy={fuzzy}", null, parameters);
+    }
+
+    public ResponseEntity<Object> suggestItems(String prefix, Integer limit) {
+        Map<String, Object> parameters = Map.of("prefix", prefix, "limit", limit);
+        return get("/suggest?prefix={prefix}&limit={limit}", null, parameters);
+    }
+
+    public ResponseEntity<Object> getComments(Long itemId, String cursor, Integer size) {
+        if (cursor == null) {
+            return get("/" + itemId + "/comments?size={size}", null, Map.of("size", size));
+        }
+        return get("/" + itemId + "/comments?size={size}&cursor={cursor}", null, Map.of("size", size, "cursor", cursor));
     }
 
     public ResponseEntity<Object> addComment(Long userId, Long itemId, CommentDto commentDto) {
         return post("/" + itemId + "/comment", userId, commentDto);
     }
+
+    public ResponseEntity<Object> getAvailability(Long itemId, LocalDateTime from, LocalDateTime to) {
+        Map<String, Object> parameters = Map.of(
+                "from", from.toString(),
+                "to", to.toString()
+        );
+        return get("/" + itemId + "/availability?from={from}&to={to}", null, parameters);
+    }
 }
\ No newline at end of file
@@ -1,10 +1,16 @@
 package ru.practicum.shareit.item;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.logging.Logger;
 
 /**
@@ -27,6 +33,17 @@ public class ItemController {
         return itemClient.addItem(userId, itemDto);
     }
 
+    /**
+     * Relays an NDJSON or CSV item upload to the server while it is being received.
+     */
+    @PostMapping(path = "/import", consumes = {"application/x-ndjson", "text/csv"})
+    public void importItems(@RequestHeader("X-Sharer-User-Id") Long userId,
+                            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        log.info("Gateway: Importing items for user ID: " + userId + " from " + request.getContentType());
+        itemClient.importItems(userId, MediaType.parseMediaType(request.getContentType()), request.getInputStream(),
+                response);
+    }
+
     @PatchMapping("/{itemId}")
     public ResponseEntity<Object> updateItem(@PathVariable Long itemId,
                                              @RequestHeader("X-Sharer-User-Id") Long userId,
@@ -49,9 +66,19 @@ public class ItemController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> searchItems(@RequestParam String text) {
-        log.info("Gateway: Searching for items with text: " + text);
-        return itemClient.searchItems(text);
+    public ResponseEntity<Object> searchItems(@RequestParam String text,
+                                              @RequestParam(defaultValue = "0") Integer from,
+                                              @RequestParam(defaultValue = "10") Integer size,
+                                              @RequestParam(defaultValue = "false") Boolean fuzzy) {
+        log.info("Gateway: Searching for items with text: " + text + ", from=" + from + ", size=" + size
+                + ", fuzzy=" + fuzzy);
+        return itemClient.searchItems(text, from, size, fuzzy);
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<Object> suggestItems(@RequestParam String prefix,
+                                               @RequestParam(defaultValue = "10") Integer limit) {
+        return itemClient.suggestItems(prefix, limit);
     }
 
     @PostMapping("/{itemId}/comment")
@@ -61,4 +88,19 @@ public class ItemController {
         log.info("Gateway: Adding comment to itemId=" + itemId + " by userId=" + userId);
         return itemClient.addComment(userId, itemId, commentDto);
     }
+
+    @GetMapping("/{itemId}/comments")
+    public ResponseEntity<Object> getComments(@PathVariable Long itemId,
+                                              @RequestParam(required = false) String cursor,
+                                              @RequestParam(defaultValue = "10") Integer size) {
+        return itemClient.getComments(itemId, cursor, size);
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public ResponseEntity<Object> getAvailability(@PathVariable Long itemId,
+                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("Gateway: Fetching availability of itemId=" + itemId + " from " + from + " to " + to);
+        return itemClient.getAvailability(itemId, from, to);
+    }
 }
\ No newline at end of file
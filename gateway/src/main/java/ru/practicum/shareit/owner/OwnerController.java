@@ -0,0 +1,26 @@
+package ru.practicum.shareit.owner;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/owner")
+public class OwnerController {
+    private static final Logger log = LoggerFactory.getLogger(OwnerController.class);
+    private final OwnerClient ownerClient;
+
+    public OwnerController(OwnerClient ownerClient) {
+        this.ownerClient = ownerClient;
+    }
+
+    @GetMapping("/dashboard")
+    public ResponseEntity<Object> getDashboard(@RequestHeader("X-Sharer-User-Id") Long userId) {
+        log.info("Gateway: retrieving dashboard for owner {}", userId);
+        return ownerClient.getDashboard(userId);
+    }
+}
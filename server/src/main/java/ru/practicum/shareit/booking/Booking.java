@@ -15,13 +15,21 @@ import java.util.Objects;
  */
 @Entity
 @Table(name = "bookings")
+@NamedEntityGraph(name = BookingRepository.BOOKING_DETAILS, attributeNodes = {
+        @NamedAttributeNode(value = "item", subgraph = "item"),
+        @NamedAttributeNode("booker")
+}, subgraphs = @NamedSubgraph(name = "item", attributeNodes = {
+        @NamedAttributeNode("owner"),
+        @NamedAttributeNode("request")
+}))
 @Getter
 @Setter
 @ToString(exclude = {"item", "booker"})
 public class Booking {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_id_seq")
+    @SequenceGenerator(name = "bookings_id_seq", sequenceName = "bookings_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -42,6 +50,24 @@ public class Booking {
     @Column(name = "status", nullable = false)
     private Status status;
 
+    /**
+     * Derived from start/end; written on insert and afterwards only by the bulk updates of BookingPhaseRefresher.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "phase", nullable = false, updatable = false)
+    private BookingPhase phase;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @PrePersist
+    void initPhase() {
+        if (phase == null) {
+            phase = BookingPhase.at(start, end, LocalDateTime.now());
+        }
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
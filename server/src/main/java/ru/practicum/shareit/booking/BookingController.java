@@ -2,11 +2,22 @@ package ru.practicum.shareit.booking;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
+import ru.practicum.shareit.booking.dto.BookingSeriesDto;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -15,11 +26,18 @@ import java.util.List;
 @RestController
 @RequestMapping(path = "/bookings")
 public class BookingController {
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
     private final BookingService bookingService;
+    private final BookingExporter bookingExporter;
+    private final BookingEventBroadcaster bookingEventBroadcaster;
     private static final Logger log = LoggerFactory.getLogger(BookingController.class);
 
-    public BookingController(BookingService bookingService) {
+    public BookingController(BookingService bookingService, BookingExporter bookingExporter,
+                             BookingEventBroadcaster bookingEventBroadcaster) {
         this.bookingService = bookingService;
+        this.bookingExporter = bookingExporter;
+        this.bookingEventBroadcaster = bookingEventBroadcaster;
     }
 
     @PostMapping
@@ -29,6 +47,40 @@ public class BookingController {
         return new ResponseEntity<>(bookingService.createBooking(userId, bookingDto), HttpStatus.CREATED);
     }
 
+    @PostMapping("/batch")
+    public List<BookingBatchResultDto> addBookings(@RequestBody List<BookingDto> bookingDtos,
+                                                   @RequestHeader("X-Sharer-User-Id") Long userId) {
+        return bookingService.createBookings(userId, bookingDtos);
+    }
+
+    @PatchMapping("/bulk")
+    public BookingDecisionResultDto updateBookingStatuses(@RequestBody BookingDecisionDto decision,
+                                                          @RequestHeader("X-Sharer-User-Id") Long userId) {
+        return bookingService.updateBookingStatuses(decision, userId);
+    }
+
+    @PostMapping("/series")
+    public ResponseEntity<BookingSeriesDto> addSeries(@RequestBody BookingSeriesDto seriesDto,
+                                                      @RequestHeader("X-Sharer-User-Id") Long userId) {
+        return new ResponseEntity<>(bookingService.createSeries(userId, seriesDto), HttpStatus.CREATED);
+    }
+
+    @PatchMapping("/series/{seriesId}")
+    public BookingSeriesDto updateSeriesStatus(@PathVariable Long seriesId, @RequestParam Boolean approved,
+                                               @RequestHeader("X-Sharer-User-Id") Long userId) {
+        return bookingService.updateSeriesStatus(seriesId, approved, userId);
+    }
+
+    @GetMapping("/series/{seriesId}/occurrences")
+    public List<BookingDto> getSeriesOccurrences(@PathVariable Long seriesId,
+                                                 @RequestHeader("X-Sharer-User-Id") Long userId,
+                                                 @RequestParam(required = false)
+                                                 @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                 @RequestParam(required = false)
+                                                 @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return bookingService.getSeriesOccurrences(seriesId, userId, from, to);
+    }
+
     @PatchMapping("/{bookingId}")
     public BookingDto updateBookingStatus(@PathVariable Long bookingId, @RequestParam boolean approved, @RequestHeader("X-Sharer-User-Id") Long userId) {
         return bookingService.updateBookingStatus(bookingId, approved, userId);
@@ -40,12 +92,53 @@ public class BookingController {
     }
 
     @GetMapping
-    public List<BookingDto> getUserBookings(@RequestHeader("X-Sharer-User-Id") Long userId, @RequestParam(required = false, defaultValue = "ALL") String state) {
-        return bookingService.getBookingsByUser(userId, state);
+    public ResponseEntity<List<BookingDto>> getUserBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                            @RequestParam(required = false, defaultValue = "ALL") String state,
+                                                            @RequestParam(defaultValue = "0") int from,
+                                                            @RequestParam(defaultValue = "10") int size,
+                                                            @RequestParam(required = false) String cursor) {
+        return toResponse(bookingService.getBookingsByUser(userId, state, from, size, cursor));
     }
 
     @GetMapping("/owner")
-    public List<BookingDto> getOwnerBookings(@RequestHeader("X-Sharer-User-Id") Long userId, @RequestParam(required = false, defaultValue = "ALL") String state) {
-        return bookingService.getBookingsByOwner(userId, state);
+    public ResponseEntity<List<BookingDto>> getOwnerBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                             @RequestParam(required = false, defaultValue = "ALL") String state,
+                                                             @RequestParam(defaultValue = "0") int from,
+                                                             @RequestParam(defaultValue = "10") int size,
+                                                             @RequestParam(required = false) String cursor) {
+        return toResponse(bookingService.getBookingsByOwner(userId, state, from, size, cursor));
+    }
+
+    @GetMapping("/summary")
+    public BookingSummaryDto getUserBookingSummary(@RequestHeader("X-Sharer-User-Id") Long userId) {
+        return bookingService.getBookingSummaryByUser(userId);
+    }
+
+    @GetMapping("/owner/summary")
+    public BookingSummaryDto getOwnerBookingSummary(@RequestHeader("X-Sharer-User-Id") Long userId) {
+        return bookingService.getBookingSummaryByOwner(userId);
+    }
+
+    @GetMapping("/owner/export")
+    public ResponseEntity<StreamingResponseBody> exportOwnerBookings(@RequestHeader("X-Sharer-User-Id") Long userId) {
+        return ResponseEntity.ok()
+                .contentType(NDJSON)
+                .body(bookingExporter.exportByOwner(userId));
+    }
+
+    /**
+     * Streams the {@link BookingEventType} events of bookings and booking series the user made or received.
+     */
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(@RequestHeader("X-Sharer-User-Id") Long userId) {
+        return bookingEventBroadcaster.subscribe(userId);
+    }
+
+    private ResponseEntity<List<BookingDto>> toResponse(BookingPageDto page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getBookings());
     }
 }
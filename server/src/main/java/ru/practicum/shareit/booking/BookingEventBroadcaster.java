@@ -0,0 +1,223 @@
+package ru.practicum.shareit.booking;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.booking.dto.BookingEventDto;
+import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.outbox.OutboxConsumer;
+import ru.practicum.shareit.outbox.OutboxEvent;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes booking events from the outbox to the booker and owner over server-sent events.
+ * <p>
+ * Each event is encoded once and the same frame is queued for every subscriber of the two users. A small pool of
+ * sender threads drains the per-connection queues, so a slow client never holds up the relay or other clients. A
+ * client whose queue overflows is disconnected and is expected to reconnect and reload its listings. A heartbeat
+ * comment keeps idle connections open through proxies; it is skipped for clients that are already behind.
+ * Open connections and disconnects are published as {@code shareit.booking.events.subscribers} and
+ * {@code shareit.booking.events.dropped}.
+ * <p>
+ * Subscribers are local to the instance, and every outbox event is delivered by the one {@link
+ * ru.practicum.shareit.outbox.OutboxRelay} that locks it, so a client only receives the events relayed by the
+ * instance it is connected to. The stream is therefore refused unless {@code shareit.booking.events.single-instance}
+ * declares that this is the only server instance.
+ */
+@Component
+public class BookingEventBroadcaster implements OutboxConsumer {
+    private static final Logger log = LoggerFactory.getLogger(BookingEventBroadcaster.class);
+
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+    private final boolean singleInstance;
+    private final long timeoutMillis;
+    private final int queueCapacity;
+    private final ExecutorService senders;
+    private final ScheduledExecutorService heartbeats;
+    private final Counter dropped;
+
+    public BookingEventBroadcaster(UserRepository userRepository, ObjectMapper objectMapper,
+                                   @Value("${shareit.booking.events.single-instance:false}") boolean singleInstance,
+                                   @Value("${shareit.booking.events.timeout-ms:1800000}") long timeoutMillis,
+                                   @Value("${shareit.booking.events.heartbeat-ms:15000}") long heartbeatMillis,
+                                   @Value("${shareit.booking.events.queue-capacity:64}") int queueCapacity,
+                                   @Value("${shareit.booking.events.sender-threads:4}") int senderThreads,
+                                   MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.objectMapper = objectMapper;
+        this.singleInstance = singleInstance;
+        this.timeoutMillis = timeoutMillis;
+        this.queueCapacity = queueCapacity;
+        this.senders = Executors.newFixedThreadPool(senderThreads);
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor();
+        this.heartbeats.scheduleWithFixedDelay(this::heartbeat, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+        this.dropped = Counter.builder("shareit.booking.events.dropped")
+                .description("Event stream connections closed because the client fell behind")
+                .register(meterRegistry);
+        Gauge.builder("shareit.booking.events.subscribers", connections, AtomicInteger::get)
+                .description("Open booking event stream connections")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(Long userId) {
+        if (!singleInstance) {
+            throw new NotFoundException("Booking event stream is not available.");
+        }
+        if (!userRepository.existsById(userId)) {
+            throw new NotFoundException("User not found.");
+        }
+
+        SseEmitter emitter = createEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(userId, emitter);
+        subscribers.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        connections.incrementAndGet();
+        emitter.onCompletion(subscriber::remove);
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> subscriber.remove());
+        return emitter;
+    }
+
+    protected SseEmitter createEmitter(long timeoutMillis) {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    @Override
+    public void accept(OutboxEvent event) {
+        if (!isBookingEvent(event.getType())) {
+            return;
+        }
+
+        BookingEventDto booking;
+        try {
+            booking = objectMapper.readValue(event.getPayload(), BookingEventDto.class);
+        } catch (JsonProcessingException e) {
+            log.error("Skipping undecodable booking event {}", event, e);
+            return;
+        }
+        // The payload is already JSON, so it is written as is instead of being serialized per connection.
+        Set<ResponseBodyEmitter.DataWithMediaType> frame = SseEmitter.event()
+                .id(String.valueOf(event.getId()))
+                .name(event.getType())
+                .data(event.getPayload(), MediaType.APPLICATION_JSON)
+                .build();
+        publish(booking.getBookerId(), frame);
+        publish(booking.getOwnerId(), frame);
+    }
+
+    private static boolean isBookingEvent(String type) {
+        for (BookingEventType bookingEventType : BookingEventType.values()) {
+            if (bookingEventType.name().equals(type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void publish(Long userId, Set<ResponseBodyEmitter.DataWithMediaType> frame) {
+        Set<Subscriber> userSubscribers = userId == null ? null : subscribers.get(userId);
+        if (userSubscribers != null) {
+            userSubscribers.forEach(subscriber -> subscriber.offer(frame, true));
+        }
+    }
+
+    private void heartbeat() {
+        Set<ResponseBodyEmitter.DataWithMediaType> frame = SseEmitter.event().comment("heartbeat").build();
+        subscribers.values().forEach(userSubscribers ->
+                userSubscribers.forEach(subscriber -> subscriber.offer(frame, false)));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeats.shutdownNow();
+        senders.shutdownNow();
+        subscribers.values().forEach(userSubscribers -> userSubscribers.forEach(subscriber -> subscriber.emitter.complete()));
+    }
+
+    private final class Subscriber {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Set<ResponseBodyEmitter.DataWithMediaType>> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean removed = new AtomicBoolean();
+
+        private Subscriber(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        }
+
+        /**
+         * Queues a frame; when the queue is full a required frame disconnects the client, an optional one is dropped.
+         */
+        private void offer(Set<ResponseBodyEmitter.DataWithMediaType> frame, boolean required) {
+            if (queue.offer(frame)) {
+                scheduleDrain();
+            } else if (required && !removed.get()) {
+                log.warn("Booking event stream of user {} fell {} events behind; disconnecting", userId, queueCapacity);
+                dropped.increment();
+                remove();
+                emitter.complete();
+            }
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                Set<ResponseBodyEmitter.DataWithMediaType> frame;
+                while (!removed.get() && (frame = queue.poll()) != null) {
+                    emitter.send(frame);
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Booking event stream of user {} closed: {}", userId, e.getMessage());
+                remove();
+            } finally {
+                draining.set(false);
+                if (!removed.get() && !queue.isEmpty()) {
+                    scheduleDrain();
+                }
+            }
+        }
+
+        private void remove() {
+            if (removed.compareAndSet(false, true)) {
+                queue.clear();
+                connections.decrementAndGet();
+                subscribers.computeIfPresent(userId, (id, userSubscribers) -> {
+                    userSubscribers.remove(this);
+                    return userSubscribers.isEmpty() ? null : userSubscribers;
+                });
+            }
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package ru.practicum.shareit.booking;
+
+/**
+ * Booking and booking series lifecycle events recorded in the outbox; the name is stored as the event type, the
+ * payload is a {@link ru.practicum.shareit.booking.dto.BookingEventDto}.
+ */
+public enum BookingEventType {
+    BOOKING_CREATED, BOOKING_STATUS_CHANGED, SERIES_CREATED, SERIES_STATUS_CHANGED
+}
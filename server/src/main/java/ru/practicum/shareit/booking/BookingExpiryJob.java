@@ -0,0 +1,163 @@
+package ru.practicum.shareit.booking;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.dto.BookingEventDto;
+import ru.practicum.shareit.outbox.OutboxWriter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Moves WAITING bookings whose start has passed to EXPIRED, and WAITING series whose first occurrence has started.
+ * <p>
+ * Work is done in chunks of at most {@code shareit.booking.expiry.chunk-size} bookings, each in its own short
+ * transaction, and a run stops after {@code shareit.booking.expiry.max-chunks} chunks so a large backlog is worked
+ * off over several runs without long locks. The status update is conditional on WAITING, so a booking decided by its
+ * owner in the meantime is left alone. Every expiry is recorded in the outbox like any other status change.
+ * Expired bookings, chunk duration and the remaining backlog are published as {@code shareit.booking.expiry.expired},
+ * {@code shareit.booking.expiry.chunk} and {@code shareit.booking.expiry.backlog}. Series are few, so they are expired
+ * in one transaction per run, the same way, and counted as {@code shareit.booking.expiry.series.expired}.
+ */
+@Component
+public class BookingExpiryJob {
+    private static final Logger log = LoggerFactory.getLogger(BookingExpiryJob.class);
+
+    private final BookingRepository bookingRepository;
+    private final BookingSeriesRepository seriesRepository;
+    private final OutboxWriter outboxWriter;
+    private final BookingSummaryCache summaryCache;
+    private final TransactionTemplate transaction;
+    private final int chunkSize;
+    private final int maxChunks;
+    private final Counter expired;
+    private final Counter expiredSeries;
+    private final Timer chunkTimer;
+    private final AtomicLong backlog = new AtomicLong();
+
+    public BookingExpiryJob(BookingRepository bookingRepository, BookingSeriesRepository seriesRepository,
+                            OutboxWriter outboxWriter,
+                            BookingSummaryCache summaryCache, PlatformTransactionManager transactionManager,
+                            @Value("${shareit.booking.expiry.chunk-size:500}") int chunkSize,
+                            @Value("${shareit.booking.expiry.max-chunks:100}") int maxChunks,
+                            MeterRegistry meterRegistry) {
+        this.bookingRepository = bookingRepository;
+        this.seriesRepository = seriesRepository;
+        this.outboxWriter = outboxWriter;
+        this.summaryCache = summaryCache;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.maxChunks = maxChunks;
+        this.expired = Counter.builder("shareit.booking.expiry.expired")
+                .description("WAITING bookings moved to EXPIRED")
+                .register(meterRegistry);
+        this.expiredSeries = Counter.builder("shareit.booking.expiry.series.expired")
+                .description("WAITING booking series moved to EXPIRED")
+                .register(meterRegistry);
+        this.chunkTimer = Timer.builder("shareit.booking.expiry.chunk")
+                .description("Duration of one expiry chunk transaction")
+                .register(meterRegistry);
+        Gauge.builder("shareit.booking.expiry.backlog", backlog, AtomicLong::get)
+                .description("WAITING bookings past their start still to be expired")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return number of bookings expired in this run
+     */
+    @Scheduled(fixedDelayString = "${shareit.booking.expiry.interval-ms:60000}",
+            initialDelayString = "${shareit.booking.expiry.interval-ms:60000}")
+    public int expireStaleBookings() {
+        LocalDateTime now = LocalDateTime.now();
+        int total = 0;
+        for (int chunk = 0; chunk < maxChunks; chunk++) {
+            int done = chunkTimer.record(() -> transaction.execute(status -> expireChunk(now)));
+            total += done;
+            if (done < chunkSize) {
+                break;
+            }
+        }
+        backlog.set(bookingRepository.countStaleWaiting(now));
+        if (total > 0) {
+            log.info("Expired {} stale WAITING bookings, {} left", total, backlog.get());
+        }
+
+        int series = transaction.execute(status -> expireSeries(now));
+        expiredSeries.increment(series);
+        if (series > 0) {
+            log.info("Expired {} stale WAITING booking series", series);
+        }
+        return total;
+    }
+
+    private int expireChunk(LocalDateTime now) {
+        List<Booking> stale = bookingRepository.findStaleWaiting(now, PageRequest.of(0, chunkSize));
+        if (stale.isEmpty()) {
+            return 0;
+        }
+
+        List<BookingEventDto> events = stale.stream()
+                .map(booking -> new BookingEventDto(booking.getId(), booking.getItem().getId(),
+                        booking.getItem().getOwner().getId(), booking.getBooker().getId(), Status.EXPIRED,
+                        booking.getStart(), booking.getEnd(), null))
+                .collect(Collectors.toList());
+        List<Long> ids = events.stream().map(BookingEventDto::getBookingId).collect(Collectors.toList());
+        int updated = bookingRepository.updateStatuses(ids, Status.WAITING, Status.EXPIRED);
+        if (updated != ids.size()) {
+            // Decided by an owner between the select and the update; those keep their new status.
+            Set<Long> decidedMeanwhile = bookingRepository.findAllById(ids).stream()
+                    .filter(booking -> booking.getStatus() != Status.EXPIRED)
+                    .map(Booking::getId)
+                    .collect(Collectors.toSet());
+            events.removeIf(event -> decidedMeanwhile.contains(event.getBookingId()));
+        }
+
+        events.forEach(event -> outboxWriter.append(BookingEventType.BOOKING_STATUS_CHANGED.name(),
+                event.getBookingId(), event));
+        summaryCache.evict(events.stream().map(BookingEventDto::getBookerId).collect(Collectors.toSet()),
+                events.stream().map(BookingEventDto::getOwnerId).collect(Collectors.toSet()));
+        expired.increment(events.size());
+        return events.size();
+    }
+
+    private int expireSeries(LocalDateTime now) {
+        List<BookingSeries> stale = seriesRepository.findStaleWaiting(now);
+        if (stale.isEmpty()) {
+            return 0;
+        }
+
+        List<BookingEventDto> events = stale.stream()
+                .map(series -> new BookingEventDto(null, series.getItem().getId(), series.getItem().getOwner().getId(),
+                        series.getBooker().getId(), Status.EXPIRED, series.getStart(),
+                        new SeriesOccurrences(series).lastEnd(), series.getId()))
+                .collect(Collectors.toList());
+        List<Long> ids = events.stream().map(BookingEventDto::getSeriesId).collect(Collectors.toList());
+        int updated = seriesRepository.updateStatuses(ids, Status.WAITING, Status.EXPIRED);
+        if (updated != ids.size()) {
+            Set<Long> decidedMeanwhile = seriesRepository.findAllById(ids).stream()
+                    .filter(series -> series.getStatus() != Status.EXPIRED)
+                    .map(BookingSeries::getId)
+                    .collect(Collectors.toSet());
+            events.removeIf(event -> decidedMeanwhile.contains(event.getSeriesId()));
+        }
+
+        events.forEach(event -> outboxWriter.append(BookingEventType.SERIES_STATUS_CHANGED.name(),
+                event.getSeriesId(), event));
+        summaryCache.evict(events.stream().map(BookingEventDto::getBookerId).collect(Collectors.toSet()),
+                events.stream().map(BookingEventDto::getOwnerId).collect(Collectors.toSet()));
+        return events.size();
+    }
+}
@@ -0,0 +1,79 @@
+package ru.practicum.shareit.booking;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes an owner's complete booking history as NDJSON, one {@link BookingDto} per line.
+ * <p>
+ * Bookings are read through a database cursor and written as they arrive, and the persistence context is cleared
+ * after every fetch, so memory use does not depend on the size of the export. The read transaction lives inside the
+ * response body because the body is written after the controller method has returned.
+ */
+@Component
+public class BookingExporter {
+    private static final Logger log = LoggerFactory.getLogger(BookingExporter.class);
+    private static final int NEWLINE = '\n';
+
+    private final BookingRepository bookingRepository;
+    private final UserRepository userRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectWriter writer;
+
+    public BookingExporter(BookingRepository bookingRepository, UserRepository userRepository,
+                           EntityManager entityManager, PlatformTransactionManager transactionManager,
+                           ObjectMapper objectMapper) {
+        this.bookingRepository = bookingRepository;
+        this.userRepository = userRepository;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.writer = objectMapper.writerFor(BookingDto.class);
+    }
+
+    /**
+     * Checks the owner up front, so an unknown user still gets a 404 before any of the body is sent.
+     */
+    public StreamingResponseBody exportByOwner(Long ownerId) {
+        if (!userRepository.existsById(ownerId)) {
+            throw new NotFoundException("User not found.");
+        }
+        return out -> readOnlyTransaction.executeWithoutResult(status -> writeOwnerBookings(ownerId, out));
+    }
+
+    private void writeOwnerBookings(Long ownerId, OutputStream out) {
+        long written = 0;
+        try (Stream<Booking> bookings = bookingRepository.streamOwnerBookings(ownerId)) {
+            Iterator<Booking> iterator = bookings.iterator();
+            while (iterator.hasNext()) {
+                out.write(writer.writeValueAsBytes(BookingMapper.toBookingDto(iterator.next())));
+                out.write(NEWLINE);
+                if (++written % BookingRepository.EXPORT_FETCH_SIZE == 0) {
+                    entityManager.clear();
+                    out.flush();
+                }
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Booking export for owner " + ownerId + " was interrupted", e);
+        }
+        log.info("Exported {} bookings of owner {}", written, ownerId);
+    }
+}
@@ -0,0 +1,162 @@
+package ru.practicum.shareit.booking;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Per-item index of APPROVED booking intervals, used to reject overlapping bookings without a table scan.
+ * <p>
+ * Approved intervals of one item never overlap (the bookings exclusion constraint guarantees it), so each item keeps
+ * them in a map sorted by start. The only candidate for a conflict with [start, end) is the interval with the greatest
+ * start before {@code end}, which makes every check O(log n). Items are loaded lazily on first use with the intervals
+ * that have not ended yet; ended intervals are pruned as the item is used, and at most
+ * {@code shareit.booking.index.max-items} items are kept, evicting the least recently used one.
+ * <p>
+ * The index is local to one server instance; the database constraint remains the authority across instances.
+ */
+@Component
+public class BookingIntervalIndex {
+    private static final Logger log = LoggerFactory.getLogger(BookingIntervalIndex.class);
+
+    private final BookingRepository bookingRepository;
+    private final Map<Long, NavigableMap<LocalDateTime, Interval>> itemIntervals;
+
+    public BookingIntervalIndex(BookingRepository bookingRepository,
+                                @Value("${shareit.booking.index.max-items:10000}") int maxItems) {
+        this.bookingRepository = bookingRepository;
+        this.itemIntervals = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, NavigableMap<LocalDateTime, Interval>> eldest) {
+                return size() > maxItems;
+            }
+        };
+    }
+
+    public boolean overlaps(Long itemId, LocalDateTime start, LocalDateTime end) {
+        NavigableMap<LocalDateTime, Interval> intervals = intervalsOf(itemId);
+        synchronized (intervals) {
+            pruneEnded(intervals, LocalDateTime.now());
+            return findOverlap(intervals, start, end) != null;
+        }
+    }
+
+    /**
+     * Atomically checks [start, end) against the approved intervals of the item and records it if it is free.
+     * Inside a transaction the reservation is withdrawn again if the transaction rolls back.
+     *
+     * @return {@code false} if the interval overlaps an approved booking, or is already reserved for this booking
+     */
+    public boolean tryReserve(Long itemId, Long bookingId, LocalDateTime start, LocalDateTime end) {
+        NavigableMap<LocalDateTime, Interval> intervals = intervalsOf(itemId);
+        synchronized (intervals) {
+            pruneEnded(intervals, LocalDateTime.now());
+            Interval conflict = findOverlap(intervals, start, end);
+            if (conflict != null && conflict.bookingId.equals(bookingId)) {
+                // A concurrent approval of the same booking owns this entry; its version check rejects this one.
+                log.info("Booking {} on item {} is already reserved by another approval", bookingId, itemId);
+                return false;
+            }
+            if (conflict != null) {
+                log.info("Booking {} on item {} overlaps approved booking {}", bookingId, itemId, conflict.bookingId);
+                return false;
+            }
+            intervals.put(start, new Interval(end, bookingId));
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public int getOrder() {
+                    // Withdrawn before the item is unlocked, so the next writer never sees a stale reservation.
+                    return ItemLockManager.UNLOCK_ORDER - 1;
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        release(itemId, bookingId, start);
+                    }
+                }
+            });
+        }
+        return true;
+    }
+
+    public void release(Long itemId, Long bookingId, LocalDateTime start) {
+        NavigableMap<LocalDateTime, Interval> intervals;
+        synchronized (itemIntervals) {
+            intervals = itemIntervals.get(itemId);
+        }
+        if (intervals == null) {
+            return;
+        }
+        synchronized (intervals) {
+            Interval interval = intervals.get(start);
+            if (interval != null && interval.bookingId.equals(bookingId)) {
+                intervals.remove(start);
+            }
+        }
+    }
+
+    private NavigableMap<LocalDateTime, Interval> intervalsOf(Long itemId) {
+        synchronized (itemIntervals) {
+            NavigableMap<LocalDateTime, Interval> intervals = itemIntervals.get(itemId);
+            if (intervals != null) {
+                return intervals;
+            }
+        }
+
+        NavigableMap<LocalDateTime, Interval> loaded = new TreeMap<>();
+        List<Booking> approved = bookingRepository.findByItemIdAndStatusAndEndAfter(itemId, Status.APPROVED,
+                LocalDateTime.now());
+        for (Booking booking : approved) {
+            loaded.put(booking.getStart(), new Interval(booking.getEnd(), booking.getId()));
+        }
+        synchronized (itemIntervals) {
+            NavigableMap<LocalDateTime, Interval> existing = itemIntervals.putIfAbsent(itemId, loaded);
+            return existing != null ? existing : loaded;
+        }
+    }
+
+    /**
+     * Drops intervals that ended by {@code now}. Intervals never overlap, so ends ascend with starts and the ended
+     * ones are always at the head of the map.
+     */
+    private static void pruneEnded(NavigableMap<LocalDateTime, Interval> intervals, LocalDateTime now) {
+        Map.Entry<LocalDateTime, Interval> first = intervals.firstEntry();
+        while (first != null && !first.getValue().end.isAfter(now)) {
+            intervals.pollFirstEntry();
+            first = intervals.firstEntry();
+        }
+    }
+
+    private static Interval findOverlap(NavigableMap<LocalDateTime, Interval> intervals,
+                                        LocalDateTime start, LocalDateTime end) {
+        Map.Entry<LocalDateTime, Interval> candidate = intervals.lowerEntry(end);
+        if (candidate != null && candidate.getValue().end.isAfter(start)) {
+            return candidate.getValue();
+        }
+        return null;
+    }
+
+    private static final class Interval {
+        private final LocalDateTime end;
+        private final Long bookingId;
+
+        private Interval(LocalDateTime end, Long bookingId) {
+            this.end = end;
+            this.bookingId = bookingId;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.booking;
 
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingSeriesDto;
 import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.User;
@@ -42,4 +43,31 @@ public class BookingMapper {
         booking.setStatus(Status.WAITING);
         return booking;
     }
-}
\ No newline at end of file
+
+    public static BookingSeriesDto toSeriesDto(BookingSeries series) {
+        BookingSeriesDto dto = new BookingSeriesDto();
+        dto.setId(series.getId());
+        dto.setItemId(series.getItem().getId());
+        dto.setStart(series.getStart());
+        dto.setEnd(series.getEnd());
+        dto.setRecurrence(series.getRecurrence());
+        dto.setInterval(series.getInterval());
+        dto.setUntil(series.getUntil());
+        dto.setStatus(series.getStatus());
+        dto.setItem(ItemMapper.toItemDto(series.getItem()));
+        dto.setBooker(UserMapper.toUserDto(series.getBooker()));
+        return dto;
+    }
+
+    public static BookingDto toOccurrenceDto(BookingSeries series, SeriesOccurrences occurrences, long index) {
+        BookingDto bookingDto = new BookingDto();
+        bookingDto.setItemId(series.getItem().getId());
+        bookingDto.setStart(occurrences.startOf(index));
+        bookingDto.setEnd(occurrences.endOf(index));
+        bookingDto.setStatus(series.getStatus());
+        bookingDto.setItem(ItemMapper.toItemDto(series.getItem()));
+        bookingDto.setBooker(UserMapper.toUserDto(series.getBooker()));
+        bookingDto.setSeriesId(series.getId());
+        return bookingDto;
+    }
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.booking;
+
+import java.time.LocalDateTime;
+
+/**
+ * Time phase of a booking, stored on the row and advanced by {@link BookingPhaseRefresher}.
+ */
+public enum BookingPhase {
+    FUTURE, CURRENT, PAST;
+
+    public static BookingPhase at(LocalDateTime start, LocalDateTime end, LocalDateTime now) {
+        if (start.isAfter(now)) {
+            return FUTURE;
+        }
+        return end.isAfter(now) ? CURRENT : PAST;
+    }
+}
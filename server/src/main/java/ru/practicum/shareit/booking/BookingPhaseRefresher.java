@@ -0,0 +1,39 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Advances the stored phase of bookings whose start or end has passed since the previous run.
+ * <p>
+ * Both updates are driven by the phase partial indexes, so a run only visits rows that actually crossed a boundary.
+ * The state listings read one stored phase each, so they trail the clock by at most
+ * {@code shareit.booking.phase.refresh-ms}.
+ */
+@Component
+public class BookingPhaseRefresher {
+    private static final Logger log = LoggerFactory.getLogger(BookingPhaseRefresher.class);
+
+    private final BookingRepository bookingRepository;
+
+    public BookingPhaseRefresher(BookingRepository bookingRepository) {
+        this.bookingRepository = bookingRepository;
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking.phase.refresh-ms:10000}",
+            initialDelayString = "${shareit.booking.phase.refresh-ms:10000}")
+    @Transactional
+    public void refresh() {
+        LocalDateTime now = LocalDateTime.now();
+        int finished = bookingRepository.advanceToPast(now);
+        int started = bookingRepository.advanceToCurrent(now);
+        if (finished > 0 || started > 0) {
+            log.info("Booking phases advanced: {} started, {} finished", started, finished);
+        }
+    }
+}
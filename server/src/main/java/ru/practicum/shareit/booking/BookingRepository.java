@@ -1,38 +1,231 @@
 package ru.practicum.shareit.booking;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
-    List<Booking> findByBookerIdOrderByStartDesc(Long bookerId);
+    /**
+     * Everything BookingMapper touches, loaded in the same statement as the bookings themselves.
+     */
+    String BOOKING_DETAILS = "Booking.details";
 
-    List<Booking> findByItemOwnerIdOrderByStartDesc(Long ownerId);
+    String PHASE = "ru.practicum.shareit.booking.BookingPhase.";
 
-    List<Booking> findByBookerIdAndStatusOrderByStartDesc(Long bookerId, Status status);
+    /**
+     * Rows the JDBC driver pulls per round trip while an export stream is consumed.
+     */
+    int EXPORT_FETCH_SIZE = 500;
 
-    List<Booking> findByItemOwnerIdAndStatusOrderByStartDesc(Long ownerId, Status status);
+    String STATUS_COUNTS = "SELECT b.status AS status, COUNT(b) AS total, " +
+            "SUM(CASE WHEN b.start <= :now AND b.end > :now THEN 1 ELSE 0 END) AS currentCount, " +
+            "SUM(CASE WHEN b.end <= :now THEN 1 ELSE 0 END) AS pastCount, " +
+            "SUM(CASE WHEN b.start > :now THEN 1 ELSE 0 END) AS futureCount, " +
+            "MIN(CASE WHEN b.start > :now THEN b.start END) AS nextStart, " +
+            "MIN(CASE WHEN b.end > :now THEN b.end END) AS nextEnd FROM Booking b ";
 
-    List<Booking> findByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(Long bookerId, LocalDateTime
-            now1, LocalDateTime now2);
+    /**
+     * Booking counts of one status, split by where the bookings stand relative to {@code now}, together with the
+     * nearest start and end still ahead, after which the split changes.
+     */
+    interface StatusCounts {
+        Status getStatus();
 
-    List<Booking> findByBookerIdAndEndBeforeOrderByStartDesc(Long bookerId, LocalDateTime now);
+        Long getTotal();
 
-    List<Booking> findByBookerIdAndStartAfterOrderByStartDesc(Long bookerId, LocalDateTime now);
+        Long getCurrentCount();
 
-    List<Booking> findByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDesc(Long ownerId,
-                                                                             LocalDateTime now1, LocalDateTime now2);
+        Long getPastCount();
 
-    List<Booking> findByItemOwnerIdAndEndBeforeOrderByStartDesc(Long ownerId, LocalDateTime now);
+        Long getFutureCount();
 
-    List<Booking> findByItemOwnerIdAndStartAfterOrderByStartDesc(Long ownerId, LocalDateTime now);
+        LocalDateTime getNextStart();
 
-    Optional<Booking> findFirstByItemIdAndEndBeforeOrderByEndDesc(Long itemId, LocalDateTime now);
-
-    Optional<Booking> findFirstByItemIdAndStartAfterOrderByStartAsc(Long itemId, LocalDateTime now);
+        LocalDateTime getNextEnd();
+    }
 
     Optional<Booking> findByBookerIdAndItemIdAndEndBefore(Long bookerId, Long itemId, LocalDateTime end);
 
-}
\ No newline at end of file
+    List<Booking> findByItemIdAndStatusAndEndAfter(Long itemId, Status status, LocalDateTime end);
+
+    /**
+     * Item of a booking without loading it, so the item lock can be taken before the booking is read.
+     */
+    @Query("SELECT b.item.id FROM Booking b WHERE b.id = :id")
+    Optional<Long> findItemIdById(@Param("id") Long id);
+
+    @Query("SELECT DISTINCT b.item.id FROM Booking b WHERE b.id IN :ids AND b.item.owner.id = :ownerId")
+    List<Long> findOwnerItemIdsByIds(@Param("ownerId") Long ownerId, @Param("ids") Collection<Long> ids);
+
+    @Query("SELECT b FROM Booking b WHERE b.id IN :ids AND b.status = :status AND b.item.owner.id = :ownerId")
+    List<Booking> findOwnerBookingsByIdsAndStatus(@Param("ownerId") Long ownerId, @Param("ids") Collection<Long> ids,
+                                                  @Param("status") Status status);
+
+    /**
+     * All bookings of the owner's items, newest first, read lazily with a server-side cursor. Must be consumed and
+     * closed inside a transaction; the entities are loaded read-only.
+     */
+    @EntityGraph(BOOKING_DETAILS)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT b FROM Booking b WHERE b.item.owner.id = :ownerId ORDER BY b.start DESC, b.id DESC")
+    Stream<Booking> streamOwnerBookings(@Param("ownerId") Long ownerId);
+
+    /**
+     * Oldest WAITING bookings whose start has passed, with their items, for one expiry chunk.
+     */
+    @Query("SELECT b FROM Booking b JOIN FETCH b.item WHERE b.status = " +
+            "ru.practicum.shareit.booking.Status.WAITING AND b.start <= :now ORDER BY b.start, b.id")
+    List<Booking> findStaleWaiting(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Query("SELECT COUNT(b) FROM Booking b WHERE b.status = " +
+            "ru.practicum.shareit.booking.Status.WAITING AND b.start <= :now")
+    long countStaleWaiting(@Param("now") LocalDateTime now);
+
+    /**
+     * For every item of the owner, the booking that ended most recently before {@code now} (lowest id on ties).
+     * One ROW_NUMBER pass over the owner's bookings, read in index order from idx_bookings_item_end.
+     */
+    @Query("SELECT b FROM Booking b JOIN FETCH b.booker WHERE b.id IN (" +
+            "SELECT r.id FROM (SELECT b2.id AS id, ROW_NUMBER() OVER (PARTITION BY b2.item.id " +
+            "ORDER BY b2.end DESC, b2.id) AS rn FROM Booking b2 " +
+            "WHERE b2.item.owner.id = :ownerId AND b2.end < :now) r WHERE r.rn = 1)")
+    List<Booking> findLastBookingsOfOwnerItems(@Param("ownerId") Long ownerId, @Param("now") LocalDateTime now);
+
+    /**
+     * For every item of the owner, the booking that starts soonest after {@code now} (lowest id on ties).
+     * One ROW_NUMBER pass over the owner's bookings, read in index order from idx_bookings_item_start.
+     */
+    @Query("SELECT b FROM Booking b JOIN FETCH b.booker WHERE b.id IN (" +
+            "SELECT r.id FROM (SELECT b2.id AS id, ROW_NUMBER() OVER (PARTITION BY b2.item.id " +
+            "ORDER BY b2.start, b2.id) AS rn FROM Booking b2 " +
+            "WHERE b2.item.owner.id = :ownerId AND b2.start > :now) r WHERE r.rn = 1)")
+    List<Booking> findNextBookingsOfOwnerItems(@Param("ownerId") Long ownerId, @Param("now") LocalDateTime now);
+
+    @Query("SELECT b FROM Booking b JOIN FETCH b.booker WHERE b.item.owner.id = :ownerId AND b.status = :status " +
+            "ORDER BY b.start, b.id")
+    List<Booking> findOwnerBookingsByStatusSoonestFirst(@Param("ownerId") Long ownerId, @Param("status") Status status,
+                                                        Pageable pageable);
+
+    @Query(STATUS_COUNTS + "WHERE b.booker.id = :bookerId GROUP BY b.status")
+    List<StatusCounts> countBookerBookingsByStatus(@Param("bookerId") Long bookerId, @Param("now") LocalDateTime now);
+
+    @Query(STATUS_COUNTS + "WHERE b.item.owner.id = :ownerId GROUP BY b.status")
+    List<StatusCounts> countOwnerBookingsByStatus(@Param("ownerId") Long ownerId, @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = :newStatus, b.version = b.version + 1 " +
+            "WHERE b.id IN :ids AND b.status = :expectedStatus")
+    int updateStatuses(@Param("ids") Collection<Long> ids, @Param("expectedStatus") Status expectedStatus,
+                       @Param("newStatus") Status newStatus);
+
+    @Query("SELECT b FROM Booking b WHERE b.item.id = :itemId AND b.status IN :statuses " +
+            "AND b.start < :to AND b.end > :from ORDER BY b.start")
+    List<Booking> findItemBookingsInRange(@Param("itemId") Long itemId, @Param("statuses") Collection<Status> statuses,
+                                          @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Modifying
+    @Query("UPDATE Booking b SET b.phase = " + PHASE + "PAST " +
+            "WHERE b.phase IN (" + PHASE + "FUTURE, " + PHASE + "CURRENT) AND b.end <= :now")
+    int advanceToPast(@Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Booking b SET b.phase = " + PHASE + "CURRENT " +
+            "WHERE b.phase = " + PHASE + "FUTURE AND b.start <= :now AND b.end > :now")
+    int advanceToCurrent(@Param("now") LocalDateTime now);
+
+    // Keyset pages ordered by (start, id) descending; pass BookingCursor.HEAD for the first page.
+    // Time states scan the partial index of their one stored phase and recheck the times, so a booking that crossed
+    // a boundary since the last BookingPhaseRefresher run is left out until the run moves it. A booking is current
+    // from start inclusive to end exclusive and past from end on, as in STATUS_COUNTS.
+
+    @EntityGraph(BOOKING_DETAILS)
+    @Query("SELECT b FROM Booking b WHERE b.booker.id = :bookerId " +
+            "AND (b.start < :cursorStart OR (b.start = :cursorStart AND b.id < :cursorId)) ORDER BY b.start DESC, b.id DESC")
+    List<Booking> findBookerPage(@Param("bookerId") Long bookerId,
+            @Param("cursorStart") LocalDateTime cursorStart, @Param("cursorId") Long cursorId,
+            Pageable pageable);
+
+    @EntityGraph(BOOKING_DETAILS)
+    @Query("SELECT b FROM Booking b WHERE b.booker.id = :bookerId " +
+            "AND b.phase = " + PHASE + "CURRENT AND b.start <= :now AND b.end > :now " +
+            "AND (b.start < :cursorStart OR (b.start = :cursorStart AND b.id < :cursorId)) ORDER BY b.start DESC, b.id DESC")
+    List<Booking> findBookerPageCurrent(@Param("bookerId") Long bookerId, @Param("now") LocalDateTime now,
+            @Param("cursorStart") LocalDateTime cursorStart, @Param("cursorId") Long cursorId,
+            Pageable pageable);
+
+    @EntityGraph(BOOKING_DETAILS)
+    @Query("SELECT b FROM Booking b WHERE b.booker.id = :bookerId " +
+            "AND b.phase = " + PHASE + "PAST AND b.end <= :now " +
+            "AND (b.start < :cursorStart OR (b.start = :cursorStart AND b.id < :cursorId)) ORDER BY b.start DESC, b.id DESC")
+    List<Booking> findBookerPagePast(@Param("bookerId") Long bookerId, @Param("now") LocalDateTime now,
+            @Param("cursorStart") LocalDateTime cursorStart, @Param("cursorId") Long cursorId,
+            Pageable pageable);
+
+    @EntityGraph(BOOKING_DETAILS)
+    @Query("SELECT b FROM Booking b WHERE b.booker.id = :bookerId " +
+            "AND b.phase = " + PHASE + "FUTURE AND b.start > :now " +
+            "AND (b.start < :cursorStart OR (b.start = :cursorStart AND b.id < :cursorId)) ORDER BY b.start DESC, b.id DESC")
+    List<Booking> findBookerPageFuture(@Param("bookerId") Long bookerId, @Param("now") LocalDateTime now,
+            @Param("cursorStart") LocalDateTime cursorStart, @Param("cursorId") Long cursorId,
+            Pageable pageable);
+
+    @EntityGraph(BOOKING_DETAILS)
+    @Query("SELECT b FROM Booking b WHERE b.booker.id = :bookerId AND b.status = :status " +
+            "AND (b.start < :cursorStart OR (b.start = :cursorStart AND b.id < :cursorId)) ORDER BY b.start DESC, b.id DESC")
+    List<Booking> findBookerPageByStatus(@Param("bookerId") Long bookerId, @Param("status") Status status,
+            @Param("cursorStart") LocalDateTime cursorStart, @Param("cursorId") Long cursorId,
+            Pageable pageable);
+
+    @EntityGraph(BOOKING_DETAILS)
+    @Query("SELECT b FROM Booking b WHERE b.item.owner.id = :ownerId " +
+            "AND (b.start < :cursorStart OR (b.start = :cursorStart AND b.id < :cursorId)) ORDER BY b.start DESC, b.id DESC")
+    List<Booking> findOwnerPage(@Param("ownerId") Long ownerId,
+            @Param("cursorStart") LocalDateTime cursorStart, @Param("cursorId") Long cursorId,
+            Pageable pageable);
+
+    @EntityGraph(BOOKING_DETAILS)
+    @Query("SELECT b FROM Booking b WHERE b.item.owner.id = :ownerId " +
+            "AND b.phase = " + PHASE + "CURRENT AND b.start <= :now AND b.end > :now " +
+            "AND (b.start < :cursorStart OR (b.start = :cursorStart AND b.id < :cursorId)) ORDER BY b.start DESC, b.id DESC")
+    List<Booking> findOwnerPageCurrent(@Param("ownerId") Long ownerId, @Param("now") LocalDateTime now,
+            @Param("cursorStart") LocalDateTime cursorStart, @Param("cursorId") Long cursorId,
+            Pageable pageable);
+
+    @EntityGraph(BOOKING_DETAILS)
+    @Query("SELECT b FROM Booking b WHERE b.item.owner.id = :ownerId " +
+            "AND b.phase = " + PHASE + "PAST AND b.end <= :now " +
+            "AND (b.start < :cursorStart OR (b.start = :cursorStart AND b.id < :cursorId)) ORDER BY b.start DESC, b.id DESC")
+    List<Booking> findOwnerPagePast(@Param("ownerId") Long ownerId, @Param("now") LocalDateTime now,
+            @Param("cursorStart") LocalDateTime cursorStart, @Param("cursorId") Long cursorId,
+            Pageable pageable);
+
+    @EntityGraph(BOOKING_DETAILS)
+    @Query("SELECT b FROM Booking b WHERE b.item.owner.id = :ownerId " +
+            "AND b.phase = " + PHASE + "FUTURE AND b.start > :now " +
+            "AND (b.start < :cursorStart OR (b.start = :cursorStart AND b.id < :cursorId)) ORDER BY b.start DESC, b.id DESC")
+    List<Booking> findOwnerPageFuture(@Param("ownerId") Long ownerId, @Param("now") LocalDateTime now,
+            @Param("cursorStart") LocalDateTime cursorStart, @Param("cursorId") Long cursorId,
+            Pageable pageable);
+
+    @EntityGraph(BOOKING_DETAILS)
+    @Query("SELECT b FROM Booking b WHERE b.item.owner.id = :ownerId AND b.status = :status " +
+            "AND (b.start < :cursorStart OR (b.start = :cursorStart AND b.id < :cursorId)) ORDER BY b.start DESC, b.id DESC")
+    List<Booking> findOwnerPageByStatus(@Param("ownerId") Long ownerId, @Param("status") Status status,
+            @Param("cursorStart") LocalDateTime cursorStart, @Param("cursorId") Long cursorId,
+            Pageable pageable);
+}
@@ -0,0 +1,88 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * A booking repeated every {@code interval} days or weeks from [start, end) until {@code until}, stored as a single
+ * row. Occurrences are never persisted; {@link SeriesOccurrences} derives them on demand.
+ */
+@Entity
+@Table(name = "booking_series")
+@NamedEntityGraph(name = BookingSeriesRepository.SERIES_DETAILS, attributeNodes = {
+        @NamedAttributeNode(value = "item", subgraph = "item"),
+        @NamedAttributeNode("booker")
+}, subgraphs = @NamedSubgraph(name = "item", attributeNodes = {
+        @NamedAttributeNode("owner"),
+        @NamedAttributeNode("request")
+}))
+@Getter
+@Setter
+@ToString(exclude = {"item", "booker"})
+public class BookingSeries {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "item_id", nullable = false)
+    private Item item;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "booker_id", nullable = false)
+    private User booker;
+
+    /**
+     * Start of the first occurrence.
+     */
+    @Column(name = "start_time", nullable = false)
+    private LocalDateTime start;
+
+    /**
+     * End of the first occurrence; every occurrence has the same length.
+     */
+    @Column(name = "end_time", nullable = false)
+    private LocalDateTime end;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "recurrence", nullable = false)
+    private Recurrence recurrence;
+
+    @Column(name = "repeat_interval", nullable = false)
+    private int interval;
+
+    /**
+     * No occurrence starts after this moment.
+     */
+    @Column(name = "until_time", nullable = false)
+    private LocalDateTime until;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private Status status;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BookingSeries series = (BookingSeries) o;
+        return id != null && id.equals(series.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
@@ -0,0 +1,51 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface BookingSeriesRepository extends JpaRepository<BookingSeries, Long> {
+    /**
+     * Everything an expanded occurrence needs for its BookingDto.
+     */
+    String SERIES_DETAILS = "BookingSeries.details";
+
+    @EntityGraph(SERIES_DETAILS)
+    List<BookingSeries> findByBookerId(Long bookerId);
+
+    @EntityGraph(SERIES_DETAILS)
+    List<BookingSeries> findByItemOwnerId(Long ownerId);
+
+    List<BookingSeries> findByItemIdAndStatus(Long itemId, Status status);
+
+    List<BookingSeries> findByItemIdInAndStatus(Collection<Long> itemIds, Status status);
+
+    List<BookingSeries> findByItemIdAndStatusIn(Long itemId, Collection<Status> statuses);
+
+    /**
+     * WAITING series whose first occurrence has started, which are to be expired like stale WAITING bookings.
+     */
+    @EntityGraph(SERIES_DETAILS)
+    @Query("SELECT s FROM BookingSeries s WHERE s.status = ru.practicum.shareit.booking.Status.WAITING " +
+            "AND s.start <= :now")
+    List<BookingSeries> findStaleWaiting(@Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE BookingSeries s SET s.status = :newStatus, s.version = s.version + 1 " +
+            "WHERE s.id IN :ids AND s.status = :expectedStatus")
+    int updateStatuses(@Param("ids") Collection<Long> ids, @Param("expectedStatus") Status expectedStatus,
+                       @Param("newStatus") Status newStatus);
+
+    /**
+     * Item of a series without loading it, so the item lock can be taken before the series is read.
+     */
+    @Query("SELECT s.item.id FROM BookingSeries s WHERE s.id = :id")
+    Optional<Long> findItemIdById(@Param("id") Long id);
+}
@@ -1,18 +1,39 @@
 package ru.practicum.shareit.booking;
 
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
+import ru.practicum.shareit.booking.dto.BookingSeriesDto;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface BookingService {
     BookingDto createBooking(Long userId, BookingDto bookingDto);
 
+    List<BookingBatchResultDto> createBookings(Long userId, List<BookingDto> bookingDtos);
+
     BookingDto updateBookingStatus(Long bookingId, boolean approved, Long userId);
 
+    BookingDecisionResultDto updateBookingStatuses(BookingDecisionDto decision, Long userId);
+
     BookingDto getBookingById(Long bookingId, Long userId);
 
-    List<BookingDto> getBookingsByUser(Long userId, String state);
+    BookingPageDto getBookingsByUser(Long userId, String state, int from, int size, String cursor);
+
+    BookingPageDto getBookingsByOwner(Long userId, String state, int from, int size, String cursor);
+
+    BookingSummaryDto getBookingSummaryByUser(Long userId);
+
+    BookingSummaryDto getBookingSummaryByOwner(Long userId);
+
+    BookingSeriesDto createSeries(Long userId, BookingSeriesDto seriesDto);
+
+    BookingSeriesDto updateSeriesStatus(Long seriesId, Boolean approved, Long userId);
 
-    List<BookingDto> getBookingsByOwner(Long userId, String state);
+    List<BookingDto> getSeriesOccurrences(Long seriesId, Long userId, LocalDateTime from, LocalDateTime to);
 
 }
@@ -4,33 +4,83 @@ import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingEventDto;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
+import ru.practicum.shareit.booking.dto.BookingSeriesDto;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
 import ru.practicum.shareit.exceptions.BadRequestException;
+import ru.practicum.shareit.exceptions.ConflictException;
 import ru.practicum.shareit.exceptions.ForbiddenException;
 import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.outbox.OutboxWriter;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
 public class BookingServiceImpl implements BookingService {
 
     private final BookingRepository bookingRepository;
+    private final BookingSeriesRepository seriesRepository;
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
+    private final BookingIntervalIndex intervalIndex;
+    private final ItemLockManager itemLockManager;
+    private final BookingSummaryCache summaryCache;
+    private final OutboxWriter outboxWriter;
+    private final int maxPageSize;
+    private final int maxBatchSize;
+    private final int maxSeriesOccurrences;
     private static final Logger log = LoggerFactory.getLogger(BookingServiceImpl.class);
 
     @Autowired
-    public BookingServiceImpl(BookingRepository bookingRepository, ItemRepository itemRepository, UserRepository userRepository) {
+    public BookingServiceImpl(BookingRepository bookingRepository, BookingSeriesRepository seriesRepository,
+                              ItemRepository itemRepository, UserRepository userRepository,
+                              BookingIntervalIndex intervalIndex, ItemLockManager itemLockManager,
+                              BookingSummaryCache summaryCache, OutboxWriter outboxWriter,
+                              @Value("${shareit.booking.max-page-size:100}") int maxPageSize,
+                              @Value("${shareit.booking.max-batch-size:100}") int maxBatchSize,
+                              @Value("${shareit.booking.series.max-occurrences:520}") int maxSeriesOccurrences) {
         this.bookingRepository = bookingRepository;
+        this.seriesRepository = seriesRepository;
         this.itemRepository = itemRepository;
         this.userRepository = userRepository;
+        this.intervalIndex = intervalIndex;
+        this.itemLockManager = itemLockManager;
+        this.summaryCache = summaryCache;
+        this.outboxWriter = outboxWriter;
+        this.maxPageSize = maxPageSize;
+        this.maxBatchSize = maxBatchSize;
+        this.maxSeriesOccurrences = maxSeriesOccurrences;
     }
 
     @Override
@@ -47,6 +97,91 @@ public class BookingServiceImpl implements BookingService {
         Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new NotFoundException("Item not found with ID: " + itemId));
 
+        lockItems(List.of(itemId));
+        validateNewBooking(userId, item, bookingDto, seriesRepository.findByItemIdAndStatus(itemId, Status.APPROVED));
+
+        Booking booking = BookingMapper.toEntity(bookingDto, item, booker);
+        booking.setStatus(Status.WAITING);
+        log.info("Received bookingDto: {}", bookingDto);
+        log.info("bookingDto.getItemId(): {}", bookingDto.getItemId());
+
+        booking = bookingRepository.save(booking);
+        summaryCache.evict(List.of(userId), List.of(item.getOwner().getId()));
+        recordEvent(BookingEventType.BOOKING_CREATED, booking, booking.getStatus());
+
+        return BookingMapper.toBookingDto(booking);
+    }
+
+    @Override
+    @Transactional
+    public List<BookingBatchResultDto> createBookings(Long userId, List<BookingDto> bookingDtos) {
+        if (bookingDtos == null || bookingDtos.isEmpty()) {
+            throw new BadRequestException("Batch must contain at least one booking.");
+        }
+        if (bookingDtos.size() > maxBatchSize) {
+            throw new BadRequestException("Batch must not contain more than " + maxBatchSize + " bookings.");
+        }
+
+        User booker = userRepository.findById(userId)
+                .orElseThrow(() -> new NotFoundException("User not found with ID: " + userId));
+
+        Set<Long> itemIds = bookingDtos.stream()
+                .filter(Objects::nonNull)
+                .map(BookingDto::getItemId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Item> items = itemRepository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        lockItems(items.keySet());
+        Map<Long, List<BookingSeries>> approvedSeries = approvedSeriesByItem(items.keySet());
+
+        List<BookingBatchResultDto> results = new ArrayList<>(bookingDtos.size());
+        Map<Integer, Booking> accepted = new LinkedHashMap<>();
+        for (int i = 0; i < bookingDtos.size(); i++) {
+            BookingDto bookingDto = bookingDtos.get(i);
+            try {
+                if (bookingDto == null) {
+                    throw new BadRequestException("Booking must not be null.");
+                }
+                Item item = bookingDto.getItemId() == null ? null : items.get(bookingDto.getItemId());
+                if (item == null) {
+                    throw new NotFoundException("Item not found with ID: " + bookingDto.getItemId());
+                }
+                validateNewBooking(userId, item, bookingDto, approvedSeries.getOrDefault(item.getId(), List.of()));
+                accepted.put(i, BookingMapper.toEntity(bookingDto, item, booker));
+                results.add(new BookingBatchResultDto(i, HttpStatus.CREATED.value(), null, null));
+            } catch (BadRequestException | NotFoundException | ConflictException e) {
+                results.add(new BookingBatchResultDto(i, statusOf(e).value(), null, e.getMessage()));
+            }
+        }
+
+        // Sequence-generated ids let Hibernate send these as JDBC batches (hibernate.jdbc.batch_size).
+        bookingRepository.saveAll(accepted.values());
+        accepted.values().forEach(booking -> recordEvent(BookingEventType.BOOKING_CREATED, booking, booking.getStatus()));
+        if (!accepted.isEmpty()) {
+            summaryCache.evict(List.of(userId), accepted.values().stream()
+                    .map(booking -> booking.getItem().getOwner().getId())
+                    .collect(Collectors.toSet()));
+        }
+        accepted.forEach((index, booking) -> results.get(index).setBooking(BookingMapper.toBookingDto(booking)));
+        log.info("Batch of {} bookings for user {}: {} created", bookingDtos.size(), userId, accepted.size());
+        return results;
+    }
+
+    /**
+     * Serializes booking writes per item: the striped lock orders writers of this instance, and the item row lock
+     * orders them against writers on other instances, which the bookings exclusion constraint alone cannot do for
+     * series.
+     */
+    private void lockItems(Collection<Long> itemIds) {
+        itemLockManager.lockUntilCompletion(itemIds);
+        if (!itemIds.isEmpty()) {
+            itemRepository.lockByIds(itemIds);
+        }
+    }
+
+    private void validateNewBooking(Long userId, Item item, BookingDto bookingDto, List<BookingSeries> approvedSeries) {
+        Long itemId = item.getId();
         if (!item.getAvailable()) {
             throw new BadRequestException("Item with ID: " + itemId + " is not available for booking.");
         }
@@ -63,19 +198,70 @@ public class BookingServiceImpl implements BookingService {
             throw new BadRequestException("Start date must be before end date.");
         }
 
-        Booking booking = BookingMapper.toEntity(bookingDto, item, booker);
-        booking.setStatus(Status.WAITING);
-        log.info("Received bookingDto: {}", bookingDto);
-        log.info("bookingDto.getItemId(): {}", bookingDto.getItemId());
+        if (intervalIndex.overlaps(itemId, bookingDto.getStart(), bookingDto.getEnd())
+                || overlapsAny(approvedSeries, bookingDto.getStart(), bookingDto.getEnd())) {
+            throw new ConflictException("Item with ID: " + itemId + " is already booked for the requested period.");
+        }
+    }
 
-        booking = bookingRepository.save(booking);
+    private Map<Long, List<BookingSeries>> approvedSeriesByItem(Collection<Long> itemIds) {
+        if (itemIds.isEmpty()) {
+            return Map.of();
+        }
+        return seriesRepository.findByItemIdInAndStatus(itemIds, Status.APPROVED).stream()
+                .collect(Collectors.groupingBy(series -> series.getItem().getId()));
+    }
 
-        return BookingMapper.toBookingDto(booking);
+    private static boolean isFreeOfSeries(Map<Long, List<BookingSeries>> approvedSeries, Booking booking) {
+        return !overlapsAny(approvedSeries.getOrDefault(booking.getItem().getId(), List.of()),
+                booking.getStart(), booking.getEnd());
+    }
+
+    private static boolean overlapsAny(List<BookingSeries> seriesList, LocalDateTime start, LocalDateTime end) {
+        for (BookingSeries series : seriesList) {
+            if (new SeriesOccurrences(series).overlaps(start, end)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Queues the event in the outbox of the current transaction; {@code status} is passed separately because bulk
+     * updates change it in the database only.
+     */
+    private void recordEvent(BookingEventType type, Booking booking, Status status) {
+        outboxWriter.append(type.name(), booking.getId(), new BookingEventDto(booking.getId(), booking.getItem().getId(),
+                booking.getItem().getOwner().getId(), booking.getBooker().getId(), status,
+                booking.getStart(), booking.getEnd(), null));
+    }
+
+    /**
+     * Queues a series event; its start and end span all occurrences of the series.
+     */
+    private void recordSeriesEvent(BookingEventType type, BookingSeries series) {
+        outboxWriter.append(type.name(), series.getId(), new BookingEventDto(null, series.getItem().getId(),
+                series.getItem().getOwner().getId(), series.getBooker().getId(), series.getStatus(),
+                series.getStart(), new SeriesOccurrences(series).lastEnd(), series.getId()));
+    }
+
+    private static HttpStatus statusOf(RuntimeException e) {
+        if (e instanceof NotFoundException) {
+            return HttpStatus.NOT_FOUND;
+        }
+        if (e instanceof ConflictException) {
+            return HttpStatus.CONFLICT;
+        }
+        return HttpStatus.BAD_REQUEST;
     }
 
     @Override
     @Transactional
     public BookingDto updateBookingStatus(Long bookingId, boolean approved, Long userId) {
+        // Locked before the booking is read, so a decision that waited for the lock sees the previous one.
+        Long itemId = bookingRepository.findItemIdById(bookingId)
+                .orElseThrow(() -> new NotFoundException("Booking not found."));
+        lockItems(List.of(itemId));
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new NotFoundException("Booking not found."));
 
@@ -87,11 +273,103 @@ public class BookingServiceImpl implements BookingService {
             throw new BadRequestException("Booking status is already decided.");
         }
 
+        if (approved && overlapsAny(seriesRepository.findByItemIdAndStatus(booking.getItem().getId(), Status.APPROVED),
+                booking.getStart(), booking.getEnd())) {
+            throw new ConflictException("Booking overlaps an approved recurring booking of this item.");
+        }
+        if (approved && !intervalIndex.tryReserve(booking.getItem().getId(), booking.getId(),
+                booking.getStart(), booking.getEnd())) {
+            throw new ConflictException("Booking overlaps an already approved booking of this item.");
+        }
+
         booking.setStatus(approved ? Status.APPROVED : Status.REJECTED);
-        booking = bookingRepository.save(booking);
+        summaryCache.evict(List.of(booking.getBooker().getId()), List.of(userId));
+        try {
+            booking = bookingRepository.saveAndFlush(booking);
+        } catch (DataIntegrityViolationException e) {
+            throw new ConflictException("Booking overlaps an already approved booking of this item.");
+        }
+        recordEvent(BookingEventType.BOOKING_STATUS_CHANGED, booking, booking.getStatus());
         return BookingMapper.toBookingDto(booking);
     }
 
+    /**
+     * Decides many WAITING bookings of one owner with a single set-based UPDATE. Ids that are unknown, not owned by
+     * the user, already decided or (on approval) overlapping an approved booking or series are reported as skipped.
+     */
+    @Override
+    @Transactional
+    public BookingDecisionResultDto updateBookingStatuses(BookingDecisionDto decision, Long userId) {
+        if (decision == null || decision.getApproved() == null) {
+            throw new BadRequestException("Field 'approved' is required.");
+        }
+        if (decision.getBookingIds() == null || decision.getBookingIds().isEmpty()) {
+            throw new BadRequestException("Field 'bookingIds' must not be empty.");
+        }
+        if (decision.getBookingIds().size() > maxBatchSize) {
+            throw new BadRequestException("Decision must not contain more than " + maxBatchSize + " bookings.");
+        }
+        if (!userRepository.existsById(userId)) {
+            throw new NotFoundException("User not found.");
+        }
+
+        Set<Long> requested = new LinkedHashSet<>(decision.getBookingIds());
+        lockItems(bookingRepository.findOwnerItemIdsByIds(userId, requested));
+        Map<Long, Booking> candidates = bookingRepository
+                .findOwnerBookingsByIdsAndStatus(userId, requested, Status.WAITING).stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+        Set<Long> candidateItems = candidates.values().stream()
+                .map(booking -> booking.getItem().getId())
+                .collect(Collectors.toSet());
+        Map<Long, List<BookingSeries>> approvedSeries = decision.getApproved()
+                ? approvedSeriesByItem(candidateItems)
+                : Map.of();
+
+        List<Long> eligible = new ArrayList<>(candidates.size());
+        for (Long bookingId : requested) {
+            Booking booking = candidates.get(bookingId);
+            if (booking == null) {
+                continue;
+            }
+            if (!decision.getApproved() || isFreeOfSeries(approvedSeries, booking)
+                    && intervalIndex.tryReserve(booking.getItem().getId(), booking.getId(),
+                    booking.getStart(), booking.getEnd())) {
+                eligible.add(booking.getId());
+            }
+        }
+
+        if (!eligible.isEmpty()) {
+            Status newStatus = decision.getApproved() ? Status.APPROVED : Status.REJECTED;
+            // Built up front: the bulk update clears the persistence context. Only proxy ids are read, so no extra queries.
+            List<BookingEventDto> events = eligible.stream()
+                    .map(candidates::get)
+                    .map(booking -> new BookingEventDto(booking.getId(), booking.getItem().getId(), userId,
+                            booking.getBooker().getId(), newStatus, booking.getStart(), booking.getEnd(), null))
+                    .collect(Collectors.toList());
+            int updated;
+            try {
+                updated = bookingRepository.updateStatuses(eligible, Status.WAITING, newStatus);
+            } catch (DataIntegrityViolationException e) {
+                throw new ConflictException("Bookings overlap an already approved booking; retry the decision.");
+            }
+            if (updated != eligible.size()) {
+                throw new ConflictException("Bookings were decided concurrently; retry the decision.");
+            }
+            summaryCache.evict(eligible.stream()
+                    .map(id -> candidates.get(id).getBooker().getId())
+                    .collect(Collectors.toSet()), List.of(userId));
+            events.forEach(event -> outboxWriter.append(BookingEventType.BOOKING_STATUS_CHANGED.name(),
+                    event.getBookingId(), event));
+        }
+
+        Set<Long> decided = new HashSet<>(eligible);
+        List<Long> skipped = requested.stream()
+                .filter(id -> !decided.contains(id))
+                .collect(Collectors.toList());
+        log.info("Owner {} decided bookings {} (approved={}), skipped {}", userId, eligible, decision.getApproved(), skipped);
+        return new BookingDecisionResultDto(eligible, skipped);
+    }
+
     @Override
     public BookingDto getBookingById(Long bookingId, Long userId) {
         Booking booking = bookingRepository.findById(bookingId)
@@ -104,48 +382,405 @@ public class BookingServiceImpl implements BookingService {
         return BookingMapper.toBookingDto(booking);
     }
 
+    /**
+     * Stores a recurring booking as one row; its occurrences are only ever computed. Every occurrence is checked
+     * against approved bookings and approved series of the item under the item lock.
+     */
     @Override
-    public List<BookingDto> getBookingsByUser(Long userId, String state) {
+    @Transactional
+    public BookingSeriesDto createSeries(Long userId, BookingSeriesDto seriesDto) {
+        User booker = userRepository.findById(userId)
+                .orElseThrow(() -> new NotFoundException("User not found."));
+        if (seriesDto.getItemId() == null) {
+            throw new BadRequestException("Field 'itemId' is required.");
+        }
+        if (seriesDto.getStart() == null || seriesDto.getEnd() == null || seriesDto.getUntil() == null) {
+            throw new BadRequestException("Fields 'start', 'end' and 'until' are required.");
+        }
+        if (seriesDto.getRecurrence() == null) {
+            throw new BadRequestException("Field 'recurrence' is required.");
+        }
+        int interval = seriesDto.getInterval() == null ? 1 : seriesDto.getInterval();
+        if (interval < 1) {
+            throw new BadRequestException("Field 'interval' must be positive.");
+        }
+        LocalDateTime start = seriesDto.getStart().truncatedTo(ChronoUnit.MICROS);
+        LocalDateTime end = seriesDto.getEnd().truncatedTo(ChronoUnit.MICROS);
+        LocalDateTime until = seriesDto.getUntil().truncatedTo(ChronoUnit.MICROS);
+        if (start.isBefore(LocalDateTime.now())) {
+            throw new BadRequestException("Start date must not be in the past.");
+        }
+        if (!start.isBefore(end)) {
+            throw new BadRequestException("Start date must be before end date.");
+        }
+        if (until.isBefore(start)) {
+            throw new BadRequestException("Field 'until' must not be before start date.");
+        }
+        if (!Duration.between(start, end).minus(seriesDto.getRecurrence().period(interval)).isNegative()) {
+            throw new BadRequestException("Occurrences of a series must not overlap each other.");
+        }
+
+        Item item = itemRepository.findById(seriesDto.getItemId())
+                .orElseThrow(() -> new NotFoundException("Item not found."));
+        if (!item.getAvailable()) {
+            throw new BadRequestException("Item with ID: " + item.getId() + " is not available for booking.");
+        }
+        if (item.getOwner().getId().equals(userId)) {
+            throw new BadRequestException("Owner cannot book their own item.");
+        }
+
+        BookingSeries series = new BookingSeries();
+        series.setItem(item);
+        series.setBooker(booker);
+        series.setStart(start);
+        series.setEnd(end);
+        series.setRecurrence(seriesDto.getRecurrence());
+        series.setInterval(interval);
+        series.setUntil(until);
+        series.setStatus(Status.WAITING);
+        SeriesOccurrences occurrences = new SeriesOccurrences(series);
+        if (occurrences.count() > maxSeriesOccurrences) {
+            throw new BadRequestException("Series must not have more than " + maxSeriesOccurrences + " occurrences.");
+        }
+
+        lockItems(List.of(item.getId()));
+        ensureFree(series, occurrences, "Series overlaps an already approved booking of this item.");
+        series = seriesRepository.save(series);
+        summaryCache.evict(List.of(userId), List.of(item.getOwner().getId()));
+        recordSeriesEvent(BookingEventType.SERIES_CREATED, series);
+        return BookingMapper.toSeriesDto(series);
+    }
+
+    @Override
+    @Transactional
+    public BookingSeriesDto updateSeriesStatus(Long seriesId, Boolean approved, Long userId) {
+        if (approved == null) {
+            throw new BadRequestException("Parameter 'approved' is required.");
+        }
+        Long itemId = seriesRepository.findItemIdById(seriesId)
+                .orElseThrow(() -> new NotFoundException("Booking series not found."));
+        lockItems(List.of(itemId));
+        BookingSeries series = seriesRepository.findById(seriesId)
+                .orElseThrow(() -> new NotFoundException("Booking series not found."));
+        if (!series.getItem().getOwner().getId().equals(userId)) {
+            throw new ForbiddenException("Only the owner of the item can approve or reject a booking series.");
+        }
+        if (series.getStatus() != Status.WAITING) {
+            throw new BadRequestException("Booking series is already " + series.getStatus() + ".");
+        }
+
+        if (approved) {
+            ensureFree(series, new SeriesOccurrences(series), "Series overlaps an already approved booking of this item.");
+        }
+        series.setStatus(approved ? Status.APPROVED : Status.REJECTED);
+        series = seriesRepository.saveAndFlush(series);
+        summaryCache.evict(List.of(series.getBooker().getId()), List.of(userId));
+        recordSeriesEvent(BookingEventType.SERIES_STATUS_CHANGED, series);
+        return BookingMapper.toSeriesDto(series);
+    }
+
+    /**
+     * Occurrences intersecting [from, to), capped at the configured maximum per call.
+     */
+    @Override
+    public List<BookingDto> getSeriesOccurrences(Long seriesId, Long userId, LocalDateTime from, LocalDateTime to) {
+        BookingSeries series = seriesRepository.findById(seriesId)
+                .orElseThrow(() -> new NotFoundException("Booking series not found."));
+        if (!series.getBooker().getId().equals(userId) && !series.getItem().getOwner().getId().equals(userId)) {
+            throw new ForbiddenException("Access denied.");
+        }
+        SeriesOccurrences occurrences = new SeriesOccurrences(series);
+        long first = from == null ? 0 : occurrences.lastStartingAtOrBefore(from.minus(occurrences.length())) + 1;
+        long last = to == null ? occurrences.count() - 1 : occurrences.lastStartingBefore(to);
+        List<BookingDto> result = new ArrayList<>();
+        for (long index = first; index <= last && result.size() < maxSeriesOccurrences; index++) {
+            result.add(BookingMapper.toOccurrenceDto(series, occurrences, index));
+        }
+        return result;
+    }
+
+    /**
+     * Rejects the series if any occurrence intersects an approved booking or an occurrence of another approved
+     * series of the same item. Must run under the item lock. Approved bookings are read from the database rather
+     * than the interval index, which does not see approvals made through other instances.
+     */
+    private void ensureFree(BookingSeries series, SeriesOccurrences occurrences, String message) {
+        Long itemId = series.getItem().getId();
+        for (Booking booking : bookingRepository.findItemBookingsInRange(itemId, List.of(Status.APPROVED),
+                occurrences.startOf(0), occurrences.lastEnd())) {
+            if (occurrences.overlaps(booking.getStart(), booking.getEnd())) {
+                throw new ConflictException(message);
+            }
+        }
+        List<BookingSeries> approvedSeries = seriesRepository.findByItemIdAndStatus(itemId, Status.APPROVED);
+        for (long index = 0; index < occurrences.count(); index++) {
+            LocalDateTime start = occurrences.startOf(index);
+            LocalDateTime end = occurrences.endOf(index);
+            for (BookingSeries other : approvedSeries) {
+                if (!other.equals(series) && new SeriesOccurrences(other).overlaps(start, end)) {
+                    throw new ConflictException("Series overlaps an approved recurring booking of this item.");
+                }
+            }
+        }
+    }
+
+    @Override
+    public BookingPageDto getBookingsByUser(Long userId, String state, int from, int size, String cursor) {
         if (!userRepository.existsById(userId)) {
             throw new NotFoundException("User not found.");
         }
 
         BookingState bookingState = BookingState.fromString(state);
-        List<Booking> bookings;
+        BookingCursor position = resolveCursor(cursor);
+        Pageable page = resolvePage(from, size, cursor);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime cursorStart = position.getStart();
+        Long cursorId = position.getId();
+        List<BookingSeries> series = matchingSeries(seriesRepository.findByBookerId(userId), bookingState);
+        Function<Pageable, List<Booking>> query;
 
         switch (bookingState) {
-            case CURRENT -> bookings = bookingRepository.findByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(
-                    userId, LocalDateTime.now(), LocalDateTime.now());
-            case PAST -> bookings = bookingRepository.findByBookerIdAndEndBeforeOrderByStartDesc(userId, LocalDateTime.now());
-            case FUTURE -> bookings = bookingRepository.findByBookerIdAndStartAfterOrderByStartDesc(userId, LocalDateTime.now());
-            case WAITING -> bookings = bookingRepository.findByBookerIdAndStatusOrderByStartDesc(userId, Status.WAITING);
-            case REJECTED -> bookings = bookingRepository.findByBookerIdAndStatusOrderByStartDesc(userId, Status.REJECTED);
-            default -> bookings = bookingRepository.findByBookerIdOrderByStartDesc(userId);
+            case CURRENT -> query = window -> bookingRepository.findBookerPageCurrent(userId, now, cursorStart, cursorId, window);
+            case PAST -> query = window -> bookingRepository.findBookerPagePast(userId, now, cursorStart, cursorId, window);
+            case FUTURE -> query = window -> bookingRepository.findBookerPageFuture(userId, now, cursorStart, cursorId, window);
+            case WAITING -> query = window -> bookingRepository.findBookerPageByStatus(userId, Status.WAITING, cursorStart, cursorId, window);
+            case REJECTED -> query = window -> bookingRepository.findBookerPageByStatus(userId, Status.REJECTED, cursorStart, cursorId, window);
+            case EXPIRED -> query = window -> bookingRepository.findBookerPageByStatus(userId, Status.EXPIRED, cursorStart, cursorId, window);
+            default -> query = window -> bookingRepository.findBookerPage(userId, cursorStart, cursorId, window);
         }
 
-        return bookings.stream().map(BookingMapper::toBookingDto).collect(Collectors.toList());
+        return listPage(query, series, bookingState, position, page, now);
     }
 
     @Override
-    public List<BookingDto> getBookingsByOwner(Long userId, String state) {
+    public BookingPageDto getBookingsByOwner(Long userId, String state, int from, int size, String cursor) {
         if (!userRepository.existsById(userId)) {
             throw new NotFoundException("User not found.");
         }
 
         BookingState bookingState = BookingState.fromString(state);
-        List<Booking> bookings;
+        BookingCursor position = resolveCursor(cursor);
+        Pageable page = resolvePage(from, size, cursor);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime cursorStart = position.getStart();
+        Long cursorId = position.getId();
+        List<BookingSeries> series = matchingSeries(seriesRepository.findByItemOwnerId(userId), bookingState);
+        Function<Pageable, List<Booking>> query;
 
         switch (bookingState) {
-            case CURRENT -> bookings = bookingRepository.findByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDesc(
-                    userId, LocalDateTime.now(), LocalDateTime.now());
-            case PAST -> bookings = bookingRepository.findByItemOwnerIdAndEndBeforeOrderByStartDesc(userId, LocalDateTime.now());
-            case FUTURE -> bookings = bookingRepository.findByItemOwnerIdAndStartAfterOrderByStartDesc(userId, LocalDateTime.now());
-            case WAITING -> bookings = bookingRepository.findByItemOwnerIdAndStatusOrderByStartDesc(userId, Status.WAITING);
-            case REJECTED -> bookings = bookingRepository.findByItemOwnerIdAndStatusOrderByStartDesc(userId, Status.REJECTED);
-            default -> bookings = bookingRepository.findByItemOwnerIdOrderByStartDesc(userId);
+            case CURRENT -> query = window -> bookingRepository.findOwnerPageCurrent(userId, now, cursorStart, cursorId, window);
+            case PAST -> query = window -> bookingRepository.findOwnerPagePast(userId, now, cursorStart, cursorId, window);
+            case FUTURE -> query = window -> bookingRepository.findOwnerPageFuture(userId, now, cursorStart, cursorId, window);
+            case WAITING -> query = window -> bookingRepository.findOwnerPageByStatus(userId, Status.WAITING, cursorStart, cursorId, window);
+            case REJECTED -> query = window -> bookingRepository.findOwnerPageByStatus(userId, Status.REJECTED, cursorStart, cursorId, window);
+            case EXPIRED -> query = window -> bookingRepository.findOwnerPageByStatus(userId, Status.EXPIRED, cursorStart, cursorId, window);
+            default -> query = window -> bookingRepository.findOwnerPage(userId, cursorStart, cursorId, window);
+        }
+
+        return listPage(query, series, bookingState, position, page, now);
+    }
+
+    @Override
+    public BookingSummaryDto getBookingSummaryByUser(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new NotFoundException("User not found.");
+        }
+        return summarize(BookingSummaryCache.Role.BOOKER, userId,
+                now -> bookingRepository.countBookerBookingsByStatus(userId, now),
+                () -> seriesRepository.findByBookerId(userId));
+    }
+
+    @Override
+    public BookingSummaryDto getBookingSummaryByOwner(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new NotFoundException("User not found.");
+        }
+        return summarize(BookingSummaryCache.Role.OWNER, userId,
+                now -> bookingRepository.countOwnerBookingsByStatus(userId, now),
+                () -> seriesRepository.findByItemOwnerId(userId));
+    }
+
+    /**
+     * Folds the per-status rows of one aggregate query and the occurrences of the user's series into the counts of
+     * every listing state and caches them until the nearest start or end that would move a booking or occurrence
+     * between CURRENT, PAST and FUTURE.
+     */
+    private BookingSummaryDto summarize(BookingSummaryCache.Role role, Long userId,
+                                        Function<LocalDateTime, List<BookingRepository.StatusCounts>> query,
+                                        Supplier<List<BookingSeries>> seriesQuery) {
+        LocalDateTime now = LocalDateTime.now();
+        BookingSummaryDto cached = summaryCache.get(role, userId, now);
+        if (cached != null) {
+            return cached;
+        }
+
+        long stamp = summaryCache.generation();
+        BookingSummaryDto summary = new BookingSummaryDto();
+        LocalDateTime validUntil = LocalDateTime.MAX;
+        for (BookingRepository.StatusCounts counts : query.apply(now)) {
+            summary.setAll(summary.getAll() + counts.getTotal());
+            summary.setCurrent(summary.getCurrent() + counts.getCurrentCount());
+            summary.setPast(summary.getPast() + counts.getPastCount());
+            summary.setFuture(summary.getFuture() + counts.getFutureCount());
+            addToStatus(summary, counts.getStatus(), counts.getTotal());
+            validUntil = earliest(validUntil, counts.getNextStart());
+            validUntil = earliest(validUntil, counts.getNextEnd());
+        }
+        for (BookingSeries series : seriesQuery.get()) {
+            SeriesOccurrences occurrences = new SeriesOccurrences(series);
+            long started = occurrences.lastStartingAtOrBefore(now) + 1;
+            long ended = occurrences.lastStartingAtOrBefore(now.minus(occurrences.length())) + 1;
+            summary.setAll(summary.getAll() + occurrences.count());
+            summary.setCurrent(summary.getCurrent() + started - ended);
+            summary.setPast(summary.getPast() + ended);
+            summary.setFuture(summary.getFuture() + occurrences.count() - started);
+            addToStatus(summary, series.getStatus(), occurrences.count());
+            if (started < occurrences.count()) {
+                validUntil = earliest(validUntil, occurrences.startOf(started));
+            }
+            if (ended < occurrences.count()) {
+                validUntil = earliest(validUntil, occurrences.endOf(ended));
+            }
+        }
+        summaryCache.put(role, userId, stamp, summary, validUntil);
+        return summary;
+    }
+
+    private static void addToStatus(BookingSummaryDto summary, Status status, long count) {
+        if (status == Status.WAITING) {
+            summary.setWaiting(summary.getWaiting() + count);
+        } else if (status == Status.REJECTED) {
+            summary.setRejected(summary.getRejected() + count);
+        } else if (status == Status.EXPIRED) {
+            summary.setExpired(summary.getExpired() + count);
+        }
+    }
+
+    private static LocalDateTime earliest(LocalDateTime current, LocalDateTime candidate) {
+        return candidate != null && candidate.isBefore(current) ? candidate : current;
+    }
+
+    /**
+     * Series whose occurrences can appear in a listing of the given state. Time-based states keep every series and
+     * filter occurrence by occurrence; status states filter on the status the occurrences inherit from the series.
+     */
+    private static List<BookingSeries> matchingSeries(List<BookingSeries> seriesList, BookingState state) {
+        Status status = switch (state) {
+            case WAITING -> Status.WAITING;
+            case REJECTED -> Status.REJECTED;
+            case EXPIRED -> Status.EXPIRED;
+            default -> null;
+        };
+        if (status == null) {
+            return seriesList;
+        }
+        return seriesList.stream()
+                .filter(series -> series.getStatus() == status)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Runs the keyset query and, when the user has matching series, merges their occurrences into the same
+     * (start DESC, id DESC) order. Occurrences sort under the id -seriesId, so they follow the stored bookings that
+     * share their start and a cursor taken from an occurrence resumes the merged order exactly.
+     */
+    private BookingPageDto listPage(Function<Pageable, List<Booking>> query, List<BookingSeries> seriesList,
+                                    BookingState state, BookingCursor position, Pageable page, LocalDateTime now) {
+        if (seriesList.isEmpty()) {
+            return toPage(query.apply(page), page.getPageSize());
+        }
+
+        int offset = (int) page.getOffset();
+        int window = offset + page.getPageSize();
+        List<ListedBooking> merged = new ArrayList<>();
+        for (Booking booking : query.apply(PageRequest.of(0, window))) {
+            merged.add(new ListedBooking(booking.getStart(), booking.getId(), BookingMapper.toBookingDto(booking)));
         }
+        for (BookingSeries series : seriesList) {
+            expand(series, state, position, now, window, merged);
+        }
+        merged.sort(Comparator.comparing((ListedBooking listed) -> listed.start)
+                .thenComparingLong(listed -> listed.sortId)
+                .reversed());
+
+        List<ListedBooking> pageRows = merged.subList(Math.min(offset, merged.size()), Math.min(window, merged.size()));
+        String nextCursor = null;
+        if (pageRows.size() == page.getPageSize()) {
+            ListedBooking last = pageRows.get(pageRows.size() - 1);
+            nextCursor = new BookingCursor(last.start.truncatedTo(ChronoUnit.MICROS), last.sortId).encode();
+        }
+        List<BookingDto> dtos = pageRows.stream().map(listed -> listed.dto).collect(Collectors.toList());
+        return new BookingPageDto(dtos, nextCursor);
+    }
+
+    /**
+     * Adds at most {@code limit} occurrences of one series that sort after {@code position} and fall into the
+     * listing state, walking backwards from the latest one so nothing before the page is generated.
+     */
+    private static void expand(BookingSeries series, BookingState state, BookingCursor position, LocalDateTime now,
+                               int limit, List<ListedBooking> out) {
+        SeriesOccurrences occurrences = new SeriesOccurrences(series);
+        long sortId = -series.getId();
+        long upper = occurrences.lastStartingAtOrBefore(position.getStart());
+        if (upper >= 0 && occurrences.startOf(upper).equals(position.getStart()) && sortId >= position.getId()) {
+            upper--;
+        }
+        long lower = -1;
+        switch (state) {
+            case CURRENT -> {
+                upper = Math.min(upper, occurrences.lastStartingAtOrBefore(now));
+                lower = occurrences.lastStartingAtOrBefore(now.minus(occurrences.length()));
+            }
+            case PAST -> upper = Math.min(upper, occurrences.lastStartingAtOrBefore(now.minus(occurrences.length())));
+            case FUTURE -> lower = occurrences.lastStartingAtOrBefore(now);
+            default -> {
+            }
+        }
+        for (long index = upper; index > lower && index > upper - limit; index--) {
+            out.add(new ListedBooking(occurrences.startOf(index), sortId,
+                    BookingMapper.toOccurrenceDto(series, occurrences, index)));
+        }
+    }
+
+    private static final class ListedBooking {
+        private final LocalDateTime start;
+        private final long sortId;
+        private final BookingDto dto;
+
+        private ListedBooking(LocalDateTime start, long sortId, BookingDto dto) {
+            this.start = start;
+            this.sortId = sortId;
+            this.dto = dto;
+        }
+    }
+
+    private BookingCursor resolveCursor(String cursor) {
+        return cursor == null || cursor.isBlank() ? BookingCursor.HEAD : BookingCursor.decode(cursor);
+    }
+
+    /**
+     * A cursor always starts a fresh keyset page; the legacy from offset is honoured only without one.
+     */
+    private Pageable resolvePage(int from, int size, String cursor) {
+        if (from < 0) {
+            throw new BadRequestException("Parameter 'from' must not be negative.");
+        }
+        if (size <= 0) {
+            throw new BadRequestException("Parameter 'size' must be positive.");
+        }
+        int pageSize = Math.min(size, maxPageSize);
+        if (cursor != null && !cursor.isBlank()) {
+            return PageRequest.of(0, pageSize);
+        }
+        return OffsetPageRequest.of(from, pageSize);
+    }
 
-        return bookings.stream().map(BookingMapper::toBookingDto).collect(Collectors.toList());
+    private BookingPageDto toPage(List<Booking> bookings, int pageSize) {
+        String nextCursor = bookings.size() == pageSize
+                ? BookingCursor.of(bookings.get(bookings.size() - 1)).encode()
+                : null;
+        List<BookingDto> dtos = bookings.stream().map(BookingMapper::toBookingDto).collect(Collectors.toList());
+        return new BookingPageDto(dtos, nextCursor);
     }
 
 }
\ No newline at end of file
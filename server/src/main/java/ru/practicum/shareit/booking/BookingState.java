@@ -1,7 +1,7 @@
 package ru.practicum.shareit.booking;
 
 public enum BookingState {
-    ALL, CURRENT, PAST, FUTURE, WAITING, REJECTED;
+    ALL, CURRENT, PAST, FUTURE, WAITING, REJECTED, EXPIRED;
 
     public static BookingState fromString(String state) {
         try {
@@ -0,0 +1,53 @@
+package ru.practicum.shareit.booking;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
+import ru.practicum.shareit.cache.StampedLruCache;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Cache of booking summaries per booker and per owner, each valid until the next start or end of their bookings.
+ */
+@Component
+public class BookingSummaryCache {
+    public enum Role { BOOKER, OWNER }
+
+    private final StampedLruCache<String, BookingSummaryDto> cache;
+
+    public BookingSummaryCache(@Value("${shareit.booking.summary.cache-size:10000}") int maxEntriesPerRole,
+                               MeterRegistry meterRegistry) {
+        this.cache = new StampedLruCache<>("shareit.booking.summary.cache",
+                maxEntriesPerRole * Role.values().length, meterRegistry);
+    }
+
+    public long generation() {
+        return cache.generation();
+    }
+
+    public BookingSummaryDto get(Role role, Long userId, LocalDateTime now) {
+        return cache.get(key(role, userId), now);
+    }
+
+    public void put(Role role, Long userId, long stamp, BookingSummaryDto summary, LocalDateTime validUntil) {
+        cache.put(key(role, userId), stamp, summary, validUntil);
+    }
+
+    public void evict(Collection<Long> bookerIds, Collection<Long> ownerIds) {
+        List<String> keys = Stream.concat(
+                        bookerIds.stream().map(id -> key(Role.BOOKER, id)),
+                        ownerIds.stream().map(id -> key(Role.OWNER, id)))
+                .collect(Collectors.toList());
+        cache.invalidate(keys);
+    }
+
+    private static String key(Role role, Long userId) {
+        return role + ":" + userId;
+    }
+}
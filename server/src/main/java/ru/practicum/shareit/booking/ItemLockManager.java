@@ -0,0 +1,121 @@
+package ru.practicum.shareit.booking;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.exceptions.ConflictException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Striped locks that serialize booking writes per item while writes to different items run in parallel.
+ * <p>
+ * A lock is taken inside the booking transaction and released only after it completes, so the next writer of the
+ * same item sees the committed state. Several items are always locked in stripe order to rule out deadlocks.
+ * Wait time and queue depth are published as {@code shareit.booking.item.lock.wait} and
+ * {@code shareit.booking.item.lock.queue}.
+ */
+@Component
+public class ItemLockManager {
+    /**
+     * Order of the synchronization that unlocks the items. Synchronizations that must still run under the item lock,
+     * such as withdrawing a rolled back reservation, use a lower order.
+     */
+    public static final int UNLOCK_ORDER = Ordered.LOWEST_PRECEDENCE;
+
+    private final ReentrantLock[] stripes;
+    private final long timeoutMillis;
+    private final Timer waitTimer;
+
+    public ItemLockManager(@Value("${shareit.booking.lock.stripes:256}") int stripeCount,
+                           @Value("${shareit.booking.lock.timeout-ms:5000}") long timeoutMillis,
+                           MeterRegistry meterRegistry) {
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.timeoutMillis = timeoutMillis;
+        this.waitTimer = Timer.builder("shareit.booking.item.lock.wait")
+                .description("Time spent waiting for a per-item booking lock")
+                .register(meterRegistry);
+        Gauge.builder("shareit.booking.item.lock.queue", this, ItemLockManager::queueDepth)
+                .description("Threads currently queued for per-item booking locks")
+                .register(meterRegistry);
+    }
+
+    public void lockUntilCompletion(Long itemId) {
+        lockUntilCompletion(List.of(itemId));
+    }
+
+    /**
+     * Locks the stripes of all given items until the current transaction completes.
+     *
+     * @throws ConflictException if a lock cannot be acquired within the configured timeout
+     */
+    public void lockUntilCompletion(Collection<Long> itemIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Item locks must be taken inside a transaction.");
+        }
+
+        TreeSet<Integer> stripeIndexes = new TreeSet<>();
+        for (Long itemId : itemIds) {
+            stripeIndexes.add(stripeOf(itemId));
+        }
+
+        List<ReentrantLock> acquired = new ArrayList<>(stripeIndexes.size());
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public int getOrder() {
+                return UNLOCK_ORDER;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                acquired.forEach(ReentrantLock::unlock);
+            }
+        });
+
+        for (int index : stripeIndexes) {
+            ReentrantLock lock = stripes[index];
+            long started = System.nanoTime();
+            boolean locked;
+            try {
+                locked = lock.tryLock(timeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ConflictException("Interrupted while waiting for the item lock; retry the request.");
+            } finally {
+                waitTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            }
+            if (!locked) {
+                throw new ConflictException("Item is busy with other bookings; retry the request.");
+            }
+            acquired.add(lock);
+        }
+    }
+
+    public int queueDepth() {
+        int depth = 0;
+        for (ReentrantLock lock : stripes) {
+            depth += lock.getQueueLength();
+        }
+        return depth;
+    }
+
+    private int stripeOf(Long itemId) {
+        int hash = Long.hashCode(itemId);
+        hash ^= hash >>> 16;
+        return hash & (stripes.length - 1);
+    }
+}
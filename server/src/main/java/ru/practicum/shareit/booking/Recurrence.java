@@ -0,0 +1,22 @@
+package ru.practicum.shareit.booking;
+
+import java.time.Duration;
+
+/**
+ * Repetition rule of a booking series. Only fixed-length periods are supported, which keeps the position of any
+ * occurrence a matter of arithmetic instead of iteration.
+ */
+public enum Recurrence {
+    DAILY(Duration.ofDays(1)),
+    WEEKLY(Duration.ofDays(7));
+
+    private final Duration unit;
+
+    Recurrence(Duration unit) {
+        this.unit = unit;
+    }
+
+    public Duration period(int interval) {
+        return unit.multipliedBy(interval);
+    }
+}
@@ -0,0 +1,83 @@
+package ru.practicum.shareit.booking;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Position arithmetic over the occurrences of a {@link BookingSeries}. Occurrence {@code i} covers
+ * [start + i * period, end + i * period), for {@code i} from 0 while its start is not after {@code until}.
+ * Finding the occurrences around a moment is O(1), so listings and overlap checks never materialize a series.
+ */
+public final class SeriesOccurrences {
+    private final LocalDateTime first;
+    private final Duration length;
+    private final Duration period;
+    private final long count;
+
+    public SeriesOccurrences(BookingSeries series) {
+        this(series.getStart(), series.getEnd(), series.getRecurrence().period(series.getInterval()), series.getUntil());
+    }
+
+    public SeriesOccurrences(LocalDateTime start, LocalDateTime end, Duration period, LocalDateTime until) {
+        this.first = start;
+        this.length = Duration.between(start, end);
+        this.period = period;
+        this.count = until.isBefore(start) ? 0 : Duration.between(start, until).dividedBy(period) + 1;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public Duration length() {
+        return length;
+    }
+
+    public LocalDateTime startOf(long index) {
+        return first.plus(period.multipliedBy(index));
+    }
+
+    public LocalDateTime endOf(long index) {
+        return startOf(index).plus(length);
+    }
+
+    /**
+     * End of the last occurrence; the series must have at least one.
+     */
+    public LocalDateTime lastEnd() {
+        return endOf(count - 1);
+    }
+
+    /**
+     * Index of the last occurrence starting at or before {@code moment}, or -1 if there is none.
+     */
+    public long lastStartingAtOrBefore(LocalDateTime moment) {
+        if (moment.isBefore(first)) {
+            return -1;
+        }
+        return Math.min(count - 1, Duration.between(first, moment).dividedBy(period));
+    }
+
+    /**
+     * Index of the last occurrence starting strictly before {@code moment}, or -1 if there is none.
+     */
+    public long lastStartingBefore(LocalDateTime moment) {
+        if (!moment.isAfter(first)) {
+            return -1;
+        }
+        long index = Duration.between(first, moment).dividedBy(period);
+        if (startOf(index).equals(moment)) {
+            index--;
+        }
+        return Math.min(count - 1, index);
+    }
+
+    /**
+     * Whether any occurrence intersects [start, end).
+     */
+    public boolean overlaps(LocalDateTime start, LocalDateTime end) {
+        long firstCandidate = lastStartingAtOrBefore(start.minus(length)) + 1;
+        long lastCandidate = lastStartingBefore(end);
+        return firstCandidate <= lastCandidate;
+    }
+}
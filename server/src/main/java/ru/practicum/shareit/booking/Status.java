@@ -3,5 +3,6 @@ package ru.practicum.shareit.booking;
 public enum Status {
     WAITING,
     APPROVED,
-    REJECTED
+    REJECTED,
+    EXPIRED
 }
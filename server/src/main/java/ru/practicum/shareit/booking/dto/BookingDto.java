@@ -28,5 +28,9 @@ public class BookingDto {
         private Status status;
         private ItemDto item;
         private UserDto booker;
+        /**
+         * Set on occurrences expanded from a recurring series; such entries have no id of their own.
+         */
+        private Long seriesId;
 
 }
\ No newline at end of file
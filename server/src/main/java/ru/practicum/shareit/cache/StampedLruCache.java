@@ -0,0 +1,155 @@
+package ru.practicum.shareit.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Bounded LRU cache with expiring entries that drops values computed while an invalidation happened.
+ */
+public final class StampedLruCache<K, V> {
+    private final Map<K, Entry<V>> entries;
+    private final AtomicLong generation = new AtomicLong();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter sizeEvictions;
+    private final Counter expiredEvictions;
+    private final Counter invalidatedEvictions;
+
+    public StampedLruCache(String name, int maxEntries, MeterRegistry meterRegistry) {
+        this.hits = Counter.builder(name + ".gets").tag("result", "hit")
+                .description("Lookups answered from the cache")
+                .register(meterRegistry);
+        this.misses = Counter.builder(name + ".gets").tag("result", "miss")
+                .description("Lookups not found in the cache")
+                .register(meterRegistry);
+        this.sizeEvictions = evictionCounter(meterRegistry, name, "size");
+        this.expiredEvictions = evictionCounter(meterRegistry, name, "expired");
+        this.invalidatedEvictions = evictionCounter(meterRegistry, name, "invalidated");
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > maxEntries) {
+                    sizeEvictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+        Gauge.builder(name + ".size", this, StampedLruCache::size)
+                .description("Cached entries")
+                .register(meterRegistry);
+        Gauge.builder(name + ".hit.ratio", this, StampedLruCache::hitRatio)
+                .description("Share of lookups answered from the cache")
+                .register(meterRegistry);
+    }
+
+    private static Counter evictionCounter(MeterRegistry meterRegistry, String name, String cause) {
+        return Counter.builder(name + ".evictions").tag("cause", cause)
+                .description("Entries removed from the cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Stamp to pass to {@link #put} for a value computed after this call.
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    public synchronized V get(K key, LocalDateTime now) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null && !now.isBefore(entry.expiresAt)) {
+            entries.remove(key);
+            expiredEvictions.increment();
+            entry = null;
+        }
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.value;
+    }
+
+    /**
+     * Caches {@code value}, which must not be modified afterwards, unless an invalidation happened since
+     * {@code stamp} was taken.
+     */
+    public synchronized void put(K key, long stamp, V value, LocalDateTime expiresAt) {
+        if (generation.get() == stamp) {
+            entries.put(key, new Entry<>(value, expiresAt));
+        }
+    }
+
+    public void invalidate(Collection<K> keys) {
+        List<K> copy = List.copyOf(keys);
+        nowAndAfterCompletion(() -> invalidateNow(value -> false, copy));
+    }
+
+    public void invalidateIf(Predicate<V> predicate) {
+        nowAndAfterCompletion(() -> invalidateNow(predicate, List.of()));
+    }
+
+    public void invalidateAll() {
+        nowAndAfterCompletion(() -> invalidateNow(value -> true, List.of()));
+    }
+
+    private void nowAndAfterCompletion(Runnable invalidation) {
+        invalidation.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidation.run();
+                }
+            });
+        }
+    }
+
+    private synchronized void invalidateNow(Predicate<V> predicate, Collection<K> keys) {
+        generation.incrementAndGet();
+        for (K key : keys) {
+            if (entries.remove(key) != null) {
+                invalidatedEvictions.increment();
+            }
+        }
+        Iterator<Entry<V>> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            if (predicate.test(iterator.next().value)) {
+                iterator.remove();
+                invalidatedEvictions.increment();
+            }
+        }
+    }
+
+    private synchronized int size() {
+        return entries.size();
+    }
+
+    private double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0 : hits.count() / total;
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final LocalDateTime expiresAt;
+
+        private Entry(V value, LocalDateTime expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
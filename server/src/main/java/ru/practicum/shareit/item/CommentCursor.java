@@ -0,0 +1,56 @@
+package ru.practicum.shareit.item;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ru.practicum.shareit.exceptions.BadRequestException;
+import ru.practicum.shareit.item.model.Comment;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position in the comments of an item ordered by (created, id).
+ * The token handed to clients is the URL-safe Base64 form of "created|id".
+ */
+@Getter
+@AllArgsConstructor
+public class CommentCursor {
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Position before the first comment of any item, so the first page runs the same query as every other page.
+     */
+    public static final CommentCursor HEAD = new CommentCursor(LocalDateTime.of(1970, 1, 1, 0, 0), 0L);
+
+    private final LocalDateTime created;
+    private final Long id;
+
+    /**
+     * Timestamp columns keep microseconds, so a cursor taken from a still-managed entity is truncated to match.
+     */
+    public static CommentCursor of(Comment comment) {
+        return new CommentCursor(comment.getCreated().truncatedTo(ChronoUnit.MICROS), comment.getId());
+    }
+
+    public String encode() {
+        String raw = created + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CommentCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new BadRequestException("Invalid cursor: " + token);
+            }
+            return new CommentCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor: " + token);
+        }
+    }
+}
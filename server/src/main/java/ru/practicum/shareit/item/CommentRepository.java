@@ -1,10 +1,32 @@
 package ru.practicum.shareit.item;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.item.model.Comment;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    List<Comment> findByItemId(Long itemId);
+    /**
+     * Keyset page of the comments of an item ordered by (created, id); pass {@link CommentCursor#HEAD} for the first
+     * page. Served by idx_comments_item_created.
+     */
+    @EntityGraph(attributePaths = "author")
+    @Query("SELECT c FROM Comment c WHERE c.item.id = :itemId " +
+            "AND (c.created > :cursorCreated OR (c.created = :cursorCreated AND c.id > :cursorId)) " +
+            "ORDER BY c.created, c.id")
+    List<Comment> findPageByItemId(@Param("itemId") Long itemId,
+                                   @Param("cursorCreated") LocalDateTime cursorCreated, @Param("cursorId") Long cursorId,
+                                   Pageable pageable);
+
+    /**
+     * For every item of the owner, its most recent comment.
+     */
+    @Query("SELECT c FROM Comment c JOIN FETCH c.author WHERE c.item.owner.id = :ownerId " +
+            "AND c.created = (SELECT MAX(c2.created) FROM Comment c2 WHERE c2.item = c.item)")
+    List<Comment> findLatestByOwnerItems(@Param("ownerId") Long ownerId);
 }
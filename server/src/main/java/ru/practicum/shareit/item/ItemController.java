@@ -1,9 +1,19 @@
 package ru.practicum.shareit.item;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.CommentPageDto;
+import ru.practicum.shareit.item.dto.ItemImportReportDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemSuggestionDto;
+import ru.practicum.shareit.item.dto.TimeSlotDto;
 
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.logging.Logger;
 
@@ -15,10 +25,13 @@ import java.util.logging.Logger;
 @RequestMapping("/items")
 public class ItemController {
     private static final Logger log = Logger.getLogger(ItemController.class.getName());
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
     private final ItemService itemService;
+    private final ItemImporter itemImporter;
 
-    public ItemController(ItemService itemService) {
+    public ItemController(ItemService itemService, ItemImporter itemImporter) {
         this.itemService = itemService;
+        this.itemImporter = itemImporter;
     }
 
     @PostMapping
@@ -27,6 +40,17 @@ public class ItemController {
         return itemService.addItem(userId, itemDto);
     }
 
+    /**
+     * Creates the user's items from an NDJSON or CSV body, read as it arrives.
+     */
+    @PostMapping(path = "/import", consumes = {ItemImporter.Format.NDJSON_VALUE, ItemImporter.Format.CSV_VALUE})
+    public ItemImportReportDto importItems(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                           @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                           InputStream body) {
+        log.info("Importing items for user ID: " + userId + " from " + contentType);
+        return itemImporter.importItems(userId, ItemImporter.Format.of(MediaType.parseMediaType(contentType)), body);
+    }
+
     @PatchMapping("/{itemId}")
     public ItemDto updateItem(@PathVariable Long itemId, @RequestHeader("X-Sharer-User-Id") Long userId, @RequestBody ItemDto itemDto) {
         log.info("Updating item with ID: " + itemId + " for user ID: " + userId + " with data: " + itemDto);
@@ -46,13 +70,46 @@ public class ItemController {
     }
 
     @GetMapping("/search")
-    public List<ItemDto> searchItems(@RequestParam String text) {
-        log.info("Searching for items with text: " + text);
-        return itemService.searchItems(text);
+    public List<ItemDto> searchItems(@RequestParam String text,
+                                     @RequestParam(defaultValue = "0") int from,
+                                     @RequestParam(defaultValue = "10") int size,
+                                     @RequestParam(defaultValue = "false") boolean fuzzy) {
+        log.info("Searching for items with text: " + text + ", from=" + from + ", size=" + size + ", fuzzy=" + fuzzy);
+        return itemService.searchItems(text, from, size, fuzzy);
+    }
+
+    @GetMapping("/suggest")
+    public List<ItemSuggestionDto> suggestItems(@RequestParam String prefix,
+                                                @RequestParam(defaultValue = "10") int limit) {
+        return itemService.suggestItems(prefix, limit);
     }
 
     @PostMapping("/{itemId}/comment")
     public CommentDto addComment(@PathVariable Long itemId, @RequestBody CommentDto commentDto, @RequestHeader("X-Sharer-User-Id") Long userId) {
         return itemService.addComment(userId, itemId, commentDto);
     }
+
+    /**
+     * Comments oldest first; the cursor for the following page, if any, comes in the {@value #NEXT_CURSOR_HEADER}
+     * header.
+     */
+    @GetMapping("/{itemId}/comments")
+    public ResponseEntity<List<CommentDto>> getComments(@PathVariable Long itemId,
+                                                        @RequestParam(required = false) String cursor,
+                                                        @RequestParam(defaultValue = "10") int size) {
+        CommentPageDto page = itemService.getComments(itemId, cursor, size);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getComments());
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public List<TimeSlotDto> getAvailability(@PathVariable Long itemId,
+                                             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("Fetching availability of item ID: " + itemId + " from " + from + " to " + to);
+        return itemService.getAvailability(itemId, from, to);
+    }
 }
@@ -0,0 +1,56 @@
+package ru.practicum.shareit.item;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.cache.StampedLruCache;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Cache of assembled item details with their comments, as returned by {@code GET /items/{id}}.
+ */
+@Component
+public class ItemDetailCache {
+    private final boolean enabled;
+    private final Duration ttl;
+    private final StampedLruCache<Long, ItemDto> cache;
+
+    public ItemDetailCache(@Value("${shareit.item.detail.cache.enabled:true}") boolean enabled,
+                           @Value("${shareit.item.detail.cache.size:10000}") int maxEntries,
+                           @Value("${shareit.item.detail.cache.ttl-ms:300000}") long ttlMillis,
+                           MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.ttl = Duration.ofMillis(ttlMillis);
+        this.cache = new StampedLruCache<>("shareit.item.detail.cache", maxEntries, meterRegistry);
+    }
+
+    public long generation() {
+        return cache.generation();
+    }
+
+    public ItemDto get(Long itemId, LocalDateTime now) {
+        return enabled ? cache.get(itemId, now) : null;
+    }
+
+    public void put(Long itemId, long stamp, ItemDto item, LocalDateTime now) {
+        if (enabled) {
+            cache.put(itemId, stamp, item, now.plus(ttl));
+        }
+    }
+
+    public void invalidate(Long itemId) {
+        if (enabled) {
+            cache.invalidate(List.of(itemId));
+        }
+    }
+
+    public void invalidateAll() {
+        if (enabled) {
+            cache.invalidateAll();
+        }
+    }
+}
@@ -0,0 +1,504 @@
+package ru.practicum.shareit.item;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.exceptions.BadRequestException;
+import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportErrorDto;
+import ru.practicum.shareit.item.dto.ItemImportReportDto;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Creates the items of one owner from an NDJSON or CSV upload.
+ * <p>
+ * The body is parsed and validated row by row while it is read. Valid rows are stored in chunks of
+ * {@code shareit.item.import.batch-size}, each in its own transaction. PostgreSQL gets a chunk through {@code COPY};
+ * other databases such as H2 get a JDBC batch insert. Only the current chunk and the first
+ * {@code shareit.item.import.max-errors} errors are held in memory, so the size of the upload does not matter.
+ * A record longer than {@code shareit.item.import.max-record-length} characters is skipped unread and reported.
+ * A rejected row is reported by its row number and the rest goes on. A chunk the database refuses is split in halves
+ * and retried until the rows it refuses are isolated, so only those are reported.
+ * <p>
+ * Each chunk is added to the search index, and cached search pages it matches are evicted, as soon as it is
+ * committed. Published as {@code shareit.item.import.rows} (result=imported|failed).
+ */
+@Component
+public class ItemImporter {
+    private static final Logger log = LoggerFactory.getLogger(ItemImporter.class);
+    private static final int MAX_NAME_LENGTH = 255;
+    private static final String COLUMNS = "items (name, description, available, owner_id, request_id, version, " +
+            "comment_count, updated)";
+    private static final String COPY_SQL = "COPY " + COLUMNS + " FROM STDIN WITH (FORMAT csv)";
+    private static final String INSERT_SQL = "INSERT INTO " + COLUMNS + " VALUES (?, ?, ?, ?, ?, 0, 0, ?)";
+
+    public enum Format {
+        NDJSON, CSV;
+
+        public static final String NDJSON_VALUE = "application/x-ndjson";
+        public static final String CSV_VALUE = "text/csv";
+
+        public static Format of(MediaType contentType) {
+            if (contentType.isCompatibleWith(MediaType.parseMediaType(NDJSON_VALUE))) {
+                return NDJSON;
+            }
+            if (contentType.isCompatibleWith(MediaType.parseMediaType(CSV_VALUE))) {
+                return CSV;
+            }
+            throw new BadRequestException("Unsupported import format: " + contentType);
+        }
+    }
+
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final ItemSearchIndex searchIndex;
+    private final ItemSearchCache searchCache;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final ObjectReader reader;
+    private final int batchSize;
+    private final int maxErrors;
+    private final int maxRecordLength;
+    private final Counter importedRows;
+    private final Counter failedRows;
+
+    public ItemImporter(ItemRepository itemRepository, UserRepository userRepository,
+                        ItemRequestRepository itemRequestRepository, ItemSearchIndex searchIndex,
+                        ItemSearchCache searchCache, JdbcTemplate jdbcTemplate,
+                        PlatformTransactionManager transactionManager, ObjectMapper objectMapper,
+                        @Value("${shareit.item.import.batch-size:1000}") int batchSize,
+                        @Value("${shareit.item.import.max-errors:1000}") int maxErrors,
+                        @Value("${shareit.item.import.max-record-length:65536}") int maxRecordLength,
+                        MeterRegistry meterRegistry) {
+        this.itemRepository = itemRepository;
+        this.userRepository = userRepository;
+        this.itemRequestRepository = itemRequestRepository;
+        this.searchIndex = searchIndex;
+        this.searchCache = searchCache;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.reader = objectMapper.readerFor(ItemDto.class);
+        this.batchSize = batchSize;
+        this.maxErrors = maxErrors;
+        this.maxRecordLength = maxRecordLength;
+        this.importedRows = Counter.builder("shareit.item.import.rows").tag("result", "imported")
+                .description("Items created by bulk imports")
+                .register(meterRegistry);
+        this.failedRows = Counter.builder("shareit.item.import.rows").tag("result", "failed")
+                .description("Bulk import rows that were rejected")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Row numbers in the report count records from 1, the CSV header included, and skip nothing, so blank NDJSON
+     * lines keep their number too.
+     */
+    public ItemImportReportDto importItems(Long ownerId, Format format, InputStream body) {
+        if (!userRepository.existsById(ownerId)) {
+            throw new NotFoundException("User not found.");
+        }
+        long indexedUpTo = itemRepository.findMaxId();
+        Report report = new Report(maxErrors);
+        BufferedReader in = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        try {
+            RowSource rows = format == Format.NDJSON ? new NdjsonRows(in, reader, maxRecordLength)
+                    : new CsvRows(in, maxRecordLength);
+            Map<Long, Boolean> knownRequests = new HashMap<>();
+            List<Row> chunk = new ArrayList<>(batchSize);
+            Row row;
+            while ((row = rows.next()) != null) {
+                if (row.item == null) {
+                    continue;
+                }
+                String error = row.error != null ? row.error : validate(row.item, knownRequests);
+                if (error != null) {
+                    report.fail(row.number, error);
+                    continue;
+                }
+                chunk.add(row);
+                if (chunk.size() == batchSize) {
+                    if (store(ownerId, chunk, report)) {
+                        indexedUpTo = searchIndex.indexAfter(indexedUpTo);
+                    }
+                    chunk.clear();
+                }
+            }
+            if (store(ownerId, chunk, report)) {
+                searchIndex.indexAfter(indexedUpTo);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Item import for owner " + ownerId + " was interrupted", e);
+        }
+        importedRows.increment(report.imported);
+        failedRows.increment(report.failed);
+        log.info("Imported {} items of owner {}, {} rows failed", report.imported, ownerId, report.failed);
+        return report.toDto();
+    }
+
+    private String validate(ItemDto item, Map<Long, Boolean> knownRequests) {
+        if (item.getName() == null || item.getName().isEmpty()) {
+            return "Field 'name' is required.";
+        }
+        if (item.getName().length() > MAX_NAME_LENGTH) {
+            return "Field 'name' must be at most " + MAX_NAME_LENGTH + " characters.";
+        }
+        if (item.getDescription() == null || item.getDescription().isEmpty()) {
+            return "Field 'description' is required.";
+        }
+        if (item.getAvailable() == null) {
+            return "Field 'available' is required.";
+        }
+        if (item.getRequestId() != null
+                && !knownRequests.computeIfAbsent(item.getRequestId(), itemRequestRepository::existsById)) {
+            return "Item request not found with ID: " + item.getRequestId();
+        }
+        return null;
+    }
+
+    /**
+     * Stores the chunk in one transaction or, if the database refuses it, each half in turn.
+     *
+     * @return whether any row of the chunk was stored
+     */
+    private boolean store(Long ownerId, List<Row> chunk, Report report) {
+        if (chunk.isEmpty()) {
+            return false;
+        }
+        try {
+            transaction.executeWithoutResult(status -> jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                LocalDateTime now = LocalDateTime.now();
+                if (connection.isWrapperFor(PGConnection.class)) {
+                    copy(connection.unwrap(PGConnection.class), ownerId, chunk, now);
+                } else {
+                    insert(connection, ownerId, chunk, now);
+                }
+                return null;
+            }));
+        } catch (DataAccessException | TransactionException e) {
+            if (chunk.size() > 1) {
+                int half = chunk.size() / 2;
+                boolean stored = store(ownerId, chunk.subList(0, half), report);
+                return store(ownerId, chunk.subList(half, chunk.size()), report) || stored;
+            }
+            Row row = chunk.get(0);
+            log.debug("Import row {} of owner {} could not be stored", row.number, ownerId, e);
+            report.fail(row.number, "Row could not be stored: "
+                    + NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+            return false;
+        }
+        report.imported += chunk.size();
+        searchCache.invalidate(chunk.stream()
+                .map(row -> row.item.getName() + " " + row.item.getDescription())
+                .toArray(String[]::new));
+        return true;
+    }
+
+    private static void copy(PGConnection connection, Long ownerId, List<Row> chunk,
+                             LocalDateTime now) throws SQLException {
+        CopyIn copyIn = connection.getCopyAPI().copyIn(COPY_SQL);
+        try {
+            StringBuilder line = new StringBuilder();
+            for (Row row : chunk) {
+                line.setLength(0);
+                appendQuoted(line, row.item.getName()).append(',');
+                appendQuoted(line, row.item.getDescription()).append(',');
+                line.append(row.item.getAvailable()).append(',').append(ownerId).append(',');
+                if (row.item.getRequestId() != null) {
+                    line.append(row.item.getRequestId());
+                }
+                byte[] bytes = line.append(",0,0,").append(now).append('\n').toString()
+                        .getBytes(StandardCharsets.UTF_8);
+                copyIn.writeToCopy(bytes, 0, bytes.length);
+            }
+            copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    private static StringBuilder appendQuoted(StringBuilder line, String value) {
+        return line.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+
+    private static void insert(Connection connection, Long ownerId, List<Row> chunk,
+                               LocalDateTime now) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL)) {
+            for (Row row : chunk) {
+                statement.setString(1, row.item.getName());
+                statement.setString(2, row.item.getDescription());
+                statement.setBoolean(3, row.item.getAvailable());
+                statement.setLong(4, ownerId);
+                if (row.item.getRequestId() != null) {
+                    statement.setLong(5, row.item.getRequestId());
+                } else {
+                    statement.setNull(5, Types.BIGINT);
+                }
+                statement.setTimestamp(6, Timestamp.valueOf(now));
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private static final class Row {
+        private final long number;
+        private final ItemDto item;
+        private final String error;
+
+        private Row(long number, ItemDto item, String error) {
+            this.number = number;
+            this.item = item;
+            this.error = error;
+        }
+    }
+
+    /**
+     * Yields rows in order and {@code null} at the end of the body. A row without an item is to be skipped; a row
+     * with an error is to be reported.
+     */
+    private interface RowSource {
+        Row next() throws IOException;
+    }
+
+    private static String tooLong(int maxRecordLength) {
+        return "Record must be at most " + maxRecordLength + " characters.";
+    }
+
+    private static final class NdjsonRows implements RowSource {
+        private final BufferedReader in;
+        private final ObjectReader reader;
+        private final int maxRecordLength;
+        private final StringBuilder line = new StringBuilder();
+        private long number;
+
+        private NdjsonRows(BufferedReader in, ObjectReader reader, int maxRecordLength) {
+            this.in = in;
+            this.reader = reader;
+            this.maxRecordLength = maxRecordLength;
+        }
+
+        @Override
+        public Row next() throws IOException {
+            line.setLength(0);
+            boolean read = false;
+            boolean oversized = false;
+            int c;
+            while ((c = in.read()) != -1 && c != '\n') {
+                read = true;
+                if (line.length() < maxRecordLength) {
+                    line.append((char) c);
+                } else if (c != '\r') {
+                    oversized = true;
+                }
+            }
+            if (!read && c == -1) {
+                return null;
+            }
+            number++;
+            if (oversized) {
+                return new Row(number, new ItemDto(), tooLong(maxRecordLength));
+            }
+            String text = line.toString();
+            if (text.isBlank()) {
+                return new Row(number, null, null);
+            }
+            try {
+                ItemDto item = reader.readValue(text);
+                return item != null ? new Row(number, item, null)
+                        : new Row(number, new ItemDto(), "Row must be a JSON object.");
+            } catch (JsonProcessingException e) {
+                return new Row(number, new ItemDto(), "Malformed JSON: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    /**
+     * RFC 4180 records with a header naming the columns name, description, available and optionally requestId, in
+     * any order. Quoted fields may contain commas, quotes and line breaks.
+     */
+    private static final class CsvRows implements RowSource {
+        private final BufferedReader in;
+        private final int maxRecordLength;
+        private final Map<String, Integer> columns = new HashMap<>();
+        private boolean oversized;
+        private long number;
+
+        private CsvRows(BufferedReader in, int maxRecordLength) throws IOException {
+            this.in = in;
+            this.maxRecordLength = maxRecordLength;
+            List<String> header = readRecord();
+            if (header == null) {
+                throw new BadRequestException("CSV header is missing.");
+            }
+            if (oversized) {
+                throw new BadRequestException("CSV header: " + tooLong(maxRecordLength));
+            }
+            number++;
+            for (int i = 0; i < header.size(); i++) {
+                columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+            }
+            for (String required : List.of("name", "description", "available")) {
+                if (!columns.containsKey(required)) {
+                    throw new BadRequestException("CSV header must contain column '" + required + "'.");
+                }
+            }
+        }
+
+        @Override
+        public Row next() throws IOException {
+            List<String> fields = readRecord();
+            if (fields == null) {
+                return null;
+            }
+            number++;
+            if (oversized) {
+                return new Row(number, new ItemDto(), tooLong(maxRecordLength));
+            }
+            if (fields.size() == 1 && fields.get(0).isBlank()) {
+                return new Row(number, null, null);
+            }
+            ItemDto item = new ItemDto();
+            if (fields.size() != columns.size()) {
+                return new Row(number, item, "Expected " + columns.size() + " fields but found " + fields.size() + ".");
+            }
+            item.setName(fields.get(columns.get("name")));
+            item.setDescription(fields.get(columns.get("description")));
+            String available = fields.get(columns.get("available")).trim();
+            if (available.equalsIgnoreCase("true") || available.equalsIgnoreCase("false")) {
+                item.setAvailable(Boolean.parseBoolean(available));
+            } else if (!available.isEmpty()) {
+                return new Row(number, item, "Field 'available' must be true or false.");
+            }
+            Integer requestColumn = columns.get("requestid");
+            if (requestColumn != null && !fields.get(requestColumn).isBlank()) {
+                try {
+                    item.setRequestId(Long.parseLong(fields.get(requestColumn).trim()));
+                } catch (NumberFormatException e) {
+                    return new Row(number, item, "Field 'requestId' must be a number.");
+                }
+            }
+            return new Row(number, item, null);
+        }
+
+        /**
+         * Reads to the end of the next record. Past {@code maxRecordLength} characters the record is still parsed to
+         * find its end, but nothing more is kept and {@link #oversized} is set.
+         */
+        private List<String> readRecord() throws IOException {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            boolean read = false;
+            int length = 0;
+            oversized = false;
+            int c;
+            while ((c = in.read()) != -1) {
+                read = true;
+                if (++length > maxRecordLength && c != '\n' && c != '\r') {
+                    oversized = true;
+                    fields.clear();
+                    field.setLength(0);
+                }
+                if (quoted) {
+                    if (c != '"') {
+                        append(field, (char) c);
+                        continue;
+                    }
+                    in.mark(1);
+                    int next = in.read();
+                    if (next == '"') {
+                        append(field, '"');
+                    } else {
+                        quoted = false;
+                        if (next != -1) {
+                            in.reset();
+                        }
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    if (!oversized) {
+                        fields.add(field.toString());
+                        field.setLength(0);
+                    }
+                } else if (c == '\n') {
+                    break;
+                } else if (c != '\r') {
+                    append(field, (char) c);
+                }
+            }
+            if (!read) {
+                return null;
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+
+        private void append(StringBuilder field, char c) {
+            if (!oversized) {
+                field.append(c);
+            }
+        }
+    }
+
+    private static final class Report {
+        private final int maxErrors;
+        private final List<ItemImportErrorDto> errors = new ArrayList<>();
+        private long imported;
+        private long failed;
+
+        private Report(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        private void fail(long row, String message) {
+            failed++;
+            if (errors.size() < maxErrors) {
+                errors.add(new ItemImportErrorDto(row, message));
+            }
+        }
+
+        private ItemImportReportDto toDto() {
+            return new ItemImportReportDto(imported, failed, errors, failed > errors.size());
+        }
+    }
+}
@@ -16,6 +16,7 @@ public class ItemMapper {
         itemDto.setOwnerId(item.getOwner() != null ? item.getOwner().getId() : null);
         itemDto.setIsRequest(item.getRequest() != null);
         itemDto.setRequestId(item.getRequest() != null ? item.getRequest().getId() : null);
+        itemDto.setCommentCount(item.getCommentCount());
         return itemDto;
     }
 
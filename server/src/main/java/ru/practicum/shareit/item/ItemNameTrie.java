@@ -0,0 +1,302 @@
+package ru.practicum.shareit.item;
+
+import ru.practicum.shareit.item.dto.ItemSuggestionDto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Radix trie of item names for prefix suggestions. Every name is inserted once from each word start, so "dri" finds
+ * "Cordless drill". Edges carry whole labels rather than single characters, so a key adds at most one leaf and one
+ * split node however long it is. Each node keeps the best {@code topK} entries of its subtree, at most one per item,
+ * so a lookup is a walk down the prefix plus a copy of that list.
+ * <p>
+ * Entries rank names matched from their first word first, then shorter names, then alphabetically and by id.
+ * Inserting an entry offers it to every node on its path; removing one recomputes only the lists on its path that
+ * contained it, from the node's own entries and its children's lists. Children are kept in sorted arrays by the
+ * first character of their label; empty branches are pruned and a node left with a single child and no entries of
+ * its own is merged into it, so the trie stays compact. Not thread-safe; {@link ItemSearchIndex} guards it.
+ */
+public final class ItemNameTrie {
+    /**
+     * Longer keys add depth but no useful suggestions.
+     */
+    private static final int MAX_KEY_LENGTH = 64;
+    private static final Comparator<Entry> RANK = Comparator.comparing((Entry entry) -> entry.wordIndex > 0)
+            .thenComparingInt(entry -> entry.name.length())
+            .thenComparing(entry -> entry.name, String.CASE_INSENSITIVE_ORDER)
+            .thenComparingLong(entry -> entry.itemId);
+
+    private final int topK;
+    private final Node root = new Node(null, "");
+    private int nodes = 1;
+
+    public ItemNameTrie(int topK) {
+        this.topK = topK;
+    }
+
+    public int nodeCount() {
+        return nodes;
+    }
+
+    public void add(long itemId, String name) {
+        List<String> keys = keysOf(name);
+        for (int wordIndex = 0; wordIndex < keys.size(); wordIndex++) {
+            Entry entry = new Entry(itemId, name, wordIndex);
+            Node node = insert(keys.get(wordIndex));
+            node.terminal.add(entry);
+            for (Node current = node; current != null; current = current.parent) {
+                offer(current, entry);
+            }
+        }
+    }
+
+    public void remove(long itemId, String name) {
+        List<String> keys = keysOf(name);
+        for (int wordIndex = 0; wordIndex < keys.size(); wordIndex++) {
+            Node node = find(keys.get(wordIndex), true);
+            if (node == null) {
+                continue;
+            }
+            int index = wordIndex;
+            node.terminal.removeIf(entry -> entry.itemId == itemId && entry.wordIndex == index);
+            for (Node current = node; current != null; current = current.parent) {
+                if (current.top.stream().anyMatch(entry -> entry.itemId == itemId)) {
+                    recompute(current);
+                }
+            }
+            compact(node);
+        }
+    }
+
+    public List<ItemSuggestionDto> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        Node node = find(key, false);
+        if (node == null) {
+            return List.of();
+        }
+        List<ItemSuggestionDto> result = new ArrayList<>(Math.min(limit, node.top.size()));
+        for (int i = 0; i < node.top.size() && i < limit; i++) {
+            Entry entry = node.top.get(i);
+            result.add(new ItemSuggestionDto(entry.itemId, entry.name));
+        }
+        return result;
+    }
+
+    /**
+     * The node for exactly {@code key}, splitting an edge or adding a leaf when it does not exist yet.
+     */
+    private Node insert(String key) {
+        Node node = root;
+        int offset = 0;
+        while (offset < key.length()) {
+            Node child = node.child(key.charAt(offset));
+            if (child == null) {
+                return node.addChild(new Node(node, key.substring(offset)));
+            }
+            int common = commonPrefix(child.label, key, offset);
+            if (common < child.label.length()) {
+                child = split(child, common);
+            }
+            node = child;
+            offset += common;
+        }
+        return node;
+    }
+
+    /**
+     * Cuts the edge into {@code node} after {@code length} characters. The new upper node covers the same subtree,
+     * so it starts with the same suggestions.
+     */
+    private Node split(Node node, int length) {
+        Node parent = node.parent;
+        Node upper = new Node(parent, node.label.substring(0, length));
+        upper.top.addAll(node.top);
+        parent.replaceChild(node, upper);
+        node.label = node.label.substring(length);
+        node.parent = upper;
+        upper.addChild(node);
+        return upper;
+    }
+
+    /**
+     * The node for exactly {@code key}, or, unless {@code exact}, the topmost node whose path extends it.
+     */
+    private Node find(String key, boolean exact) {
+        Node node = root;
+        int offset = 0;
+        while (offset < key.length()) {
+            Node child = node.child(key.charAt(offset));
+            if (child == null) {
+                return null;
+            }
+            int common = commonPrefix(child.label, key, offset);
+            if (common < child.label.length()) {
+                return !exact && offset + common == key.length() ? child : null;
+            }
+            node = child;
+            offset += common;
+        }
+        return node;
+    }
+
+    private static int commonPrefix(String label, String key, int offset) {
+        int length = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < length && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private void offer(Node node, Entry entry) {
+        List<Entry> top = node.top;
+        for (int i = 0; i < top.size(); i++) {
+            if (top.get(i).itemId == entry.itemId) {
+                if (RANK.compare(entry, top.get(i)) >= 0) {
+                    return;
+                }
+                top.remove(i);
+                break;
+            }
+        }
+        int position = 0;
+        while (position < top.size() && RANK.compare(top.get(position), entry) < 0) {
+            position++;
+        }
+        if (position < topK) {
+            top.add(position, entry);
+            if (top.size() > topK) {
+                top.remove(top.size() - 1);
+            }
+        }
+    }
+
+    private void recompute(Node node) {
+        Map<Long, Entry> best = new HashMap<>();
+        List<Entry> candidates = new ArrayList<>(node.terminal);
+        for (int i = 0; i < node.size; i++) {
+            candidates.addAll(node.children[i].top);
+        }
+        for (Entry entry : candidates) {
+            best.merge(entry.itemId, entry, (left, right) -> RANK.compare(left, right) <= 0 ? left : right);
+        }
+        node.top.clear();
+        best.values().stream().sorted(RANK).limit(topK).forEach(node.top::add);
+    }
+
+    /**
+     * Prunes empty nodes upwards from {@code node}, then merges the first node left with no entries of its own and a
+     * single child into that child, restoring the shape the trie had before the key was inserted.
+     */
+    private void compact(Node node) {
+        Node current = node;
+        while (current.parent != null && current.size == 0 && current.terminal.isEmpty()) {
+            current.parent.removeChild(current);
+            nodes--;
+            current = current.parent;
+        }
+        if (current.parent != null && current.size == 1 && current.terminal.isEmpty()) {
+            Node child = current.children[0];
+            child.label = current.label + child.label;
+            child.parent = current.parent;
+            current.parent.replaceChild(current, child);
+            nodes--;
+        }
+    }
+
+    /**
+     * The normalized name from each word start, so every word can begin a suggestion.
+     */
+    private static List<String> keysOf(String name) {
+        String normalized = normalize(name);
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < normalized.length(); i++) {
+            boolean wordStart = Character.isLetterOrDigit(normalized.charAt(i))
+                    && (i == 0 || !Character.isLetterOrDigit(normalized.charAt(i - 1)));
+            if (wordStart) {
+                keys.add(normalized.substring(i, Math.min(normalized.length(), i + MAX_KEY_LENGTH)));
+            }
+        }
+        return keys;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT).trim().replaceAll("\\s+", " ");
+    }
+
+    private static final class Entry {
+        private final long itemId;
+        private final String name;
+        private final int wordIndex;
+
+        private Entry(long itemId, String name, int wordIndex) {
+            this.itemId = itemId;
+            this.name = name;
+            this.wordIndex = wordIndex;
+        }
+    }
+
+    private final class Node {
+        private Node parent;
+        private String label;
+        private char[] firsts = new char[0];
+        private Node[] children = new Node[0];
+        private int size;
+        private final List<Entry> terminal = new ArrayList<>(1);
+        private final List<Entry> top = new ArrayList<>(1);
+
+        private Node(Node parent, String label) {
+            this.parent = parent;
+            this.label = label;
+        }
+
+        private Node child(char first) {
+            int index = Arrays.binarySearch(firsts, 0, size, first);
+            return index >= 0 ? children[index] : null;
+        }
+
+        private Node addChild(Node child) {
+            char first = child.label.charAt(0);
+            int position = -Arrays.binarySearch(firsts, 0, size, first) - 1;
+            if (size == firsts.length) {
+                int capacity = Math.max(2, size * 2);
+                firsts = Arrays.copyOf(firsts, capacity);
+                children = Arrays.copyOf(children, capacity);
+            }
+            System.arraycopy(firsts, position, firsts, position + 1, size - position);
+            System.arraycopy(children, position, children, position + 1, size - position);
+            firsts[position] = first;
+            children[position] = child;
+            size++;
+            nodes++;
+            return child;
+        }
+
+        /**
+         * Puts {@code replacement}, whose label starts with the same character, in place of {@code child}.
+         */
+        private void replaceChild(Node child, Node replacement) {
+            children[Arrays.binarySearch(firsts, 0, size, child.label.charAt(0))] = replacement;
+        }
+
+        private void removeChild(Node child) {
+            int index = Arrays.binarySearch(firsts, 0, size, child.label.charAt(0));
+            if (index < 0) {
+                return;
+            }
+            System.arraycopy(firsts, index + 1, firsts, index, size - index - 1);
+            System.arraycopy(children, index + 1, children, index, size - index - 1);
+            size--;
+            children[size] = null;
+        }
+    }
+}
@@ -1,12 +1,54 @@
 package ru.practicum.shareit.item;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.item.model.Item;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
-public interface ItemRepository extends JpaRepository<Item, Long> {
+public interface ItemRepository extends JpaRepository<Item, Long>, ItemSearchRepository {
     List<Item> findByOwnerId(Long ownerId);
 
-    List<Item> findByAvailableAndNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase(Boolean available, String name, String description);
+    List<Item> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    /**
+     * Items inserted or updated after the (updated, id) position, in that order; read from idx_items_updated.
+     */
+    @Query("SELECT i FROM Item i WHERE i.updated > :updated OR (i.updated = :updated AND i.id > :id) " +
+            "ORDER BY i.updated, i.id")
+    List<Item> findUpdatedAfter(@Param("updated") LocalDateTime updated, @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT COALESCE(MAX(i.id), 0) FROM Item i")
+    long findMaxId();
+
+    /**
+     * Locks the rows of the items until the transaction ends, in id order, so booking writers on different server
+     * instances are serialized per item too.
+     */
+    @Query(value = "SELECT id FROM items WHERE id IN (:ids) ORDER BY id FOR UPDATE", nativeQuery = true)
+    List<Long> lockByIds(@Param("ids") Collection<Long> ids);
+
+    List<Item> findByAvailableTrueAndNameStartingWithIgnoreCaseOrderByNameAscIdAsc(String prefix, Pageable pageable);
+
+    /**
+     * Available items matching a tsquery over the generated search_vector column (GIN-indexed), best match first.
+     * Name words weigh more than description words.
+     */
+    @Query(value = "SELECT i.* FROM items i, to_tsquery('simple', :query) q " +
+            "WHERE i.available = true AND i.search_vector @@ q " +
+            "ORDER BY ts_rank(i.search_vector, q) DESC, i.id", nativeQuery = true)
+    List<Item> searchAvailableFullText(@Param("query") String query, Pageable pageable);
+
+    /**
+     * Atomic increment of the denormalized comment count; leaves the version alone, as the item itself is unchanged,
+     * but moves {@code updated} so other instances evict their cached details.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Item i SET i.commentCount = i.commentCount + 1, i.updated = :now WHERE i.id = :itemId")
+    int incrementCommentCount(@Param("itemId") Long itemId, @Param("now") LocalDateTime now);
 }
@@ -0,0 +1,98 @@
+package ru.practicum.shareit.item;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.cache.StampedLruCache;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Cache of search result pages, evicted by the texts of written items rather than by key.
+ */
+@Component
+public class ItemSearchCache {
+    private final boolean enabled;
+    private final Duration ttl;
+    private final StampedLruCache<String, Entry> cache;
+
+    public ItemSearchCache(@Value("${shareit.item.search.cache.enabled:true}") boolean enabled,
+                           @Value("${shareit.item.search.cache.size:1000}") int maxEntries,
+                           @Value("${shareit.item.search.cache.ttl-ms:60000}") long ttlMillis,
+                           MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.ttl = Duration.ofMillis(ttlMillis);
+        this.cache = new StampedLruCache<>("shareit.item.search.cache", maxEntries, meterRegistry);
+    }
+
+    public static String key(List<String> tokens, boolean fuzzy, int offset, int limit) {
+        return String.join(" ", tokens) + "|" + fuzzy + "|" + offset + "|" + limit;
+    }
+
+    public long generation() {
+        return cache.generation();
+    }
+
+    public List<ItemDto> get(String key, LocalDateTime now) {
+        if (!enabled) {
+            return null;
+        }
+        Entry entry = cache.get(key, now);
+        return entry == null ? null : entry.page;
+    }
+
+    public void put(String key, List<String> tokens, boolean fuzzy, long stamp, List<ItemDto> page,
+                    LocalDateTime now) {
+        if (enabled) {
+            cache.put(key, stamp, new Entry(List.copyOf(tokens), fuzzy, List.copyOf(page)), now.plus(ttl));
+        }
+    }
+
+    /**
+     * Evicts the pages an item with the given texts (typically the name and description before and after a change)
+     * can appear in, whether or not it is available.
+     */
+    public void invalidate(String... texts) {
+        if (!enabled) {
+            return;
+        }
+        List<String> lowered = List.of(texts).stream()
+                .filter(Objects::nonNull)
+                .map(text -> text.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toList());
+        cache.invalidateIf(entry -> lowered.stream().anyMatch(text -> matchesAll(text, entry)));
+    }
+
+    private static boolean matchesAll(String text, Entry entry) {
+        List<String> words = entry.fuzzy ? SearchQuery.tokens(text) : List.of();
+        for (String token : entry.tokens) {
+            if (!text.contains(token) && words.stream().noneMatch(word -> isSimilar(token, word))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSimilar(String token, String word) {
+        int maxEdits = EditDistance.maxEdits(token.length());
+        return maxEdits > 0 && EditDistance.distance(token, word, maxEdits) <= maxEdits;
+    }
+
+    private static final class Entry {
+        private final List<String> tokens;
+        private final boolean fuzzy;
+        private final List<ItemDto> page;
+
+        private Entry(List<String> tokens, boolean fuzzy, List<ItemDto> page) {
+            this.tokens = tokens;
+            this.fuzzy = fuzzy;
+            this.page = page;
+        }
+    }
+}
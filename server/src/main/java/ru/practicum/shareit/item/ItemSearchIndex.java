@@ -0,0 +1,590 @@
+package ru.practicum.shareit.item;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemSuggestionDto;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory inverted index over item name and description, answering item search without a database round-trip.
+ * <p>
+ * Every word of an item is posted under itself and under each of its substrings of one to three characters. A query
+ * token of three or more characters is looked up by intersecting the posting lists of its trigrams, a shorter one by
+ * its own posting list; the candidates of all tokens are intersected smallest list first and then verified against
+ * the text,
+ * so a match means every token occurs as a substring of the name or the description, as in the database search.
+ * Results put items matching more tokens in their name first, then order by id.
+ * <p>
+ * The index is built page by page once the application is ready and kept current by {@link #index(Item)} from
+ * addItem/updateItem. Until the build finishes {@link #isReady()} is false and search goes to the database. Entries
+ * carry the item version, so a build page read before a concurrent update cannot overwrite it; a change made inside
+ * a transaction that rolls back is undone. The index is local to one server instance; writes made through other
+ * instances are picked up by {@link #catchUp()} every {@code shareit.item.search.index.catch-up-ms}, which rereads the
+ * items updated since its previous run. It looks back a further {@code shareit.item.search.index.catch-up-lookback-ms}
+ * to cover transactions that commit late and clock skew between instances, and evicts the caught up items from the
+ * {@link ItemDetailCache} and {@link ItemSearchCache} of this instance.
+ * <p>
+ * Names of available items also feed an {@link ItemNameTrie} for prefix suggestions.
+ * <p>
+ * Size, build time and caught up changes are published as {@code shareit.item.search.index.items},
+ * {@code shareit.item.search.index.terms}, {@code shareit.item.suggest.nodes},
+ * {@code shareit.item.search.index.build} and {@code shareit.item.search.index.caught.up}.
+ */
+@Component
+public class ItemSearchIndex {
+    private static final Logger log = LoggerFactory.getLogger(ItemSearchIndex.class);
+    private static final int GRAM = 3;
+    /**
+     * Two word boundary marks for fuzzy trigrams; never part of a token.
+     */
+    private static final String PAD = "\u0001\u0001";
+
+    private final ItemRepository itemRepository;
+    private final ItemDetailCache detailCache;
+    private final ItemSearchCache searchCache;
+    private final boolean enabled;
+    private final int buildBatchSize;
+    private final Duration catchUpLookback;
+    private final Timer buildTimer;
+    private final Counter caughtUp;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, IndexedItem> items = new HashMap<>();
+    private final Map<String, Set<Long>> words = new HashMap<>();
+    private final Map<String, Set<Long>> grams = new HashMap<>();
+    private final Map<String, Set<String>> wordGrams = new HashMap<>();
+    private final ItemNameTrie names;
+    private volatile boolean ready;
+    private volatile LocalDateTime caughtUpTo;
+
+    public ItemSearchIndex(ItemRepository itemRepository,
+                           ItemDetailCache detailCache,
+                           ItemSearchCache searchCache,
+                           @Value("${shareit.item.search.index.enabled:true}") boolean enabled,
+                           @Value("${shareit.item.search.index.build-batch-size:1000}") int buildBatchSize,
+                           @Value("${shareit.item.suggest.max-results:10}") int maxSuggestions,
+                           @Value("${shareit.item.search.index.catch-up-lookback-ms:60000}") long catchUpLookbackMillis,
+                           MeterRegistry meterRegistry) {
+        this.itemRepository = itemRepository;
+        this.detailCache = detailCache;
+        this.searchCache = searchCache;
+        this.names = new ItemNameTrie(maxSuggestions);
+        this.enabled = enabled;
+        this.buildBatchSize = buildBatchSize;
+        this.catchUpLookback = Duration.ofMillis(catchUpLookbackMillis);
+        this.buildTimer = Timer.builder("shareit.item.search.index.build")
+                .description("Time to build the item search index from the database")
+                .register(meterRegistry);
+        this.caughtUp = Counter.builder("shareit.item.search.index.caught.up")
+                .description("Item changes made through other instances and applied by the catch-up")
+                .register(meterRegistry);
+        Gauge.builder("shareit.item.search.index.items", this, index -> index.read(index.items::size))
+                .description("Items held by the search index")
+                .register(meterRegistry);
+        Gauge.builder("shareit.item.search.index.terms", this,
+                        index -> index.read(() -> index.words.size() + index.grams.size()))
+                .description("Distinct words and grams of up to three characters with a posting list")
+                .register(meterRegistry);
+        Gauge.builder("shareit.item.suggest.nodes", this, index -> index.read(index.names::nodeCount))
+                .description("Nodes of the item name suggestion trie")
+                .register(meterRegistry);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        if (!enabled) {
+            return;
+        }
+        caughtUpTo = LocalDateTime.now();
+        long started = System.nanoTime();
+        load(0);
+        int loaded = read(items::size);
+        long elapsed = System.nanoTime() - started;
+        buildTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        ready = true;
+        log.info("Item search index built: {} items in {} ms", loaded, TimeUnit.NANOSECONDS.toMillis(elapsed));
+    }
+
+    /**
+     * Indexes every committed item with an id above {@code lastId}, for rows inserted without going through
+     * {@link #index(Item)}, such as a bulk import.
+     *
+     * @return the highest id indexed, or {@code lastId} if there was none, to pass to the next call
+     */
+    public long indexAfter(long lastId) {
+        return enabled ? load(lastId) : lastId;
+    }
+
+    /**
+     * Applies items inserted or updated since the previous run, typically through another server instance. Entries
+     * already at the stored version and update time are left alone, so rereading the lookback window is cheap; an item whose
+     * {@code updated} moved without a new version, such as on a new comment, is refreshed without counting as applied.
+     *
+     * @return number of entries added or replaced
+     */
+    @Scheduled(fixedDelayString = "${shareit.item.search.index.catch-up-ms:5000}",
+            initialDelayString = "${shareit.item.search.index.catch-up-ms:5000}")
+    public int catchUp() {
+        if (!enabled || !ready) {
+            return 0;
+        }
+        LocalDateTime runStarted = LocalDateTime.now();
+        LocalDateTime cursorUpdated = caughtUpTo.minus(catchUpLookback);
+        long cursorId = 0;
+        int applied = 0;
+        List<Item> batch;
+        do {
+            batch = itemRepository.findUpdatedAfter(cursorUpdated, cursorId, PageRequest.of(0, buildBatchSize));
+            List<IndexedItem> snapshots = batch.stream().map(IndexedItem::new).collect(Collectors.toList());
+            List<Long> changedIds = new ArrayList<>();
+            List<String> changedTexts = new ArrayList<>();
+            applied += write(() -> (int) snapshots.stream()
+                    .filter(snapshot -> catchUp(snapshot, changedIds, changedTexts))
+                    .count());
+            changedIds.forEach(detailCache::invalidate);
+            if (!changedTexts.isEmpty()) {
+                searchCache.invalidate(changedTexts.toArray(String[]::new));
+            }
+            if (!batch.isEmpty()) {
+                Item last = batch.get(batch.size() - 1);
+                cursorUpdated = last.getUpdated();
+                cursorId = last.getId();
+            }
+        } while (batch.size() == buildBatchSize);
+        caughtUpTo = runStarted;
+        caughtUp.increment(applied);
+        return applied;
+    }
+
+    private long load(long lastId) {
+        List<Item> batch;
+        do {
+            batch = itemRepository.findByIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, buildBatchSize));
+            List<IndexedItem> snapshots = batch.stream().map(IndexedItem::new).collect(Collectors.toList());
+            write(() -> {
+                snapshots.forEach(this::putIfNotOlder);
+                return null;
+            });
+            if (!batch.isEmpty()) {
+                lastId = batch.get(batch.size() - 1).getId();
+            }
+        } while (batch.size() == buildBatchSize);
+        return lastId;
+    }
+
+    /**
+     * Adds or replaces the entry of a saved item. Inside a transaction the previous entry is restored on rollback.
+     */
+    public void index(Item item) {
+        if (!enabled) {
+            return;
+        }
+        IndexedItem indexed = new IndexedItem(item);
+        IndexedItem previous = write(() -> {
+            IndexedItem current = items.get(indexed.id);
+            putIfNotOlder(indexed);
+            return current;
+        });
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        restore(indexed, previous);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Page of available items containing every token in their name or description. In fuzzy mode a token also
+     * matches an item word within {@link EditDistance#maxEdits(int)} edits; such words come from trigram candidates
+     * over the vocabulary, never from comparing the token with every word. Fewer edits rank first.
+     *
+     * @param tokens lower-case search tokens, see {@link SearchQuery#tokens(String)}
+     */
+    public List<ItemDto> search(List<String> tokens, boolean fuzzy, int offset, int limit) {
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        List<IndexedItem> page = read(() -> {
+            List<Map<String, Integer>> similar = tokens.stream()
+                    .map(token -> fuzzy ? similarWords(token) : Map.<String, Integer>of())
+                    .collect(Collectors.toList());
+            List<Match> matches = new ArrayList<>();
+            for (Long id : candidates(tokens, similar)) {
+                IndexedItem item = items.get(id);
+                if (!item.available) {
+                    continue;
+                }
+                int nameHits = 0;
+                int edits = 0;
+                boolean all = true;
+                for (int i = 0; i < tokens.size() && all; i++) {
+                    String token = tokens.get(i);
+                    if (item.nameKey.contains(token)) {
+                        nameHits++;
+                    } else if (!item.descriptionKey.contains(token)) {
+                        int best = closest(item, similar.get(i));
+                        all = best >= 0;
+                        edits += best;
+                    }
+                }
+                if (all) {
+                    matches.add(new Match(item, nameHits, edits));
+                }
+            }
+            return matches.stream()
+                    .sorted(Comparator.comparingInt((Match match) -> match.edits)
+                            .thenComparingInt(match -> -match.nameHits)
+                            .thenComparingLong(match -> match.item.id))
+                    .skip(offset)
+                    .limit(limit)
+                    .map(match -> match.item)
+                    .collect(Collectors.toList());
+        });
+        return page.stream().map(IndexedItem::toDto).collect(Collectors.toList());
+    }
+
+    /**
+     * Fewest edits of an item word to the token, or -1 if no word of the item is similar.
+     */
+    private static int closest(IndexedItem item, Map<String, Integer> similar) {
+        int best = -1;
+        for (Map.Entry<String, Integer> word : similar.entrySet()) {
+            if ((best < 0 || word.getValue() < best) && item.terms.contains(word.getKey())) {
+                best = word.getValue();
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Vocabulary words within the edit budget of {@code token}, with their distance. Candidates must share enough
+     * padded trigrams with the token (q-gram lemma: at least max(|a|, |b|) + 2 - 3d for d edits) before the banded
+     * distance is computed. Must hold the read lock.
+     */
+    private Map<String, Integer> similarWords(String token) {
+        int maxEdits = EditDistance.maxEdits(token.length());
+        if (maxEdits == 0) {
+            return Map.of();
+        }
+        List<String> tokenGrams = paddedGramsOf(token);
+        Set<String> distinct = new HashSet<>(tokenGrams);
+        int repeated = tokenGrams.size() - distinct.size();
+        Map<String, Integer> shared = new HashMap<>();
+        for (String gram : distinct) {
+            for (String word : wordGrams.getOrDefault(gram, Set.of())) {
+                shared.merge(word, 1, Integer::sum);
+            }
+        }
+
+        Map<String, Integer> result = new HashMap<>();
+        shared.forEach((word, count) -> {
+            int required = Math.max(token.length(), word.length()) + 2 - 3 * maxEdits - repeated;
+            if (count >= required) {
+                int distance = EditDistance.distance(token, word, maxEdits);
+                if (distance <= maxEdits) {
+                    result.put(word, distance);
+                }
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Up to {@code limit} available items with a name word starting with {@code prefix}, best first; see
+     * {@link ItemNameTrie}.
+     */
+    public List<ItemSuggestionDto> suggest(String prefix, int limit) {
+        return read(() -> names.suggest(prefix, limit));
+    }
+
+    /**
+     * Intersection of the posting lists of all tokens, smallest first. A token with similar words contributes the
+     * union of its own candidates and their postings. Must hold the read lock.
+     */
+    private Set<Long> candidates(List<String> tokens, List<Map<String, Integer>> similar) {
+        List<Set<Long>> postings = new ArrayList<>();
+        for (int i = 0; i < tokens.size(); i++) {
+            List<Set<Long>> exact = exactPostings(tokens.get(i));
+            if (similar.get(i).isEmpty()) {
+                postings.addAll(exact);
+                continue;
+            }
+            Set<Long> union = intersect(exact);
+            similar.get(i).keySet().forEach(word -> union.addAll(words.get(word)));
+            postings.add(union);
+        }
+        return intersect(postings);
+    }
+
+    /**
+     * Posting lists whose intersection holds every item with {@code token} as a substring of one of its words.
+     */
+    private List<Set<Long>> exactPostings(String token) {
+        if (token.length() >= GRAM) {
+            return gramsOf(token, GRAM).stream()
+                    .map(gram -> grams.getOrDefault(gram, Set.of()))
+                    .collect(Collectors.toList());
+        }
+        return List.of(grams.getOrDefault(token, Set.of()));
+    }
+
+    private static Set<Long> intersect(List<Set<Long>> postings) {
+        List<Set<Long>> bySize = new ArrayList<>(postings);
+        bySize.sort(Comparator.comparingInt(Set::size));
+        Set<Long> result = new HashSet<>();
+        for (Long id : bySize.get(0)) {
+            boolean inAll = true;
+            for (int i = 1; i < bySize.size() && inAll; i++) {
+                inAll = bySize.get(i).contains(id);
+            }
+            if (inAll) {
+                result.add(id);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Must hold the write lock.
+     */
+    private void putIfNotOlder(IndexedItem indexed) {
+        IndexedItem current = items.get(indexed.id);
+        if (current == null || current.version <= indexed.version) {
+            replace(current, indexed);
+        }
+    }
+
+    /**
+     * Must hold the write lock. Collects the ids whose cached detail and the texts whose cached search pages are stale.
+     *
+     * @return whether the entry was added or replaced by a newer version
+     */
+    private boolean catchUp(IndexedItem indexed, List<Long> changedIds, List<String> changedTexts) {
+        IndexedItem current = items.get(indexed.id);
+        if (current != null && current.version > indexed.version) {
+            return false;
+        }
+        if (current != null && current.version == indexed.version) {
+            if (!indexed.updated.isAfter(current.updated)) {
+                return false;
+            }
+            replace(current, indexed);
+            changedIds.add(indexed.id);
+            changedTexts.add(indexed.name);
+            changedTexts.add(indexed.description);
+            return false;
+        }
+        if (current != null) {
+            changedTexts.add(current.name);
+            changedTexts.add(current.description);
+        }
+        replace(current, indexed);
+        changedIds.add(indexed.id);
+        changedTexts.add(indexed.name);
+        changedTexts.add(indexed.description);
+        return true;
+    }
+
+    private void replace(IndexedItem current, IndexedItem indexed) {
+        if (current != null) {
+            unpost(current);
+        }
+        items.put(indexed.id, indexed);
+        post(indexed);
+    }
+
+    private void restore(IndexedItem indexed, IndexedItem previous) {
+        write(() -> {
+            if (items.get(indexed.id) != indexed) {
+                return null;
+            }
+            unpost(indexed);
+            items.remove(indexed.id);
+            if (previous != null) {
+                items.put(previous.id, previous);
+                post(previous);
+            }
+            return null;
+        });
+    }
+
+    private void post(IndexedItem item) {
+        if (item.available) {
+            names.add(item.id, item.name);
+        }
+        for (String term : item.terms) {
+            words.computeIfAbsent(term, key -> {
+                paddedGramsOf(key).forEach(gram -> wordGrams.computeIfAbsent(gram, g -> new HashSet<>()).add(key));
+                return new HashSet<>();
+            }).add(item.id);
+            for (int length = 1; length <= GRAM; length++) {
+                for (String gram : gramsOf(term, length)) {
+                    grams.computeIfAbsent(gram, key -> new HashSet<>()).add(item.id);
+                }
+            }
+        }
+    }
+
+    private void unpost(IndexedItem item) {
+        if (item.available) {
+            names.remove(item.id, item.name);
+        }
+        for (String term : item.terms) {
+            if (removePosting(words, term, item.id)) {
+                paddedGramsOf(term).forEach(gram -> removePosting(wordGrams, gram, term));
+            }
+            for (int length = 1; length <= GRAM; length++) {
+                for (String gram : gramsOf(term, length)) {
+                    removePosting(grams, gram, item.id);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return whether the posting list became empty and was dropped
+     */
+    private static <T> boolean removePosting(Map<String, Set<T>> postings, String key, T value) {
+        Set<T> values = postings.get(key);
+        if (values != null && values.remove(value) && values.isEmpty()) {
+            postings.remove(key);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Trigrams of the term padded with boundary marks on each side, with repeats: |term| + 2 of them.
+     */
+    private static List<String> paddedGramsOf(String term) {
+        String padded = PAD + term + PAD;
+        List<String> result = new ArrayList<>(term.length() + 2);
+        for (int i = 0; i + GRAM <= padded.length(); i++) {
+            result.add(padded.substring(i, i + GRAM));
+        }
+        return result;
+    }
+
+    private static Set<String> gramsOf(String term, int length) {
+        Set<String> result = new LinkedHashSet<>();
+        for (int i = 0; i + length <= term.length(); i++) {
+            result.add(term.substring(i, i + length));
+        }
+        return result;
+    }
+
+    private <T> T read(Supplier<T> action) {
+        lock.readLock().lock();
+        try {
+            return action.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private <T> T write(Supplier<T> action) {
+        lock.writeLock().lock();
+        try {
+            return action.get();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Immutable snapshot of the searchable and returned fields of an item.
+     */
+    private static final class IndexedItem {
+        private final Long id;
+        private final String name;
+        private final String description;
+        private final boolean available;
+        private final Long ownerId;
+        private final Long requestId;
+        private final long version;
+        private final long commentCount;
+        private final LocalDateTime updated;
+        private final String nameKey;
+        private final String descriptionKey;
+        private final Set<String> terms;
+
+        private IndexedItem(Item item) {
+            this.id = item.getId();
+            this.name = item.getName();
+            this.description = item.getDescription();
+            this.available = Boolean.TRUE.equals(item.getAvailable());
+            this.ownerId = item.getOwner() != null ? item.getOwner().getId() : null;
+            this.requestId = item.getRequest() != null ? item.getRequest().getId() : null;
+            this.version = item.getVersion() != null ? item.getVersion() : 0;
+            this.commentCount = item.getCommentCount() != null ? item.getCommentCount() : 0;
+            this.updated = item.getUpdated() != null ? item.getUpdated() : LocalDateTime.MIN;
+            this.nameKey = name == null ? "" : name.toLowerCase(Locale.ROOT);
+            this.descriptionKey = description == null ? "" : description.toLowerCase(Locale.ROOT);
+            this.terms = new HashSet<>(SearchQuery.tokens(name));
+            this.terms.addAll(SearchQuery.tokens(description));
+        }
+
+        private ItemDto toDto() {
+            ItemDto itemDto = new ItemDto();
+            itemDto.setId(id);
+            itemDto.setName(name);
+            itemDto.setDescription(description);
+            itemDto.setAvailable(available);
+            itemDto.setOwnerId(ownerId);
+            itemDto.setIsRequest(requestId != null);
+            itemDto.setRequestId(requestId);
+            itemDto.setCommentCount(commentCount);
+            return itemDto;
+        }
+    }
+
+    private static final class Match {
+        private final IndexedItem item;
+        private final int nameHits;
+        private final int edits;
+
+        private Match(IndexedItem item, int nameHits, int edits) {
+            this.item = item;
+            this.nameHits = nameHits;
+            this.edits = edits;
+        }
+    }
+}
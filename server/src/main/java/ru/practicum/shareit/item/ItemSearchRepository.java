@@ -0,0 +1,17 @@
+package ru.practicum.shareit.item;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+public interface ItemSearchRepository {
+    /**
+     * Available items whose name or description contains every token, items matching more tokens in their name
+     * first, as in {@link ItemSearchIndex}. Portable fallback for databases without the search_vector column; the
+     * leading wildcards cannot use an index.
+     *
+     * @param tokens lower-case search tokens, see {@link SearchQuery#tokens(String)}
+     */
+    List<Item> searchAvailable(List<String> tokens, Pageable pageable);
+}
@@ -0,0 +1,40 @@
+package ru.practicum.shareit.item;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ItemSearchRepositoryImpl implements ItemSearchRepository {
+    private final EntityManager entityManager;
+
+    public ItemSearchRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<Item> searchAvailable(List<String> tokens, Pageable pageable) {
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        List<String> matches = new ArrayList<>();
+        List<String> nameHits = new ArrayList<>();
+        for (int i = 0; i < tokens.size(); i++) {
+            String token = ":token" + i;
+            matches.add("(LOWER(i.name) LIKE " + token + " OR LOWER(i.description) LIKE " + token + ")");
+            nameHits.add("CASE WHEN LOWER(i.name) LIKE " + token + " THEN 1 ELSE 0 END");
+        }
+        TypedQuery<Item> query = entityManager.createQuery("SELECT i FROM Item i WHERE i.available = true AND " +
+                String.join(" AND ", matches) +
+                " ORDER BY " + String.join(" + ", nameHits) + " DESC, i.id", Item.class);
+        for (int i = 0; i < tokens.size(); i++) {
+            query.setParameter("token" + i, "%" + tokens.get(i) + "%");
+        }
+        return query.setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+    }
+}
@@ -1,8 +1,12 @@
 package ru.practicum.shareit.item;
 
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.CommentPageDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemSuggestionDto;
+import ru.practicum.shareit.item.dto.TimeSlotDto;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemService {
@@ -14,8 +18,14 @@ public interface ItemService {
 
     List<ItemDto> getItemsByOwner(Long userId);
 
-    List<ItemDto> searchItems(String text);
+    List<ItemDto> searchItems(String text, int from, int size, boolean fuzzy);
+
+    List<ItemSuggestionDto> suggestItems(String prefix, int limit);
+
+    CommentPageDto getComments(Long itemId, String cursor, int size);
 
     CommentDto addComment(Long userId, Long itemId, CommentDto commentDto);
 
+    List<TimeSlotDto> getAvailability(Long itemId, LocalDateTime from, LocalDateTime to);
+
 }
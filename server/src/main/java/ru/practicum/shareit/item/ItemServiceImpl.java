@@ -1,26 +1,40 @@
 package ru.practicum.shareit.item;
 
+import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingMapper;
 import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingSeries;
+import ru.practicum.shareit.booking.BookingSeriesRepository;
+import ru.practicum.shareit.booking.SeriesOccurrences;
 import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.exceptions.BadRequestException;
 import ru.practicum.shareit.exceptions.ForbiddenException;
 import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.CommentPageDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemSuggestionDto;
+import ru.practicum.shareit.item.dto.TimeSlotDto;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -28,17 +42,42 @@ public class ItemServiceImpl implements ItemService {
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
     private final BookingRepository bookingRepository;
+    private final BookingSeriesRepository seriesRepository;
     private final CommentRepository commentRepository;
     private final ItemRequestRepository itemRequestRepository;
+    private final ItemSearchIndex searchIndex;
+    private final ItemSearchCache searchCache;
+    private final ItemDetailCache detailCache;
+    private final boolean fullTextSearch;
+    private final int maxSearchPageSize;
+    private final int maxSuggestions;
+    private final int detailComments;
+    private final int maxCommentPageSize;
 
     @Autowired
     public ItemServiceImpl(ItemRepository itemRepository, UserRepository userRepository,
-                           BookingRepository bookingRepository, CommentRepository commentRepository, ItemRequestRepository itemRequestRepository) {
+                           BookingRepository bookingRepository, BookingSeriesRepository seriesRepository,
+                           CommentRepository commentRepository, ItemRequestRepository itemRequestRepository,
+                           ItemSearchIndex searchIndex, ItemSearchCache searchCache, ItemDetailCache detailCache,
+                           @Value("${shareit.item.search.full-text:false}") boolean fullTextSearch,
+                           @Value("${shareit.item.search.max-page-size:100}") int maxSearchPageSize,
+                           @Value("${shareit.item.suggest.max-results:10}") int maxSuggestions,
+                           @Value("${shareit.item.comments.detail-limit:20}") int detailComments,
+                           @Value("${shareit.item.comments.max-page-size:100}") int maxCommentPageSize) {
         this.itemRepository = itemRepository;
         this.userRepository = userRepository;
         this.bookingRepository = bookingRepository;
+        this.seriesRepository = seriesRepository;
         this.commentRepository = commentRepository;
         this.itemRequestRepository = itemRequestRepository;
+        this.searchIndex = searchIndex;
+        this.searchCache = searchCache;
+        this.detailCache = detailCache;
+        this.fullTextSearch = fullTextSearch;
+        this.maxSearchPageSize = maxSearchPageSize;
+        this.maxSuggestions = maxSuggestions;
+        this.detailComments = detailComments;
+        this.maxCommentPageSize = maxCommentPageSize;
     }
 
 
@@ -65,6 +104,8 @@ public class ItemServiceImpl implements ItemService {
 
         Item item = ItemMapper.toItem(itemDto, owner, request);
         item = itemRepository.save(item);
+        searchIndex.index(item);
+        searchCache.invalidate(item.getName() + " " + item.getDescription());
         return ItemMapper.toItemDto(item);
     }
 
@@ -76,6 +117,7 @@ public class ItemServiceImpl implements ItemService {
         if (!item.getOwner().getId().equals(userId)) {
             throw new ForbiddenException("You do not have permission to update this item.");
         }
+        String textBefore = item.getName() + " " + item.getDescription();
 
         if (itemDto.getName() != null && !itemDto.getName().isEmpty()) {
             item.setName(itemDto.getName());
@@ -90,22 +132,40 @@ public class ItemServiceImpl implements ItemService {
         }
 
         item = itemRepository.save(item);
+        searchIndex.index(item);
+        searchCache.invalidate(textBefore, item.getName() + " " + item.getDescription());
+        detailCache.invalidate(itemId);
         return ItemMapper.toItemDto(item);
     }
 
+    /**
+     * Served from the {@link ItemDetailCache}; on a miss the item and its first comments with their authors take two
+     * statements. The rest of the comments are paged through {@link #getComments}, {@code commentCount} tells whether
+     * there are any.
+     */
     @Override
     public ItemDto getItem(Long itemId) {
+        LocalDateTime now = LocalDateTime.now();
+        ItemDto cached = detailCache.get(itemId, now);
+        if (cached != null) {
+            return cached;
+        }
+
+        long stamp = detailCache.generation();
         Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new NotFoundException("Item not found."));
 
         ItemDto itemDto = ItemMapper.toItemDto(item);
 
-        List<Comment> comments = commentRepository.findByItemId(itemId);
+        CommentCursor head = CommentCursor.HEAD;
+        List<Comment> comments = commentRepository.findPageByItemId(itemId, head.getCreated(), head.getId(),
+                PageRequest.of(0, detailComments));
         List<CommentDto> commentDtos = comments.stream()
                 .map(CommentMapper::toDto)
                 .collect(Collectors.toList());
 
-        itemDto.setComments(commentDtos);
+        itemDto.setComments(List.copyOf(commentDtos));
+        detailCache.put(itemId, stamp, itemDto, now);
 
         return itemDto;
     }
@@ -114,34 +174,105 @@ public class ItemServiceImpl implements ItemService {
     public List<ItemDto> getItemsByOwner(Long userId) {
         List<Item> items = itemRepository.findByOwnerId(userId);
         LocalDateTime now = LocalDateTime.now();
+        // One query per direction for all items instead of two lookups per item.
+        Map<Long, BookingDto> lastBookings = bookingRepository.findLastBookingsOfOwnerItems(userId, now).stream()
+                .collect(Collectors.toMap(booking -> booking.getItem().getId(), BookingMapper::toBookingDto));
+        Map<Long, BookingDto> nextBookings = bookingRepository.findNextBookingsOfOwnerItems(userId, now).stream()
+                .collect(Collectors.toMap(booking -> booking.getItem().getId(), BookingMapper::toBookingDto));
+        // Occurrences of the owner's series compete with the stored bookings; a stored booking wins a tie.
+        for (BookingSeries series : seriesRepository.findByItemOwnerId(userId)) {
+            SeriesOccurrences occurrences = new SeriesOccurrences(series);
+            Long itemId = series.getItem().getId();
+            long last = occurrences.lastStartingBefore(now.minus(occurrences.length()));
+            if (last >= 0) {
+                lastBookings.merge(itemId, BookingMapper.toOccurrenceDto(series, occurrences, last),
+                        (booking, occurrence) -> occurrence.getEnd().isAfter(booking.getEnd()) ? occurrence : booking);
+            }
+            long next = occurrences.lastStartingAtOrBefore(now) + 1;
+            if (next < occurrences.count()) {
+                nextBookings.merge(itemId, BookingMapper.toOccurrenceDto(series, occurrences, next),
+                        (booking, occurrence) -> occurrence.getStart().isBefore(booking.getStart()) ? occurrence : booking);
+            }
+        }
 
         return items.stream().map(item -> {
             ItemDto itemDto = ItemMapper.toItemDto(item);
-
-            Optional<Booking> lastBooking = bookingRepository.findFirstByItemIdAndEndBeforeOrderByEndDesc(item.getId(), now);
-            Optional<Booking> nextBooking = bookingRepository.findFirstByItemIdAndStartAfterOrderByStartAsc(item.getId(), now);
-
-            lastBooking.ifPresent(booking -> itemDto.setLastBooking(BookingMapper.toBookingDto(booking)));
-            nextBooking.ifPresent(booking -> itemDto.setNextBooking(BookingMapper.toBookingDto(booking)));
-
+            itemDto.setLastBooking(lastBookings.get(item.getId()));
+            itemDto.setNextBooking(nextBookings.get(item.getId()));
             return itemDto;
         }).collect(Collectors.toList());
     }
 
+    /**
+     * Relevance-ranked page of available items matching every word of {@code text}. Served from the in-memory
+     * {@link ItemSearchIndex} once it is built; before that, on PostgreSQL, from a GIN-backed full-text match on word
+     * prefixes and elsewhere from a substring match of the whole text. {@code fuzzy} tolerates typos and is only
+     * honoured by the index; the database fallbacks stay exact.
+     */
     @Override
-    public List<ItemDto> searchItems(String text) {
-        if (text == null || text.trim().isEmpty()) {
+    public List<ItemDto> searchItems(String text, int from, int size, boolean fuzzy) {
+        if (from < 0) {
+            throw new BadRequestException("Parameter 'from' must not be negative.");
+        }
+        if (size <= 0) {
+            throw new BadRequestException("Parameter 'size' must be positive.");
+        }
+        List<String> tokens = SearchQuery.tokens(text);
+        if (tokens.isEmpty()) {
             return List.of();
         }
 
-        String searchText = text.toLowerCase();
-        return itemRepository.findByAvailableAndNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase(true, searchText, searchText)
-                .stream()
+        int pageSize = Math.min(size, maxSearchPageSize);
+        Pageable page = OffsetPageRequest.of(from, pageSize);
+        String key = ItemSearchCache.key(tokens, fuzzy, (int) page.getOffset(), pageSize);
+        LocalDateTime now = LocalDateTime.now();
+        List<ItemDto> cached = searchCache.get(key, now);
+        if (cached != null) {
+            return cached;
+        }
+
+        long stamp = searchCache.generation();
+        List<ItemDto> result = List.copyOf(findPage(tokens, fuzzy, page));
+        searchCache.put(key, tokens, fuzzy, stamp, result, now);
+        return result;
+    }
+
+    private List<ItemDto> findPage(List<String> tokens, boolean fuzzy, Pageable page) {
+        if (searchIndex.isReady()) {
+            return searchIndex.search(tokens, fuzzy, (int) page.getOffset(), page.getPageSize());
+        }
+        List<Item> items = fullTextSearch
+                ? itemRepository.searchAvailableFullText(SearchQuery.toPrefixTsQuery(tokens), page)
+                : itemRepository.searchAvailable(tokens, page);
+        return items.stream()
                 .map(ItemMapper::toItemDto)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Served from the name trie of the search index without touching the database; until the index is built, from a
+     * name prefix query.
+     */
+    @Override
+    public List<ItemSuggestionDto> suggestItems(String prefix, int limit) {
+        if (limit <= 0) {
+            throw new BadRequestException("Parameter 'limit' must be positive.");
+        }
+        if (prefix == null || prefix.isBlank()) {
+            return List.of();
+        }
+        int count = Math.min(limit, maxSuggestions);
+        if (searchIndex.isReady()) {
+            return searchIndex.suggest(prefix, count);
+        }
+        return itemRepository.findByAvailableTrueAndNameStartingWithIgnoreCaseOrderByNameAscIdAsc(prefix.trim(),
+                        PageRequest.of(0, count)).stream()
+                .map(item -> new ItemSuggestionDto(item.getId(), item.getName()))
+                .collect(Collectors.toList());
+    }
+
     @Override
+    @Transactional
     public CommentDto addComment(Long userId, Long itemId, CommentDto commentDto) {
         User author = userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException("User not found."));
@@ -164,7 +295,74 @@ public class ItemServiceImpl implements ItemService {
         comment.setItem(item);
         comment.setCreated(LocalDateTime.now());
         comment = commentRepository.save(comment);
+        CommentDto saved = CommentMapper.toDto(comment);
+        itemRepository.incrementCommentCount(itemId, comment.getCreated());
+        detailCache.invalidate(itemId);
+        searchCache.invalidate(item.getName(), item.getDescription());
+
+        return saved;
+    }
+
+    /**
+     * Keyset page of the comments of an item, oldest first; {@code nextCursor} is set while a full page came back.
+     */
+    @Override
+    public CommentPageDto getComments(Long itemId, String cursor, int size) {
+        if (size <= 0) {
+            throw new BadRequestException("Parameter 'size' must be positive.");
+        }
+        CommentCursor position = cursor == null || cursor.isBlank() ? CommentCursor.HEAD : CommentCursor.decode(cursor);
+        if (!itemRepository.existsById(itemId)) {
+            throw new NotFoundException("Item not found.");
+        }
 
-        return CommentMapper.toDto(comment);
+        int pageSize = Math.min(size, maxCommentPageSize);
+        List<Comment> comments = commentRepository.findPageByItemId(itemId, position.getCreated(), position.getId(),
+                PageRequest.of(0, pageSize));
+        String nextCursor = comments.size() == pageSize
+                ? CommentCursor.of(comments.get(comments.size() - 1)).encode()
+                : null;
+        List<CommentDto> dtos = comments.stream().map(CommentMapper::toDto).collect(Collectors.toList());
+        return new CommentPageDto(dtos, nextCursor);
+    }
+
+    @Override
+    public List<TimeSlotDto> getAvailability(Long itemId, LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new BadRequestException("Parameter 'from' must be before 'to'.");
+        }
+        if (!itemRepository.existsById(itemId)) {
+            throw new NotFoundException("Item not found.");
+        }
+
+        List<Status> active = List.of(Status.APPROVED, Status.WAITING);
+        List<TimeSlotDto> busy = new ArrayList<>();
+        for (Booking booking : bookingRepository.findItemBookingsInRange(itemId, active, from, to)) {
+            busy.add(new TimeSlotDto(booking.getStart(), booking.getEnd()));
+        }
+        for (BookingSeries series : seriesRepository.findByItemIdAndStatusIn(itemId, active)) {
+            SeriesOccurrences occurrences = new SeriesOccurrences(series);
+            long last = occurrences.lastStartingBefore(to);
+            for (long index = occurrences.lastStartingAtOrBefore(from.minus(occurrences.length())) + 1;
+                 index <= last; index++) {
+                busy.add(new TimeSlotDto(occurrences.startOf(index), occurrences.endOf(index)));
+            }
+        }
+        busy.sort(Comparator.comparing(TimeSlotDto::getStart));
+
+        List<TimeSlotDto> freeSlots = new ArrayList<>();
+        LocalDateTime cursor = from;
+        for (TimeSlotDto slot : busy) {
+            if (slot.getStart().isAfter(cursor)) {
+                freeSlots.add(new TimeSlotDto(cursor, slot.getStart()));
+            }
+            if (slot.getEnd().isAfter(cursor)) {
+                cursor = slot.getEnd();
+            }
+        }
+        if (cursor.isBefore(to)) {
+            freeSlots.add(new TimeSlotDto(cursor, to));
+        }
+        return freeSlots;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,34 @@
+package ru.practicum.shareit.item;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Splits free search text into lower-case word tokens. Only letters and digits survive, so the PostgreSQL form can
+ * be handed to to_tsquery without escaping.
+ */
+public final class SearchQuery {
+    private static final String SEPARATORS = "[^\\p{L}\\p{N}]+";
+
+    private SearchQuery() {
+    }
+
+    public static List<String> tokens(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split(SEPARATORS))
+                .filter(token -> !token.isEmpty())
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * tsquery matching items that contain every token as a word prefix, e.g. {@code "drill bat"} becomes {@code "drill:* & bat:*"}.
+     */
+    public static String toPrefixTsQuery(List<String> tokens) {
+        return tokens.stream().map(token -> token + ":*").collect(Collectors.joining(" & "));
+    }
+}
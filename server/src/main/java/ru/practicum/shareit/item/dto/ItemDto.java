@@ -16,6 +16,7 @@ public class ItemDto {
     private BookingDto lastBooking;
     private BookingDto nextBooking;
     private List<CommentDto> comments;
+    private Long commentCount;
     private Long requestId;
 
 }
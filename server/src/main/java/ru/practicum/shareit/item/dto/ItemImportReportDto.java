@@ -0,0 +1,17 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemImportReportDto {
+    private long imported;
+    private long failed;
+    private List<ItemImportErrorDto> errors;
+    private boolean errorsTruncated;
+}
@@ -7,6 +7,7 @@ import lombok.ToString;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.user.User;
 
+import java.time.LocalDateTime;
 import java.util.Objects;
 
 /**
@@ -39,6 +40,29 @@ public class Item {
     @JoinColumn(name = "request_id")
     private ItemRequest request;
 
+    /**
+     * Maintained by {@code ItemRepository.incrementCommentCount} and never written from the entity, so saving an item
+     * loaded before a comment was added cannot lose the increment.
+     */
+    @Column(name = "comment_count", nullable = false, updatable = false)
+    private Long commentCount = 0L;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    /**
+     * Time of the last insert or update, so other server instances can catch up with the change.
+     */
+    @Column(name = "updated", nullable = false)
+    private LocalDateTime updated;
+
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        updated = LocalDateTime.now();
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.outbox;
+
+/**
+ * In-process receiver of outbox events. Every Spring bean implementing this interface is called by
+ * {@link OutboxRelay} for each event, in the order the events were recorded.
+ * <p>
+ * Delivery is at least once: an event is redelivered to all consumers if any of them throws or if the relay stops
+ * before the batch is committed, so consumers must tolerate duplicates.
+ */
+public interface OutboxConsumer {
+
+    void accept(OutboxEvent event);
+}
@@ -0,0 +1,47 @@
+package ru.practicum.shareit.outbox;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * An {@link OutboxEvent} that failed {@code shareit.outbox.max-attempts} times and was set aside by
+ * {@link OutboxRelay}, so it no longer holds up the events behind it. Keeps the id of the original event.
+ */
+@Entity
+@Table(name = "outbox_dead_letters")
+@Getter
+@Setter
+@ToString(exclude = "payload")
+public class OutboxDeadLetter {
+
+    @Id
+    private Long id;
+
+    @Column(name = "event_type", nullable = false)
+    private String type;
+
+    @Column(name = "aggregate_id", nullable = false)
+    private Long aggregateId;
+
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "created", nullable = false)
+    private LocalDateTime created;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "failed", nullable = false)
+    private LocalDateTime failed;
+
+    /**
+     * Message of the exception that failed the last attempt.
+     */
+    @Column(name = "error", length = 500)
+    private String error;
+}
@@ -0,0 +1,130 @@
+package ru.practicum.shareit.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the outbox in batches and hands every event to all {@link OutboxConsumer}s.
+ * <p>
+ * Each batch is locked, delivered and deleted in one transaction; a failing consumer stops the batch at the failing
+ * event, which is retried on the next run together with everything after it. An event that fails
+ * {@code shareit.outbox.max-attempts} times is moved to {@code outbox_dead_letters} instead, and the batch goes on.
+ * The age of the oldest pending event is published as {@code shareit.outbox.lag} (seconds), delivered events as
+ * {@code shareit.outbox.delivered} and dead-lettered ones as {@code shareit.outbox.dead.lettered}.
+ */
+@Component
+public class OutboxRelay {
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final OutboxRepository outboxRepository;
+    private final OutboxDeadLetterRepository deadLetterRepository;
+    private final List<OutboxConsumer> consumers;
+    private final TransactionTemplate transaction;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Counter delivered;
+    private final Counter deadLettered;
+    private final AtomicLong lagSeconds = new AtomicLong();
+
+    public OutboxRelay(OutboxRepository outboxRepository, OutboxDeadLetterRepository deadLetterRepository,
+                       List<OutboxConsumer> consumers, PlatformTransactionManager transactionManager,
+                       @Value("${shareit.outbox.batch-size:100}") int batchSize,
+                       @Value("${shareit.outbox.max-attempts:10}") int maxAttempts,
+                       MeterRegistry meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.deadLetterRepository = deadLetterRepository;
+        this.consumers = consumers;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.delivered = Counter.builder("shareit.outbox.delivered")
+                .description("Outbox events delivered to all consumers")
+                .register(meterRegistry);
+        this.deadLettered = Counter.builder("shareit.outbox.dead.lettered")
+                .description("Outbox events moved to the dead letters after failing every attempt")
+                .register(meterRegistry);
+        Gauge.builder("shareit.outbox.lag", lagSeconds, AtomicLong::get)
+                .description("Age in seconds of the oldest undelivered outbox event")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Delivers batches until the outbox is empty or a batch could not be delivered completely.
+     *
+     * @return number of events removed from the outbox, whether delivered or dead-lettered
+     */
+    @Scheduled(fixedDelayString = "${shareit.outbox.relay-ms:1000}",
+            initialDelayString = "${shareit.outbox.relay-ms:1000}")
+    public int relay() {
+        int total = 0;
+        int batch;
+        do {
+            batch = transaction.execute(status -> relayBatch());
+            total += batch;
+        } while (batch == batchSize);
+        updateLag();
+        return total;
+    }
+
+    private int relayBatch() {
+        List<OutboxEvent> events = outboxRepository.lockNextBatch(PageRequest.of(0, batchSize));
+        int done = 0;
+        for (OutboxEvent event : events) {
+            try {
+                consumers.forEach(consumer -> consumer.accept(event));
+                delivered.increment();
+            } catch (RuntimeException e) {
+                event.setAttempts(event.getAttempts() + 1);
+                if (event.getAttempts() < maxAttempts) {
+                    log.error("Outbox event {} failed on attempt {}; delivery resumes with it next run",
+                            event, event.getAttempts(), e);
+                    break;
+                }
+                log.error("Outbox event {} failed on attempt {}; moving it to the dead letters",
+                        event, event.getAttempts(), e);
+                deadLetterRepository.save(toDeadLetter(event, e));
+                deadLettered.increment();
+            }
+            outboxRepository.delete(event);
+            done++;
+        }
+        return done;
+    }
+
+    private static OutboxDeadLetter toDeadLetter(OutboxEvent event, RuntimeException failure) {
+        OutboxDeadLetter deadLetter = new OutboxDeadLetter();
+        deadLetter.setId(event.getId());
+        deadLetter.setType(event.getType());
+        deadLetter.setAggregateId(event.getAggregateId());
+        deadLetter.setPayload(event.getPayload());
+        deadLetter.setCreated(event.getCreated());
+        deadLetter.setAttempts(event.getAttempts());
+        deadLetter.setFailed(LocalDateTime.now());
+        String error = String.valueOf(failure.getMessage());
+        deadLetter.setError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+        return deadLetter;
+    }
+
+    private void updateLag() {
+        lagSeconds.set(outboxRepository.findOldestCreated()
+                .map(oldest -> Math.max(0, Duration.between(oldest, LocalDateTime.now()).getSeconds()))
+                .orElse(0L));
+    }
+}
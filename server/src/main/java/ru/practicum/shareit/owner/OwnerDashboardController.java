@@ -0,0 +1,22 @@
+package ru.practicum.shareit.owner;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.owner.dto.OwnerDashboardDto;
+
+@RestController
+@RequestMapping("/owner")
+public class OwnerDashboardController {
+    private final OwnerDashboardService ownerDashboardService;
+
+    public OwnerDashboardController(OwnerDashboardService ownerDashboardService) {
+        this.ownerDashboardService = ownerDashboardService;
+    }
+
+    @GetMapping("/dashboard")
+    public OwnerDashboardDto getDashboard(@RequestHeader("X-Sharer-User-Id") Long userId) {
+        return ownerDashboardService.getDashboard(userId);
+    }
+}
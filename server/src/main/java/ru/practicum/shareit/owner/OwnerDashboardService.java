@@ -0,0 +1,7 @@
+package ru.practicum.shareit.owner;
+
+import ru.practicum.shareit.owner.dto.OwnerDashboardDto;
+
+public interface OwnerDashboardService {
+    OwnerDashboardDto getDashboard(Long ownerId);
+}
@@ -0,0 +1,98 @@
+package ru.practicum.shareit.owner;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.item.CommentMapper;
+import ru.practicum.shareit.item.CommentRepository;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.owner.dto.DashboardBookingDto;
+import ru.practicum.shareit.owner.dto.DashboardItemDto;
+import ru.practicum.shareit.owner.dto.OwnerDashboardDto;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Builds the owner home screen from a fixed number of queries, each covering all of the owner's items at once:
+ * items with their comment counts, last bookings, next bookings, latest comments and pending approvals.
+ */
+@Service
+public class OwnerDashboardServiceImpl implements OwnerDashboardService {
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final CommentRepository commentRepository;
+    private final UserRepository userRepository;
+    private final int pendingLimit;
+
+    public OwnerDashboardServiceImpl(ItemRepository itemRepository, BookingRepository bookingRepository,
+                                     CommentRepository commentRepository, UserRepository userRepository,
+                                     @Value("${shareit.owner.dashboard.pending-limit:20}") int pendingLimit) {
+        this.itemRepository = itemRepository;
+        this.bookingRepository = bookingRepository;
+        this.commentRepository = commentRepository;
+        this.userRepository = userRepository;
+        this.pendingLimit = pendingLimit;
+    }
+
+    @Override
+    public OwnerDashboardDto getDashboard(Long ownerId) {
+        if (!userRepository.existsById(ownerId)) {
+            throw new NotFoundException("User not found.");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Item> items = itemRepository.findByOwnerId(ownerId);
+        Map<Long, Booking> lastBookings = byItem(bookingRepository.findLastBookingsOfOwnerItems(ownerId, now),
+                booking -> booking.getItem().getId(), Booking::getId);
+        Map<Long, Booking> nextBookings = byItem(bookingRepository.findNextBookingsOfOwnerItems(ownerId, now),
+                booking -> booking.getItem().getId(), Booking::getId);
+        Map<Long, Comment> lastComments = byItem(commentRepository.findLatestByOwnerItems(ownerId),
+                comment -> comment.getItem().getId(), Comment::getId);
+
+        List<DashboardItemDto> itemDtos = items.stream().map(item -> {
+            DashboardItemDto dto = new DashboardItemDto();
+            dto.setId(item.getId());
+            dto.setName(item.getName());
+            dto.setAvailable(item.getAvailable());
+            dto.setLastBooking(toDto(lastBookings.get(item.getId())));
+            dto.setNextBooking(toDto(nextBookings.get(item.getId())));
+            dto.setCommentCount(item.getCommentCount());
+            Comment lastComment = lastComments.get(item.getId());
+            dto.setLastComment(lastComment == null ? null : CommentMapper.toDto(lastComment));
+            return dto;
+        }).collect(Collectors.toList());
+
+        List<DashboardBookingDto> pending = bookingRepository
+                .findOwnerBookingsByStatusSoonestFirst(ownerId, Status.WAITING, PageRequest.of(0, pendingLimit)).stream()
+                .map(OwnerDashboardServiceImpl::toDto)
+                .collect(Collectors.toList());
+
+        return new OwnerDashboardDto(itemDtos, pending);
+    }
+
+    private static <T> Map<Long, T> byItem(List<T> rows, Function<T, Long> itemId, Function<T, Long> id) {
+        BinaryOperator<T> lowestId = BinaryOperator.minBy(Comparator.comparing(id));
+        return rows.stream().collect(Collectors.toMap(itemId, Function.identity(), lowestId));
+    }
+
+    private static DashboardBookingDto toDto(Booking booking) {
+        if (booking == null) {
+            return null;
+        }
+        return new DashboardBookingDto(booking.getId(), booking.getItem().getId(), booking.getBooker().getId(),
+                booking.getBooker().getName(), booking.getStart(), booking.getEnd(), booking.getStatus());
+    }
+}
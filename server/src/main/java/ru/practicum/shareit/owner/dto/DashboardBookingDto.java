@@ -0,0 +1,21 @@
+package ru.practicum.shareit.owner.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ru.practicum.shareit.booking.Status;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardBookingDto {
+    private Long id;
+    private Long itemId;
+    private Long bookerId;
+    private String bookerName;
+    private LocalDateTime start;
+    private LocalDateTime end;
+    private Status status;
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.owner.dto;
+
+import lombok.Data;
+import ru.practicum.shareit.item.dto.CommentDto;
+
+@Data
+public class DashboardItemDto {
+    private Long id;
+    private String name;
+    private Boolean available;
+    private DashboardBookingDto lastBooking;
+    private DashboardBookingDto nextBooking;
+    private long commentCount;
+    private CommentDto lastComment;
+}
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.owner.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OwnerDashboardDto {
+    private List<DashboardItemDto> items;
+    /**
+     * WAITING bookings of the owner's items, soonest start first, capped at shareit.owner.dashboard.pending-limit.
+     */
+    private List<DashboardBookingDto> pendingApprovals;
+}
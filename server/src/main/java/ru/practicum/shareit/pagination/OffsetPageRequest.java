@@ -0,0 +1,85 @@
+package ru.practicum.shareit.pagination;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.Objects;
+
+/**
+ * Unsorted page starting at any row offset, for the legacy {@code from}/{@code size} parameters.
+ */
+public final class OffsetPageRequest implements Pageable {
+    private final long offset;
+    private final int size;
+
+    private OffsetPageRequest(long offset, int size) {
+        this.offset = offset;
+        this.size = size;
+    }
+
+    /**
+     * A plain {@link PageRequest} when {@code offset} falls on a page boundary.
+     */
+    public static Pageable of(long offset, int size) {
+        return offset % size == 0 ? PageRequest.of((int) (offset / size), size) : new OffsetPageRequest(offset, size);
+    }
+
+    @Override
+    public int getPageNumber() {
+        return (int) (offset / size);
+    }
+
+    @Override
+    public int getPageSize() {
+        return size;
+    }
+
+    @Override
+    public long getOffset() {
+        return offset;
+    }
+
+    @Override
+    public Sort getSort() {
+        return Sort.unsorted();
+    }
+
+    @Override
+    public Pageable next() {
+        return of(offset + size, size);
+    }
+
+    @Override
+    public Pageable previousOrFirst() {
+        return of(Math.max(offset - size, 0), size);
+    }
+
+    @Override
+    public Pageable first() {
+        return PageRequest.of(0, size);
+    }
+
+    @Override
+    public Pageable withPage(int pageNumber) {
+        return PageRequest.of(pageNumber, size);
+    }
+
+    @Override
+    public boolean hasPrevious() {
+        return offset > 0;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        OffsetPageRequest that = (OffsetPageRequest) o;
+        return offset == that.offset && size == that.size;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(offset, size);
+    }
+}
@@ -5,6 +5,7 @@ import org.springframework.stereotype.Service;
 import ru.practicum.shareit.exceptions.BadRequestException;
 import ru.practicum.shareit.exceptions.ConflictException;
 import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.item.ItemDetailCache;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.util.List;
@@ -14,13 +15,15 @@ import java.util.regex.Pattern;
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
+    private final ItemDetailCache itemDetailCache;
     private static final Pattern EMAIL_PATTERN = Pattern.compile(
             "^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+$"
     );
 
     @Autowired
-    public UserServiceImpl(UserRepository userRepository) {
+    public UserServiceImpl(UserRepository userRepository, ItemDetailCache itemDetailCache) {
         this.userRepository = userRepository;
+        this.itemDetailCache = itemDetailCache;
     }
 
     @Override
@@ -73,8 +76,9 @@ public class UserServiceImpl implements UserService {
             user.setEmail(userDto.getEmail());
         }
 
-        if (userDto.getName() != null && !userDto.getName().isEmpty()) {
+        if (userDto.getName() != null && !userDto.getName().isEmpty() && !userDto.getName().equals(user.getName())) {
             user.setName(userDto.getName());
+            itemDetailCache.invalidateAll();
         }
 
         user = userRepository.save(user);
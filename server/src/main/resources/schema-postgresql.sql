@@ -0,0 +1,33 @@
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+DO '
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = ''ex_bookings_item_approved_overlap'') THEN
+        ALTER TABLE bookings ADD CONSTRAINT ex_bookings_item_approved_overlap
+            EXCLUDE USING gist (item_id WITH =, tsrange(start_time, end_time, ''[)'') WITH &&)
+            WHERE (status = ''APPROVED'');
+    END IF;
+END';
+
+-- Booking and outbox ids come from pooled sequences (allocationSize = 50) so inserts can be JDBC-batched.
+ALTER SEQUENCE IF EXISTS bookings_id_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS outbox_events_id_seq INCREMENT BY 50;
+
+-- Partial indexes per booking phase: state listings and the phase refresher only visit rows of one phase.
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_future ON bookings (booker_id, start_time DESC, id DESC) WHERE phase = 'FUTURE';
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_current ON bookings (booker_id, start_time DESC, id DESC) WHERE phase = 'CURRENT';
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_past ON bookings (booker_id, start_time DESC, id DESC) WHERE phase = 'PAST';
+CREATE INDEX IF NOT EXISTS idx_bookings_item_future ON bookings (item_id, start_time DESC, id DESC) WHERE phase = 'FUTURE';
+CREATE INDEX IF NOT EXISTS idx_bookings_item_current ON bookings (item_id, start_time DESC, id DESC) WHERE phase = 'CURRENT';
+CREATE INDEX IF NOT EXISTS idx_bookings_item_past ON bookings (item_id, start_time DESC, id DESC) WHERE phase = 'PAST';
+CREATE INDEX IF NOT EXISTS idx_bookings_future_start ON bookings (start_time) WHERE phase = 'FUTURE';
+CREATE INDEX IF NOT EXISTS idx_bookings_unfinished_end ON bookings (end_time) WHERE phase <> 'PAST';
+
+-- Stale WAITING bookings are found by start time; the expiry job only ever reads this small slice of the table.
+CREATE INDEX IF NOT EXISTS idx_bookings_waiting_start ON bookings (start_time, id) WHERE status = 'WAITING';
+
+-- Full-text item search: the vector is regenerated by PostgreSQL on every insert and update of name or description.
+ALTER TABLE items ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('simple', coalesce(name, '')), 'A') ||
+    setweight(to_tsvector('simple', coalesce(description, '')), 'B')) STORED;
+CREATE INDEX IF NOT EXISTS idx_items_search_vector ON items USING gin (search_vector);
@@ -42,4 +42,81 @@ CREATE TABLE IF NOT EXISTS comments (
     item_id BIGINT NOT NULL,
     CONSTRAINT fk_author FOREIGN KEY (author_id) REFERENCES users (id),
     CONSTRAINT fk_item FOREIGN KEY (item_id) REFERENCES items (id)
-);
\ No newline at end of file
+);
+
+CREATE TABLE IF NOT EXISTS booking_series (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    item_id BIGINT NOT NULL,
+    booker_id BIGINT NOT NULL,
+    start_time TIMESTAMP NOT NULL,
+    end_time TIMESTAMP NOT NULL,
+    recurrence VARCHAR(10) NOT NULL,
+    repeat_interval INT NOT NULL,
+    until_time TIMESTAMP NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT fk_item_series FOREIGN KEY (item_id) REFERENCES items (id),
+    CONSTRAINT fk_booker_series FOREIGN KEY (booker_id) REFERENCES users (id)
+);
+
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id BIGSERIAL PRIMARY KEY,
+    event_type VARCHAR(40) NOT NULL,
+    aggregate_id BIGINT NOT NULL,
+    payload TEXT NOT NULL,
+    created TIMESTAMP NOT NULL,
+    attempts INT NOT NULL DEFAULT 0
+);
+
+CREATE INDEX IF NOT EXISTS idx_outbox_events_created ON outbox_events (created);
+
+CREATE TABLE IF NOT EXISTS outbox_dead_letters (
+    id BIGINT PRIMARY KEY,
+    event_type VARCHAR(40) NOT NULL,
+    aggregate_id BIGINT NOT NULL,
+    payload TEXT NOT NULL,
+    created TIMESTAMP NOT NULL,
+    attempts INT NOT NULL,
+    failed TIMESTAMP NOT NULL,
+    error VARCHAR(500)
+);
+
+CREATE INDEX IF NOT EXISTS idx_items_owner ON items (owner_id);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_start ON bookings (booker_id, start_time DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_item_start ON bookings (item_id, start_time DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_item_range ON bookings (item_id, start_time, end_time);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_item_end ON bookings (item_id, end_time DESC, id);
+
+CREATE INDEX IF NOT EXISTS idx_booking_series_item_status ON booking_series (item_id, status);
+
+CREATE INDEX IF NOT EXISTS idx_booking_series_booker ON booking_series (booker_id);
+
+ALTER TABLE items ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE items ADD COLUMN IF NOT EXISTS updated TIMESTAMP NOT NULL DEFAULT LOCALTIMESTAMP;
+
+CREATE INDEX IF NOT EXISTS idx_items_updated ON items (updated, id);
+
+CREATE INDEX IF NOT EXISTS idx_comments_item_created ON comments (item_id, created, id);
+
+ALTER TABLE items ADD COLUMN IF NOT EXISTS comment_count BIGINT NOT NULL DEFAULT 0;
+
+UPDATE items SET comment_count = (SELECT COUNT(*) FROM comments c WHERE c.item_id = items.id)
+WHERE comment_count = 0 AND EXISTS (SELECT 1 FROM comments c WHERE c.item_id = items.id);
+
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS phase VARCHAR(10);
+
+UPDATE bookings SET phase = CASE
+        WHEN start_time > LOCALTIMESTAMP THEN 'FUTURE'
+        WHEN end_time > LOCALTIMESTAMP THEN 'CURRENT'
+        ELSE 'PAST'
+    END
+WHERE phase IS NULL;
+
+ALTER TABLE bookings ALTER COLUMN phase SET NOT NULL;
@@ -0,0 +1,129 @@
+package booking.tests;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.exceptions.BadRequestException;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs without a test transaction so that concurrent requests really commit against each other.
+ */
+@SpringBootTest(classes = ru.practicum.shareit.ShareItServer.class)
+public class BookingConcurrencyTest {
+    private static final int BOOKINGS = 20;
+    private static final int THREADS_PER_BOOKING = 8;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    private final List<Long> userIds = new ArrayList<>();
+    private Long itemId;
+
+    @AfterEach
+    void cleanUp() {
+        bookingRepository.deleteAll(bookingRepository.findAll().stream()
+                .filter(booking -> booking.getItem().getId().equals(itemId))
+                .toList());
+        itemRepository.deleteById(itemId);
+        userRepository.deleteAllById(userIds);
+    }
+
+    @Test
+    void concurrentDecisionsOnSameBookingNeverLoseAnUpdate() throws Exception {
+        User owner = userRepository.save(new User(null, "Owner Concurrency", "owner.concurrency@example.com"));
+        User booker = userRepository.save(new User(null, "Booker Concurrency", "booker.concurrency@example.com"));
+        userIds.add(owner.getId());
+        userIds.add(booker.getId());
+
+        Item item = new Item();
+        item.setName("Concurrency Item");
+        item.setDescription("Concurrency Description");
+        item.setAvailable(true);
+        item.setOwner(owner);
+        itemId = itemRepository.save(item).getId();
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<Long> bookingIds = new ArrayList<>();
+        for (int i = 0; i < BOOKINGS; i++) {
+            Booking booking = new Booking();
+            booking.setItem(item);
+            booking.setBooker(booker);
+            booking.setStart(start.plusHours(i));
+            booking.setEnd(start.plusHours(i + 1));
+            booking.setStatus(Status.WAITING);
+            bookingIds.add(bookingRepository.save(booking).getId());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS_PER_BOOKING * 4);
+        CountDownLatch go = new CountDownLatch(1);
+        AtomicInteger conflicts = new AtomicInteger();
+        ConcurrentLinkedQueue<Status> winners = new ConcurrentLinkedQueue<>();
+        List<Future<?>> futures = new ArrayList<>();
+        List<List<Status>> successesPerBooking = new ArrayList<>();
+
+        for (Long bookingId : bookingIds) {
+            List<Status> successes = java.util.Collections.synchronizedList(new ArrayList<>());
+            successesPerBooking.add(successes);
+            for (int t = 0; t < THREADS_PER_BOOKING; t++) {
+                boolean approved = t % 2 == 0;
+                futures.add(executor.submit(() -> {
+                    go.await();
+                    try {
+                        Status status = bookingService.updateBookingStatus(bookingId, approved, owner.getId()).getStatus();
+                        successes.add(status);
+                        winners.add(status);
+                    } catch (OptimisticLockingFailureException | BadRequestException e) {
+                        conflicts.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+        }
+
+        go.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertThat(winners).hasSize(BOOKINGS);
+        assertThat(conflicts.get()).isEqualTo(BOOKINGS * (THREADS_PER_BOOKING - 1));
+        for (int i = 0; i < BOOKINGS; i++) {
+            Booking stored = bookingRepository.findById(bookingIds.get(i)).orElseThrow();
+            assertThat(successesPerBooking.get(i)).containsExactly(stored.getStatus());
+            assertThat(stored.getVersion()).isEqualTo(1L);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package booking.tests;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.BookingCursor;
+import ru.practicum.shareit.exceptions.BadRequestException;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BookingCursorTest {
+
+    @Test
+    void encodeDecodeRoundTrip() {
+        LocalDateTime start = LocalDateTime.of(2025, 3, 15, 10, 30, 15);
+        BookingCursor cursor = new BookingCursor(start, 42L);
+
+        BookingCursor decoded = BookingCursor.decode(cursor.encode());
+
+        assertThat(decoded.getStart()).isEqualTo(start);
+        assertThat(decoded.getId()).isEqualTo(42L);
+    }
+
+    @Test
+    void decodeRejectsGarbage() {
+        assertThrows(BadRequestException.class, () -> BookingCursor.decode("%%%"));
+        assertThrows(BadRequestException.class, () -> BookingCursor.decode("bm9zZXBhcmF0b3I"));
+    }
+}
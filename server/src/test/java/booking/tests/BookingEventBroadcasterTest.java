@@ -0,0 +1,193 @@
+package booking.tests;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.booking.BookingEventBroadcaster;
+import ru.practicum.shareit.booking.BookingEventType;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.dto.BookingEventDto;
+import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.outbox.OutboxEvent;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class BookingEventBroadcasterTest {
+    private static final long OWNER = 1L;
+    private static final long BOOKER = 2L;
+    private static final long STRANGER = 3L;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final List<RecordingEmitter> emitters = new CopyOnWriteArrayList<>();
+    private final CountDownLatch slowClientGate = new CountDownLatch(1);
+    private volatile CountDownLatch nextGate = new CountDownLatch(0);
+    private SimpleMeterRegistry meterRegistry;
+    private BookingEventBroadcaster broadcaster;
+    private long nextEventId = 1;
+
+    private static final class RecordingEmitter extends SseEmitter {
+        private final List<String> frames = new CopyOnWriteArrayList<>();
+        private final CountDownLatch gate;
+        private volatile boolean completed;
+
+        private RecordingEmitter(CountDownLatch gate) {
+            this.gate = gate;
+        }
+
+        @Override
+        public void send(Set<ResponseBodyEmitter.DataWithMediaType> items) {
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            frames.add(items.stream().map(item -> item.getData().toString()).collect(Collectors.joining()));
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        private String text() {
+            return String.join("", frames);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        when(userRepository.existsById(anyLong())).thenReturn(true);
+        broadcaster = broadcaster(true, 50);
+    }
+
+    @AfterEach
+    void tearDown() {
+        slowClientGate.countDown();
+        broadcaster.shutdown();
+    }
+
+    private BookingEventBroadcaster broadcaster(boolean singleInstance, long heartbeatMillis) {
+        meterRegistry = new SimpleMeterRegistry();
+        return new BookingEventBroadcaster(userRepository, objectMapper, singleInstance, 60_000, heartbeatMillis, 2, 2,
+                meterRegistry) {
+            @Override
+            protected SseEmitter createEmitter(long timeoutMillis) {
+                RecordingEmitter emitter = new RecordingEmitter(nextGate);
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+    }
+
+    private RecordingEmitter subscribe(long userId) {
+        broadcaster.subscribe(userId);
+        return emitters.get(emitters.size() - 1);
+    }
+
+    private OutboxEvent event(BookingEventType type, Status status) throws Exception {
+        OutboxEvent event = new OutboxEvent();
+        event.setId(nextEventId++);
+        event.setType(type.name());
+        event.setAggregateId(10L);
+        event.setCreated(LocalDateTime.now());
+        event.setPayload(objectMapper.writeValueAsString(new BookingEventDto(10L, 20L, OWNER, BOOKER, status,
+                LocalDateTime.of(2030, 1, 1, 10, 0), LocalDateTime.of(2030, 1, 2, 10, 0), null)));
+        return event;
+    }
+
+    @Test
+    void eventsReachBookerAndOwnerOnly() throws Exception {
+        RecordingEmitter owner = subscribe(OWNER);
+        RecordingEmitter booker = subscribe(BOOKER);
+        RecordingEmitter stranger = subscribe(STRANGER);
+
+        broadcaster.accept(event(BookingEventType.BOOKING_STATUS_CHANGED, Status.APPROVED));
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> owner.text().contains("event:BOOKING_STATUS_CHANGED")
+                && booker.text().contains("event:BOOKING_STATUS_CHANGED"));
+        assertThat(owner.text()).contains("id:1", "\"status\":\"APPROVED\"");
+        assertThat(stranger.text()).doesNotContain("BOOKING_STATUS_CHANGED");
+    }
+
+    @Test
+    void otherOutboxEventsAreIgnored() throws Exception {
+        RecordingEmitter owner = subscribe(OWNER);
+        OutboxEvent event = event(BookingEventType.BOOKING_CREATED, Status.WAITING);
+        event.setType("ITEM_UPDATED");
+
+        broadcaster.accept(event);
+
+        assertThat(owner.text()).doesNotContain("event:");
+    }
+
+    @Test
+    void idleConnectionsReceiveHeartbeats() {
+        RecordingEmitter owner = subscribe(OWNER);
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> owner.text().contains(":heartbeat"));
+    }
+
+    @Test
+    void clientThatFallsBehindIsDisconnectedWithoutDelayingOthers() throws Exception {
+        broadcaster.shutdown();
+        broadcaster = broadcaster(true, 60_000);
+        nextGate = slowClientGate;
+        RecordingEmitter slowBooker = subscribe(BOOKER);
+        nextGate = new CountDownLatch(0);
+        RecordingEmitter fastOwner = subscribe(OWNER);
+
+        // One frame is stuck in the slow client's send, two fill its queue, the fourth overflows it.
+        for (int i = 1; i <= 4; i++) {
+            broadcaster.accept(event(BookingEventType.BOOKING_CREATED, Status.WAITING));
+            int expected = i;
+            await().atMost(5, TimeUnit.SECONDS).until(() -> fastOwner.frames.size() == expected);
+            assertThat(slowBooker.completed).isEqualTo(i == 4);
+        }
+
+        assertThat(meterRegistry.get("shareit.booking.events.dropped").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("shareit.booking.events.subscribers").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void unknownUserCannotSubscribe() {
+        when(userRepository.existsById(99L)).thenReturn(false);
+
+        assertThrows(NotFoundException.class, () -> broadcaster.subscribe(99L));
+    }
+
+    @Test
+    void streamIsRefusedUnlessDeclaredSingleInstance() {
+        broadcaster.shutdown();
+        broadcaster = broadcaster(false, 50);
+
+        assertThrows(NotFoundException.class, () -> broadcaster.subscribe(OWNER));
+        assertThat(emitters).isEmpty();
+    }
+}
@@ -0,0 +1,156 @@
+package booking.tests;
+
+import common.tests.TestFixtures;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingEventType;
+import ru.practicum.shareit.booking.BookingExpiryJob;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingSeries;
+import ru.practicum.shareit.booking.BookingSeriesRepository;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.Recurrence;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.outbox.OutboxEvent;
+import ru.practicum.shareit.outbox.OutboxRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@Import(TestFixtures.class)
+@SpringBootTest(classes = ru.practicum.shareit.ShareItServer.class, properties = {
+        "shareit.booking.expiry.chunk-size=2",
+        "shareit.booking.expiry.max-chunks=2"
+})
+@Transactional
+public class BookingExpiryJobTest {
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private BookingExpiryJob expiryJob;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BookingSeriesRepository seriesRepository;
+
+    @Autowired
+    private OutboxRepository outboxRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void staleWaitingBookingsExpireInBoundedChunks() {
+        User owner = userRepository.save(new User(null, "Owner Expiry", "owner.expiry@example.com"));
+        User booker = userRepository.save(new User(null, "Booker Expiry", "booker.expiry@example.com"));
+        Item item = fixtures.createItem("Expiry Item", "Expiry Description", true, owner);
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> stale = new ArrayList<>();
+        for (int i = 5; i > 0; i--) {
+            LocalDateTime start = now.minusHours(i);
+            stale.add(fixtures.createBooking(booker, item, start, start.plusMinutes(30), Status.WAITING).getId());
+        }
+        Booking upcoming = fixtures.createBooking(booker, item, now.plusDays(1), now.plusDays(1).plusMinutes(30),
+                Status.WAITING);
+        Booking approved = fixtures.createBooking(booker, item, now.minusDays(1), now.minusDays(1).plusMinutes(30),
+                Status.APPROVED);
+        entityManager.flush();
+
+        assertThat(expiryJob.expireStaleBookings()).isEqualTo(4);
+        assertThat(meterRegistry.get("shareit.booking.expiry.backlog").gauge().value()).isEqualTo(1);
+        assertThat(expiryJob.expireStaleBookings()).isEqualTo(1);
+        assertThat(meterRegistry.get("shareit.booking.expiry.backlog").gauge().value()).isZero();
+
+        entityManager.flush();
+        entityManager.clear();
+        assertThat(bookingRepository.findAllById(stale)).extracting(Booking::getStatus).containsOnly(Status.EXPIRED);
+        assertThat(bookingRepository.findById(upcoming.getId()).orElseThrow().getStatus()).isEqualTo(Status.WAITING);
+        assertThat(bookingRepository.findById(approved.getId()).orElseThrow().getStatus()).isEqualTo(Status.APPROVED);
+        assertThat(outboxRepository.findAll()).extracting(OutboxEvent::getType)
+                .containsOnly(BookingEventType.BOOKING_STATUS_CHANGED.name())
+                .hasSize(5);
+    }
+
+    @Test
+    void expiredBookingsLeaveTheWaitingListing() {
+        User owner = userRepository.save(new User(null, "Owner Expiry List", "owner.expiry.list@example.com"));
+        User booker = userRepository.save(new User(null, "Booker Expiry List", "booker.expiry.list@example.com"));
+        Item item = fixtures.createItem("Expiry Item", "Expiry Description", true, owner);
+        LocalDateTime start = LocalDateTime.now().minusHours(1);
+        Booking stale = fixtures.createBooking(booker, item, start, start.plusMinutes(30), Status.WAITING);
+        entityManager.flush();
+        assertThat(bookingService.getBookingSummaryByOwner(owner.getId()).getWaiting()).isEqualTo(1);
+
+        expiryJob.expireStaleBookings();
+
+        assertThat(bookingService.getBookingsByOwner(owner.getId(), "WAITING", 0, 10, null).getBookings()).isEmpty();
+        assertThat(bookingService.getBookingsByOwner(owner.getId(), "EXPIRED", 0, 10, null).getBookings())
+                .extracting(BookingDto::getId).containsExactly(stale.getId());
+        assertThat(bookingService.getBookingSummaryByOwner(owner.getId()).getExpired()).isEqualTo(1);
+        assertThat(bookingService.getBookingSummaryByOwner(owner.getId()).getWaiting()).isZero();
+    }
+
+    @Test
+    void waitingSeriesExpireOnceTheirFirstOccurrenceHasStarted() {
+        User owner = userRepository.save(new User(null, "Owner Expiry Series", "owner.expiry.series@example.com"));
+        User booker = userRepository.save(new User(null, "Booker Expiry Series", "booker.expiry.series@example.com"));
+        Item item = fixtures.createItem("Expiry Item", "Expiry Description", true, owner);
+        LocalDateTime now = LocalDateTime.now();
+        BookingSeries stale = saveSeries(booker, item, now.minusHours(1), Status.WAITING);
+        BookingSeries upcoming = saveSeries(booker, item, now.plusHours(1), Status.WAITING);
+        BookingSeries approved = saveSeries(booker, item, now.minusDays(1), Status.APPROVED);
+        double before = meterRegistry.get("shareit.booking.expiry.series.expired").counter().count();
+
+        assertThat(bookingService.getBookingSummaryByUser(booker.getId()).getWaiting()).isEqualTo(10);
+
+        expiryJob.expireStaleBookings();
+
+        assertThat(bookingService.getBookingSummaryByUser(booker.getId()).getWaiting()).isEqualTo(5);
+        assertThat(outboxRepository.findAll()).extracting(OutboxEvent::getType, OutboxEvent::getAggregateId)
+                .containsExactly(tuple(BookingEventType.SERIES_STATUS_CHANGED.name(), stale.getId()));
+        assertThat(seriesRepository.findById(stale.getId()).orElseThrow().getStatus()).isEqualTo(Status.EXPIRED);
+        assertThat(seriesRepository.findById(upcoming.getId()).orElseThrow().getStatus()).isEqualTo(Status.WAITING);
+        assertThat(seriesRepository.findById(approved.getId()).orElseThrow().getStatus()).isEqualTo(Status.APPROVED);
+        assertThat(meterRegistry.get("shareit.booking.expiry.series.expired").counter().count()).isEqualTo(before + 1);
+    }
+
+    private BookingSeries saveSeries(User booker, Item item, LocalDateTime start, Status status) {
+        BookingSeries series = new BookingSeries();
+        series.setBooker(booker);
+        series.setItem(item);
+        series.setStart(start);
+        series.setEnd(start.plusMinutes(30));
+        series.setRecurrence(Recurrence.WEEKLY);
+        series.setInterval(1);
+        series.setUntil(start.plusWeeks(4));
+        series.setStatus(status);
+        return seriesRepository.save(series);
+    }
+}
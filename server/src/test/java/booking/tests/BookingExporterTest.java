@@ -0,0 +1,114 @@
+package booking.tests;
+
+import common.tests.TestFixtures;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingExporter;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Import(TestFixtures.class)
+@SpringBootTest(classes = ru.practicum.shareit.ShareItServer.class)
+@Transactional
+public class BookingExporterTest {
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private BookingExporter bookingExporter;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void exportWritesOneBookingPerLineNewestFirst() throws Exception {
+        User owner = userRepository.save(new User(null, "Owner Export", "owner.export@example.com"));
+        User booker = userRepository.save(new User(null, "Booker Export", "booker.export@example.com"));
+        Item item = fixtures.createItem("Export Item", "Export Description", true, owner);
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        Booking first = fixtures.createBooking(booker, item, start, start.plusDays(1), Status.APPROVED);
+        Booking second = fixtures.createBooking(booker, item, start.plusDays(2), start.plusDays(3), Status.APPROVED);
+
+        String[] lines = export(owner.getId()).split("\n");
+
+        assertThat(lines).hasSize(2);
+        JsonNode newest = objectMapper.readTree(lines[0]);
+        assertThat(newest.get("id").asLong()).isEqualTo(second.getId());
+        assertThat(newest.get("item").get("id").asLong()).isEqualTo(item.getId());
+        assertThat(newest.get("booker").get("id").asLong()).isEqualTo(booker.getId());
+        assertThat(objectMapper.readTree(lines[1]).get("id").asLong()).isEqualTo(first.getId());
+    }
+
+    @Test
+    void exportReadsAllBookingsWithOneQueryAndKeepsThePersistenceContextSmall() throws Exception {
+        User owner = userRepository.save(new User(null, "Owner Export Big", "owner.export.big@example.com"));
+        Item item = fixtures.createItem("Export Item", "Export Description", true, owner);
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < 1200; i++) {
+            User booker = userRepository.save(new User(null, "Booker " + i, "booker.export." + i + "@example.com"));
+            Booking booking = new Booking();
+            booking.setBooker(booker);
+            booking.setItem(item);
+            booking.setStart(start.plusDays(2L * i));
+            booking.setEnd(start.plusDays(2L * i + 1));
+            booking.setStatus(Status.WAITING);
+            bookings.add(booking);
+        }
+        bookingRepository.saveAll(bookings);
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        String body = export(owner.getId());
+
+        assertThat(body.split("\n")).hasSize(1200);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(entityManager.unwrap(org.hibernate.Session.class).getStatistics().getEntityCount())
+                .isLessThanOrEqualTo(BookingRepository.EXPORT_FETCH_SIZE * 2 + 1);
+    }
+
+    @Test
+    void exportForUnknownUserFailsBeforeStreaming() {
+        assertThrows(NotFoundException.class, () -> bookingExporter.exportByOwner(999L));
+    }
+
+    private String export(Long ownerId) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        bookingExporter.exportByOwner(ownerId).writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,175 @@
+package booking.tests;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingIntervalIndex;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.ItemLockManager;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.exceptions.ConflictException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookingIntervalIndexTest {
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 1, 10, 0);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private BookingIntervalIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new BookingIntervalIndex(bookingRepository, 2);
+    }
+
+    private Booking approved(Long id, LocalDateTime start, LocalDateTime end) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setStart(start);
+        booking.setEnd(end);
+        booking.setStatus(Status.APPROVED);
+        return booking;
+    }
+
+    @Test
+    void overlapsDetectsIntersectionsButAllowsTouchingIntervals() {
+        when(bookingRepository.findByItemIdAndStatusAndEndAfter(eq(1L), eq(Status.APPROVED), any()))
+                .thenReturn(List.of(approved(10L, BASE, BASE.plusHours(2)),
+                        approved(11L, BASE.plusHours(5), BASE.plusHours(6))));
+
+        assertThat(index.overlaps(1L, BASE.plusHours(1), BASE.plusHours(3))).isTrue();
+        assertThat(index.overlaps(1L, BASE.minusHours(1), BASE.plusMinutes(1))).isTrue();
+        assertThat(index.overlaps(1L, BASE.plusHours(4), BASE.plusHours(7))).isTrue();
+        assertThat(index.overlaps(1L, BASE.plusHours(2), BASE.plusHours(5))).isFalse();
+        assertThat(index.overlaps(1L, BASE.minusHours(2), BASE)).isFalse();
+        assertThat(index.overlaps(1L, BASE.plusHours(6), BASE.plusHours(8))).isFalse();
+
+        verify(bookingRepository, times(1)).findByItemIdAndStatusAndEndAfter(eq(1L), eq(Status.APPROVED), any());
+    }
+
+    @Test
+    void tryReserveRejectsSecondOverlappingReservation() {
+        when(bookingRepository.findByItemIdAndStatusAndEndAfter(eq(2L), eq(Status.APPROVED), any())).thenReturn(List.of());
+
+        assertThat(index.tryReserve(2L, 20L, BASE, BASE.plusHours(2))).isTrue();
+        assertThat(index.tryReserve(2L, 21L, BASE.plusHours(1), BASE.plusHours(3))).isFalse();
+        assertThat(index.tryReserve(2L, 22L, BASE.plusHours(2), BASE.plusHours(3))).isTrue();
+    }
+
+    @Test
+    void tryReserveRejectsSecondReservationOfTheSameBooking() {
+        when(bookingRepository.findByItemIdAndStatusAndEndAfter(eq(8L), eq(Status.APPROVED), any()))
+                .thenReturn(List.of());
+
+        assertThat(index.tryReserve(8L, 80L, BASE, BASE.plusHours(2))).isTrue();
+        assertThat(index.tryReserve(8L, 80L, BASE, BASE.plusHours(2))).isFalse();
+
+        index.release(8L, 80L, BASE);
+        assertThat(index.overlaps(8L, BASE, BASE.plusHours(1))).isFalse();
+    }
+
+    @Test
+    void releaseFreesTheInterval() {
+        when(bookingRepository.findByItemIdAndStatusAndEndAfter(eq(3L), eq(Status.APPROVED), any())).thenReturn(List.of());
+
+        index.tryReserve(3L, 30L, BASE, BASE.plusHours(2));
+        index.release(3L, 99L, BASE);
+        assertThat(index.overlaps(3L, BASE, BASE.plusHours(1))).isTrue();
+
+        index.release(3L, 30L, BASE);
+        assertThat(index.overlaps(3L, BASE, BASE.plusHours(1))).isFalse();
+    }
+
+    @Test
+    void endedIntervalsArePrunedAndNoLongerConflict() {
+        LocalDateTime now = LocalDateTime.now();
+        when(bookingRepository.findByItemIdAndStatusAndEndAfter(eq(4L), eq(Status.APPROVED), any()))
+                .thenReturn(List.of());
+
+        assertThat(index.tryReserve(4L, 40L, now.minusHours(2), now.minusHours(1))).isTrue();
+        assertThat(index.tryReserve(4L, 41L, now.minusHours(1), now.plusHours(1))).isTrue();
+
+        assertThat(index.overlaps(4L, now.minusHours(2), now.minusMinutes(90))).isFalse();
+        assertThat(index.overlaps(4L, now, now.plusMinutes(30))).isTrue();
+    }
+
+    @Test
+    void leastRecentlyUsedItemIsEvictedAndReloaded() {
+        when(bookingRepository.findByItemIdAndStatusAndEndAfter(any(), eq(Status.APPROVED), any()))
+                .thenReturn(List.of());
+
+        index.overlaps(5L, BASE, BASE.plusHours(1));
+        index.overlaps(6L, BASE, BASE.plusHours(1));
+        index.overlaps(5L, BASE, BASE.plusHours(1));
+        index.overlaps(7L, BASE, BASE.plusHours(1));
+        index.overlaps(5L, BASE, BASE.plusHours(1));
+        index.overlaps(6L, BASE, BASE.plusHours(1));
+
+        verify(bookingRepository, times(1)).findByItemIdAndStatusAndEndAfter(eq(5L), eq(Status.APPROVED), any());
+        verify(bookingRepository, times(2)).findByItemIdAndStatusAndEndAfter(eq(6L), eq(Status.APPROVED), any());
+    }
+
+    @Test
+    void rolledBackReservationIsWithdrawnBeforeTheItemIsUnlocked() throws Exception {
+        ItemLockManager lockManager = new ItemLockManager(16, 50, new SimpleMeterRegistry());
+        when(bookingRepository.findByItemIdAndStatusAndEndAfter(eq(9L), eq(Status.APPROVED), any()))
+                .thenReturn(List.of());
+
+        TransactionSynchronizationManager.initSynchronization();
+        List<TransactionSynchronization> synchronizations;
+        try {
+            lockManager.lockUntilCompletion(9L);
+            index.tryReserve(9L, 90L, BASE, BASE.plusHours(2));
+            synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThat(synchronizations).hasSize(2);
+
+        synchronizations.get(0).afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertThat(index.overlaps(9L, BASE, BASE.plusHours(1))).isFalse();
+        assertThrows(ConflictException.class, () -> lockFromAnotherThread(lockManager, 9L));
+
+        synchronizations.get(1).afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        lockFromAnotherThread(lockManager, 9L);
+    }
+
+    private static void lockFromAnotherThread(ItemLockManager lockManager, Long itemId) throws Exception {
+        CompletableFuture<RuntimeException> attempt = CompletableFuture.supplyAsync(() -> {
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                lockManager.lockUntilCompletion(itemId);
+                return null;
+            } catch (RuntimeException e) {
+                return e;
+            } finally {
+                List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+                TransactionSynchronizationManager.clearSynchronization();
+                synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+            }
+        });
+        RuntimeException failure = attempt.get();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
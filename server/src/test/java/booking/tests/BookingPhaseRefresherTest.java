@@ -0,0 +1,106 @@
+package booking.tests;
+
+import common.tests.TestFixtures;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingPhase;
+import ru.practicum.shareit.booking.BookingPhaseRefresher;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Import(TestFixtures.class)
+@SpringBootTest(classes = ru.practicum.shareit.ShareItServer.class)
+@Transactional
+public class BookingPhaseRefresherTest {
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private BookingPhaseRefresher refresher;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Booking saveWithPhase(User booker, Item item, LocalDateTime start, LocalDateTime end, BookingPhase phase) {
+        Booking booking = new Booking();
+        booking.setBooker(booker);
+        booking.setItem(item);
+        booking.setStart(start);
+        booking.setEnd(end);
+        booking.setStatus(Status.APPROVED);
+        booking.setPhase(phase);
+        return bookingRepository.save(booking);
+    }
+
+    @Test
+    void newBookingGetsPhaseFromItsTimes() {
+        User owner = userRepository.save(new User(null, "Owner Phase New", "owner.phase.new@example.com"));
+        User booker = userRepository.save(new User(null, "Booker Phase New", "booker.phase.new@example.com"));
+        Item item = fixtures.createItem("Phase Item", "Phase Description", true, owner);
+
+        LocalDateTime now = LocalDateTime.now();
+        Booking past = saveWithPhase(booker, item, now.minusDays(2), now.minusDays(1), null);
+        Booking current = saveWithPhase(booker, item, now.minusHours(1), now.plusHours(1), null);
+        Booking future = saveWithPhase(booker, item, now.plusDays(1), now.plusDays(2), null);
+
+        assertThat(past.getPhase()).isEqualTo(BookingPhase.PAST);
+        assertThat(current.getPhase()).isEqualTo(BookingPhase.CURRENT);
+        assertThat(future.getPhase()).isEqualTo(BookingPhase.FUTURE);
+    }
+
+    @Test
+    void listingsFollowTheStoredPhaseThatRefreshAdvances() {
+        User owner = userRepository.save(new User(null, "Owner Phase", "owner.phase@example.com"));
+        User booker = userRepository.save(new User(null, "Booker Phase", "booker.phase@example.com"));
+        Item item = fixtures.createItem("Phase Item", "Phase Description", true, owner);
+
+        LocalDateTime now = LocalDateTime.now();
+        Booking started = saveWithPhase(booker, item, now.minusHours(1), now.plusHours(1), BookingPhase.FUTURE);
+        Booking finished = saveWithPhase(booker, item, now.minusHours(3), now.minusHours(2), BookingPhase.CURRENT);
+        Booking skipped = saveWithPhase(booker, item, now.minusHours(6), now.minusHours(5), BookingPhase.FUTURE);
+        Booking future = saveWithPhase(booker, item, now.plusDays(1), now.plusDays(2), BookingPhase.FUTURE);
+
+        assertThat(bookingService.getBookingsByUser(booker.getId(), "CURRENT", 0, 10, null).getBookings()).isEmpty();
+        assertThat(bookingService.getBookingsByUser(booker.getId(), "PAST", 0, 10, null).getBookings()).isEmpty();
+
+        entityManager.flush();
+        refresher.refresh();
+        entityManager.clear();
+
+        assertThat(bookingService.getBookingsByUser(booker.getId(), "CURRENT", 0, 10, null).getBookings())
+                .extracting(BookingDto::getId).containsExactly(started.getId());
+        assertThat(bookingService.getBookingsByUser(booker.getId(), "PAST", 0, 10, null).getBookings())
+                .extracting(BookingDto::getId).containsExactly(finished.getId(), skipped.getId());
+
+        assertThat(bookingRepository.findById(started.getId()).orElseThrow().getPhase()).isEqualTo(BookingPhase.CURRENT);
+        assertThat(bookingRepository.findById(finished.getId()).orElseThrow().getPhase()).isEqualTo(BookingPhase.PAST);
+        assertThat(bookingRepository.findById(skipped.getId()).orElseThrow().getPhase()).isEqualTo(BookingPhase.PAST);
+        assertThat(bookingRepository.findById(future.getId()).orElseThrow().getPhase()).isEqualTo(BookingPhase.FUTURE);
+        assertThat(bookingService.getBookingsByUser(booker.getId(), "FUTURE", 0, 10, null).getBookings())
+                .extracting(BookingDto::getId).containsExactly(future.getId());
+    }
+}
@@ -0,0 +1,21 @@
+package booking.tests;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.BookingPhase;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BookingPhaseTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 6, 1, 12, 0);
+
+    @Test
+    void phaseFollowsBoundaries() {
+        assertThat(BookingPhase.at(NOW.plusHours(1), NOW.plusHours(2), NOW)).isEqualTo(BookingPhase.FUTURE);
+        assertThat(BookingPhase.at(NOW, NOW.plusHours(2), NOW)).isEqualTo(BookingPhase.CURRENT);
+        assertThat(BookingPhase.at(NOW.minusHours(1), NOW.plusHours(1), NOW)).isEqualTo(BookingPhase.CURRENT);
+        assertThat(BookingPhase.at(NOW.minusHours(2), NOW, NOW)).isEqualTo(BookingPhase.PAST);
+        assertThat(BookingPhase.at(NOW.minusHours(2), NOW.minusHours(1), NOW)).isEqualTo(BookingPhase.PAST);
+    }
+}
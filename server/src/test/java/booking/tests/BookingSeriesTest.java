@@ -0,0 +1,250 @@
+package booking.tests;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingEventType;
+import ru.practicum.shareit.booking.BookingSeries;
+import ru.practicum.shareit.booking.BookingSeriesRepository;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.Recurrence;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
+import ru.practicum.shareit.booking.dto.BookingSeriesDto;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
+import ru.practicum.shareit.exceptions.BadRequestException;
+import ru.practicum.shareit.exceptions.ConflictException;
+import ru.practicum.shareit.exceptions.ForbiddenException;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.outbox.OutboxEvent;
+import ru.practicum.shareit.outbox.OutboxRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(classes = ru.practicum.shareit.ShareItServer.class)
+@Transactional
+public class BookingSeriesTest {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private BookingSeriesRepository seriesRepository;
+
+    @Autowired
+    private OutboxRepository outboxRepository;
+
+    private User owner;
+    private User booker;
+    private Item item;
+    private LocalDateTime base;
+
+    @BeforeEach
+    void setUp() {
+        owner = saveUser("Owner", "series-owner@example.com");
+        booker = saveUser("Booker", "series-booker@example.com");
+        item = new Item();
+        item.setName("Drill");
+        item.setDescription("Cordless drill");
+        item.setAvailable(true);
+        item.setOwner(owner);
+        item = itemRepository.save(item);
+        base = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+    }
+
+    private User saveUser(String name, String email) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(email);
+        return userRepository.save(user);
+    }
+
+    private BookingSeriesDto seriesDto(LocalDateTime start, int days) {
+        BookingSeriesDto dto = new BookingSeriesDto();
+        dto.setItemId(item.getId());
+        dto.setStart(start);
+        dto.setEnd(start.plusHours(2));
+        dto.setRecurrence(Recurrence.DAILY);
+        dto.setUntil(start.plusDays(days - 1));
+        return dto;
+    }
+
+    private BookingDto bookingDto(LocalDateTime start, LocalDateTime end) {
+        BookingDto dto = new BookingDto();
+        dto.setItemId(item.getId());
+        dto.setStart(start);
+        dto.setEnd(end);
+        return dto;
+    }
+
+    @Test
+    void createsSeriesAsWaitingAndExpandsOccurrences() {
+        BookingSeriesDto created = bookingService.createSeries(booker.getId(), seriesDto(base, 10));
+
+        assertThat(created.getId()).isNotNull();
+        assertThat(created.getStatus()).isEqualTo(Status.WAITING);
+        assertThat(created.getInterval()).isEqualTo(1);
+
+        List<BookingDto> occurrences = bookingService.getSeriesOccurrences(created.getId(), owner.getId(),
+                base.plusDays(2), base.plusDays(5));
+        assertThat(occurrences).extracting(BookingDto::getStart)
+                .containsExactly(base.plusDays(2), base.plusDays(3), base.plusDays(4));
+        assertThat(occurrences).allMatch(occurrence -> created.getId().equals(occurrence.getSeriesId())
+                && occurrence.getId() == null);
+    }
+
+    @Test
+    void rejectsInvalidSeries() {
+        BookingSeriesDto selfOverlapping = seriesDto(base, 3);
+        selfOverlapping.setEnd(base.plusDays(1));
+        assertThrows(BadRequestException.class, () -> bookingService.createSeries(booker.getId(), selfOverlapping));
+
+        BookingSeriesDto tooLong = seriesDto(base, 10_000);
+        assertThrows(BadRequestException.class, () -> bookingService.createSeries(booker.getId(), tooLong));
+
+        BookingSeriesDto past = seriesDto(base.minusDays(3), 5);
+        assertThrows(BadRequestException.class, () -> bookingService.createSeries(booker.getId(), past));
+
+        BookingSeriesDto ownItem = seriesDto(base, 3);
+        assertThrows(BadRequestException.class, () -> bookingService.createSeries(owner.getId(), ownItem));
+    }
+
+    @Test
+    void approvedSeriesBlocksOverlappingBookings() {
+        BookingSeriesDto series = bookingService.createSeries(booker.getId(), seriesDto(base, 7));
+        assertThrows(ForbiddenException.class,
+                () -> bookingService.updateSeriesStatus(series.getId(), true, booker.getId()));
+        bookingService.updateSeriesStatus(series.getId(), true, owner.getId());
+
+        User other = saveUser("Other", "series-other@example.com");
+        assertThrows(ConflictException.class, () -> bookingService.createBooking(other.getId(),
+                bookingDto(base.plusDays(3).plusHours(1), base.plusDays(3).plusHours(5))));
+        assertThat(bookingService.createBooking(other.getId(),
+                bookingDto(base.plusDays(3).plusHours(2), base.plusDays(3).plusHours(5))).getId()).isNotNull();
+        assertThrows(ConflictException.class,
+                () -> bookingService.createSeries(other.getId(), seriesDto(base.plusDays(6).plusHours(1), 3)));
+        assertThrows(BadRequestException.class,
+                () -> bookingService.updateSeriesStatus(series.getId(), false, owner.getId()));
+    }
+
+    @Test
+    void approvedBookingBlocksSeriesAndSeriesBlocksApproval() {
+        BookingDto single = bookingService.createBooking(booker.getId(),
+                bookingDto(base.plusDays(2), base.plusDays(2).plusHours(1)));
+        BookingSeriesDto series = bookingService.createSeries(booker.getId(), seriesDto(base, 5));
+
+        bookingService.updateSeriesStatus(series.getId(), true, owner.getId());
+        assertThrows(ConflictException.class,
+                () -> bookingService.updateBookingStatus(single.getId(), true, owner.getId()));
+
+        bookingService.updateBookingStatus(single.getId(), false, owner.getId());
+        BookingDto later = bookingService.createBooking(booker.getId(),
+                bookingDto(base.plusDays(20), base.plusDays(21)));
+        bookingService.updateBookingStatus(later.getId(), true, owner.getId());
+        assertThrows(ConflictException.class,
+                () -> bookingService.createSeries(booker.getId(), seriesDto(base.plusDays(18), 5)));
+    }
+
+    @Test
+    void listingsMergeOccurrencesWithBookings() {
+        BookingDto single = bookingService.createBooking(booker.getId(),
+                bookingDto(base.plusDays(1).plusHours(3), base.plusDays(1).plusHours(4)));
+        BookingSeriesDto series = bookingService.createSeries(booker.getId(), seriesDto(base, 3));
+
+        BookingPageDto all = bookingService.getBookingsByUser(booker.getId(), "ALL", 0, 10, null);
+        assertThat(all.getBookings()).extracting(BookingDto::getStart).containsExactly(
+                base.plusDays(2), base.plusDays(1).plusHours(3), base.plusDays(1), base);
+        assertThat(all.getBookings().get(1).getId()).isEqualTo(single.getId());
+        assertThat(all.getNextCursor()).isNull();
+
+        assertThat(bookingService.getBookingsByOwner(owner.getId(), "WAITING", 0, 10, null).getBookings())
+                .hasSize(4);
+        assertThat(bookingService.getBookingsByOwner(owner.getId(), "FUTURE", 0, 10, null).getBookings())
+                .hasSize(4);
+        assertThat(bookingService.getBookingsByOwner(owner.getId(), "PAST", 0, 10, null).getBookings())
+                .isEmpty();
+
+        bookingService.updateSeriesStatus(series.getId(), false, owner.getId());
+        assertThat(bookingService.getBookingsByUser(booker.getId(), "REJECTED", 0, 10, null).getBookings())
+                .extracting(BookingDto::getSeriesId)
+                .containsOnly(series.getId());
+        assertThat(bookingService.getBookingsByUser(booker.getId(), "WAITING", 0, 10, null).getBookings())
+                .extracting(BookingDto::getId)
+                .containsExactly(single.getId());
+    }
+
+    @Test
+    void cursorPagesWalkMergedListingWithoutGapsOrRepeats() {
+        bookingService.createBooking(booker.getId(), bookingDto(base.plusDays(1), base.plusDays(1).plusHours(1)));
+        bookingService.createBooking(booker.getId(), bookingDto(base.plusDays(3).plusHours(5), base.plusDays(3).plusHours(6)));
+        bookingService.createSeries(booker.getId(), seriesDto(base, 5));
+
+        List<LocalDateTime> walked = new ArrayList<>();
+        String cursor = null;
+        do {
+            BookingPageDto page = bookingService.getBookingsByUser(booker.getId(), "ALL", 0, 2, cursor);
+            page.getBookings().forEach(booking -> walked.add(booking.getStart()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        List<LocalDateTime> offsetPaged = new ArrayList<>();
+        for (int from = 0; from < 8; from += 2) {
+            offsetPaged.addAll(bookingService.getBookingsByUser(booker.getId(), "ALL", from, 2, null).getBookings()
+                    .stream().map(BookingDto::getStart).collect(Collectors.toList()));
+        }
+
+        assertThat(walked).hasSize(7);
+        assertThat(walked).containsExactly(base.plusDays(4), base.plusDays(3).plusHours(5), base.plusDays(3),
+                base.plusDays(2), base.plusDays(1), base.plusDays(1), base);
+        assertThat(offsetPaged).isEqualTo(walked);
+    }
+
+    @Test
+    void summariesCountOccurrencesAndSeriesWritesEvictThemAndAreRecorded() {
+        bookingService.createBooking(booker.getId(), bookingDto(base.plusDays(5), base.plusDays(5).plusHours(1)));
+        BookingSeriesDto created = bookingService.createSeries(booker.getId(), seriesDto(base, 3));
+        LocalDateTime now = LocalDateTime.now();
+        BookingSeries running = new BookingSeries();
+        running.setItem(item);
+        running.setBooker(booker);
+        running.setStart(now.minusDays(2).minusHours(1));
+        running.setEnd(now.minusDays(2).plusHours(1));
+        running.setRecurrence(Recurrence.DAILY);
+        running.setInterval(1);
+        running.setUntil(now.plusDays(2).minusHours(1));
+        running.setStatus(Status.REJECTED);
+        seriesRepository.save(running);
+
+        BookingSummaryDto expected = new BookingSummaryDto(9, 1, 2, 6, 4, 5, 0);
+        assertThat(bookingService.getBookingSummaryByUser(booker.getId())).isEqualTo(expected);
+        assertThat(bookingService.getBookingSummaryByOwner(owner.getId())).isEqualTo(expected);
+
+        bookingService.updateSeriesStatus(created.getId(), true, owner.getId());
+
+        assertThat(bookingService.getBookingSummaryByUser(booker.getId()).getWaiting()).isEqualTo(1);
+        assertThat(bookingService.getBookingSummaryByOwner(owner.getId()).getWaiting()).isEqualTo(1);
+        assertThat(outboxRepository.findAll()).extracting(OutboxEvent::getType, OutboxEvent::getAggregateId)
+                .contains(tuple(BookingEventType.SERIES_CREATED.name(), created.getId()),
+                        tuple(BookingEventType.SERIES_STATUS_CHANGED.name(), created.getId()));
+    }
+}
@@ -1,15 +1,26 @@
 package booking.tests;
 
+import common.tests.TestFixtures;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.BookingService;
 import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
 import ru.practicum.shareit.exceptions.BadRequestException;
+import ru.practicum.shareit.exceptions.ConflictException;
 import ru.practicum.shareit.exceptions.ForbiddenException;
 import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.item.ItemRepository;
@@ -18,15 +29,20 @@ import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+@Import(TestFixtures.class)
 @SpringBootTest(classes = ru.practicum.shareit.ShareItServer.class)
 @Transactional
 public class BookingServiceImplTest {
 
+    @Autowired
+    private TestFixtures fixtures;
+
     @Autowired
     private BookingService bookingService;
 
@@ -39,6 +55,9 @@ public class BookingServiceImplTest {
     @Autowired
     private ItemRepository itemRepository;
 
+    @Autowired
+    private EntityManager entityManager;
+
     private Item createItemForOwner(User owner) {
         Item item = new Item();
         item.setName("Test Item");
@@ -301,7 +320,7 @@ public class BookingServiceImplTest {
         futureBooking.setBooker(booker);
         bookingRepository.save(futureBooking);
 
-        List<BookingDto> currentBookings = bookingService.getBookingsByUser(booker.getId(), "CURRENT");
+        List<BookingDto> currentBookings = bookingService.getBookingsByUser(booker.getId(), "CURRENT", 0, 10, null).getBookings();
 
         assertThat(currentBookings).hasSize(1);
         assertThat(currentBookings.get(0).getId()).isEqualTo(currentBooking.getId());
@@ -352,7 +371,7 @@ public class BookingServiceImplTest {
         currentBooking.setBooker(booker);
         bookingRepository.save(currentBooking);
 
-        List<BookingDto> futureBookings = bookingService.getBookingsByUser(booker.getId(), "FUTURE");
+        List<BookingDto> futureBookings = bookingService.getBookingsByUser(booker.getId(), "FUTURE", 0, 10, null).getBookings();
 
         assertThat(futureBookings).hasSize(2);
         assertThat(futureBookings.get(0).getId()).isEqualTo(futureBooking2.getId());
@@ -404,7 +423,7 @@ public class BookingServiceImplTest {
         futureBooking.setBooker(booker);
         bookingRepository.save(futureBooking);
 
-        List<BookingDto> result = bookingService.getBookingsByOwner(owner.getId(), "CURRENT");
+        List<BookingDto> result = bookingService.getBookingsByOwner(owner.getId(), "CURRENT", 0, 10, null).getBookings();
 
         assertThat(result).hasSize(1);
         assertThat(result.get(0).getId()).isEqualTo(currentBooking.getId());
@@ -455,7 +474,7 @@ public class BookingServiceImplTest {
         currentBooking.setBooker(booker);
         bookingRepository.save(currentBooking);
 
-        List<BookingDto> result = bookingService.getBookingsByOwner(owner.getId(), "FUTURE");
+        List<BookingDto> result = bookingService.getBookingsByOwner(owner.getId(), "FUTURE", 0, 10, null).getBookings();
 
         assertThat(result).hasSize(2);
         assertThat(result.get(0).getId()).isEqualTo(futureBooking2.getId());
@@ -497,7 +516,7 @@ public class BookingServiceImplTest {
         futureBooking.setBooker(booker);
         bookingRepository.save(futureBooking);
 
-        List<BookingDto> result = bookingService.getBookingsByOwner(owner.getId(), "CURRENT");
+        List<BookingDto> result = bookingService.getBookingsByOwner(owner.getId(), "CURRENT", 0, 10, null).getBookings();
 
         assertThat(result).hasSize(1);
         assertThat(result.get(0).getId()).isEqualTo(currentBooking.getId());
@@ -538,7 +557,7 @@ public class BookingServiceImplTest {
         futureBooking.setBooker(booker);
         bookingRepository.save(futureBooking);
 
-        List<BookingDto> result = bookingService.getBookingsByOwner(owner.getId(), "PAST");
+        List<BookingDto> result = bookingService.getBookingsByOwner(owner.getId(), "PAST", 0, 10, null).getBookings();
 
         assertThat(result).hasSize(2);
         assertThat(result.get(0).getId()).isEqualTo(booking2.getId());
@@ -580,7 +599,7 @@ public class BookingServiceImplTest {
         currentBooking.setBooker(booker);
         bookingRepository.save(currentBooking);
 
-        List<BookingDto> result = bookingService.getBookingsByOwner(owner.getId(), "FUTURE");
+        List<BookingDto> result = bookingService.getBookingsByOwner(owner.getId(), "FUTURE", 0, 10, null).getBookings();
 
         assertThat(result).hasSize(2);
         assertThat(result.get(0).getId()).isEqualTo(booking2.getId());
@@ -614,7 +633,7 @@ public class BookingServiceImplTest {
         bookingApproved.setBooker(booker);
         bookingRepository.save(bookingApproved);
 
-        List<BookingDto> result = bookingService.getBookingsByOwner(owner.getId(), "WAITING");
+        List<BookingDto> result = bookingService.getBookingsByOwner(owner.getId(), "WAITING", 0, 10, null).getBookings();
 
         assertThat(result).hasSize(1);
         assertThat(result.get(0).getId()).isEqualTo(bookingWaiting.getId());
@@ -647,7 +666,7 @@ public class BookingServiceImplTest {
         bookingWaiting.setBooker(booker);
         bookingRepository.save(bookingWaiting);
 
-        List<BookingDto> result = bookingService.getBookingsByOwner(owner.getId(), "REJECTED");
+        List<BookingDto> result = bookingService.getBookingsByOwner(owner.getId(), "REJECTED", 0, 10, null).getBookings();
 
         assertThat(result).hasSize(1);
         assertThat(result.get(0).getId()).isEqualTo(bookingRejected.getId());
@@ -688,7 +707,7 @@ public class BookingServiceImplTest {
         booking3.setBooker(booker);
         bookingRepository.save(booking3);
 
-        List<BookingDto> result = bookingService.getBookingsByOwner(owner.getId(), "ALL");
+        List<BookingDto> result = bookingService.getBookingsByOwner(owner.getId(), "ALL", 0, 10, null).getBookings();
 
         assertThat(result).hasSize(3);
         assertThat(result.get(0).getStart()).isAfterOrEqualTo(result.get(1).getStart());
@@ -1015,32 +1034,23 @@ public class BookingServiceImplTest {
         Long nonExistentUserId = 999L;
 
         assertThrows(NotFoundException.class, () ->
-                bookingService.getBookingsByUser(nonExistentUserId, "ALL")
+                bookingService.getBookingsByUser(nonExistentUserId, "ALL", 0, 10, null).getBookings()
         );
     }
 
     @Test
     void testGetBookingsByUserPast() {
-        User booker = createUser("Booker2", "booker2@example.com");
-        User owner = createUser("Owner2", "owner2@example.com");
-        Item item = createItem("Item2", "Desc2", true, owner);
+        User booker = fixtures.createUser("Booker2", "booker2@example.com");
+        User owner = fixtures.createUser("Owner2", "owner2@example.com");
+        Item item = fixtures.createItem("Item2", "Desc2", true, owner);
 
-        Booking past1 = createBooking(booker, item,
-                LocalDateTime.now().minusDays(3),
-                LocalDateTime.now().minusDays(2),
-                Status.APPROVED);
+        Booking past1 = fixtures.createBooking(booker, item, LocalDateTime.now().minusDays(3), LocalDateTime.now().minusDays(2), Status.APPROVED);
 
-        Booking past2 = createBooking(booker, item,
-                LocalDateTime.now().minusDays(2),
-                LocalDateTime.now().minusDays(1),
-                Status.APPROVED);
+        Booking past2 = fixtures.createBooking(booker, item, LocalDateTime.now().minusDays(2), LocalDateTime.now().minusDays(1), Status.APPROVED);
 
-        createBooking(booker, item,
-                LocalDateTime.now().minusHours(2),
-                LocalDateTime.now().plusHours(1),
-                Status.APPROVED);
+        fixtures.createBooking(booker, item, LocalDateTime.now().minusHours(2), LocalDateTime.now().plusHours(1), Status.APPROVED);
 
-        List<BookingDto> result = bookingService.getBookingsByUser(booker.getId(), "PAST");
+        List<BookingDto> result = bookingService.getBookingsByUser(booker.getId(), "PAST", 0, 10, null).getBookings();
 
         assertThat(result).hasSize(2);
         assertThat(result.get(0).getId()).isEqualTo(past2.getId());
@@ -1049,26 +1059,17 @@ public class BookingServiceImplTest {
 
     @Test
     void testGetBookingsByUserWaiting() {
-        User booker = createUser("Booker4", "booker4@example.com");
-        User owner = createUser("Owner4", "owner4@example.com");
-        Item item = createItem("Item4", "Desc4", true, owner);
+        User booker = fixtures.createUser("Booker4", "booker4@example.com");
+        User owner = fixtures.createUser("Owner4", "owner4@example.com");
+        Item item = fixtures.createItem("Item4", "Desc4", true, owner);
 
-        Booking waiting1 = createBooking(booker, item,
-                LocalDateTime.now().plusDays(1),
-                LocalDateTime.now().plusDays(2),
-                Status.WAITING);
+        Booking waiting1 = fixtures.createBooking(booker, item, LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2), Status.WAITING);
 
-        Booking waiting2 = createBooking(booker, item,
-                LocalDateTime.now().plusDays(2),
-                LocalDateTime.now().plusDays(3),
-                Status.WAITING);
+        Booking waiting2 = fixtures.createBooking(booker, item, LocalDateTime.now().plusDays(2), LocalDateTime.now().plusDays(3), Status.WAITING);
 
-        createBooking(booker, item,
-                LocalDateTime.now().minusDays(1),
-                LocalDateTime.now().plusDays(1),
-                Status.APPROVED);
+        fixtures.createBooking(booker, item, LocalDateTime.now().minusDays(1), LocalDateTime.now().plusDays(1), Status.APPROVED);
 
-        List<BookingDto> result = bookingService.getBookingsByUser(booker.getId(), "WAITING");
+        List<BookingDto> result = bookingService.getBookingsByUser(booker.getId(), "WAITING", 0, 10, null).getBookings();
 
         assertThat(result).hasSize(2);
         assertThat(result.get(0).getId()).isEqualTo(waiting2.getId());
@@ -1077,26 +1078,17 @@ public class BookingServiceImplTest {
 
     @Test
     void testGetBookingsByUserRejected() {
-        User booker = createUser("Booker5", "booker5@example.com");
-        User owner = createUser("Owner5", "owner5@example.com");
-        Item item = createItem("Item5", "Desc5", true, owner);
+        User booker = fixtures.createUser("Booker5", "booker5@example.com");
+        User owner = fixtures.createUser("Owner5", "owner5@example.com");
+        Item item = fixtures.createItem("Item5", "Desc5", true, owner);
 
-        Booking rejected1 = createBooking(booker, item,
-                LocalDateTime.now().plusHours(1),
-                LocalDateTime.now().plusHours(2),
-                Status.REJECTED);
+        Booking rejected1 = fixtures.createBooking(booker, item, LocalDateTime.now().plusHours(1), LocalDateTime.now().plusHours(2), Status.REJECTED);
 
-        Booking rejected2 = createBooking(booker, item,
-                LocalDateTime.now().plusHours(3),
-                LocalDateTime.now().plusHours(4),
-                Status.REJECTED);
+        Booking rejected2 = fixtures.createBooking(booker, item, LocalDateTime.now().plusHours(3), LocalDateTime.now().plusHours(4), Status.REJECTED);
 
-        createBooking(booker, item,
-                LocalDateTime.now().minusHours(1),
-                LocalDateTime.now().plusHours(1),
-                Status.WAITING);
+        fixtures.createBooking(booker, item, LocalDateTime.now().minusHours(1), LocalDateTime.now().plusHours(1), Status.WAITING);
 
-        List<BookingDto> result = bookingService.getBookingsByUser(booker.getId(), "REJECTED");
+        List<BookingDto> result = bookingService.getBookingsByUser(booker.getId(), "REJECTED", 0, 10, null).getBookings();
 
         assertThat(result).hasSize(2);
         assertThat(result.get(0).getId()).isEqualTo(rejected2.getId());
@@ -1105,26 +1097,17 @@ public class BookingServiceImplTest {
 
     @Test
     void testGetBookingsByUserAll() {
-        User booker = createUser("Booker6", "booker6@example.com");
-        User owner = createUser("Owner6", "owner6@example.com");
-        Item item = createItem("Item6", "Desc6", true, owner);
+        User booker = fixtures.createUser("Booker6", "booker6@example.com");
+        User owner = fixtures.createUser("Owner6", "owner6@example.com");
+        Item item = fixtures.createItem("Item6", "Desc6", true, owner);
 
-        Booking b1 = createBooking(booker, item,
-                LocalDateTime.now().plusHours(1),
-                LocalDateTime.now().plusHours(2),
-                Status.APPROVED);
+        Booking b1 = fixtures.createBooking(booker, item, LocalDateTime.now().plusHours(1), LocalDateTime.now().plusHours(2), Status.APPROVED);
 
-        Booking b2 = createBooking(booker, item,
-                LocalDateTime.now().plusHours(3),
-                LocalDateTime.now().plusHours(4),
-                Status.WAITING);
+        Booking b2 = fixtures.createBooking(booker, item, LocalDateTime.now().plusHours(3), LocalDateTime.now().plusHours(4), Status.WAITING);
 
-        Booking b3 = createBooking(booker, item,
-                LocalDateTime.now().plusHours(5),
-                LocalDateTime.now().plusHours(6),
-                Status.REJECTED);
+        Booking b3 = fixtures.createBooking(booker, item, LocalDateTime.now().plusHours(5), LocalDateTime.now().plusHours(6), Status.REJECTED);
 
-        List<BookingDto> result = bookingService.getBookingsByUser(booker.getId(), "ALL");
+        List<BookingDto> result = bookingService.getBookingsByUser(booker.getId(), "ALL", 0, 10, null).getBookings();
 
         assertThat(result).hasSize(3);
         assertThat(result.get(0).getId()).isEqualTo(b3.getId());
@@ -1132,40 +1115,360 @@ public class BookingServiceImplTest {
         assertThat(result.get(2).getId()).isEqualTo(b1.getId());
     }
 
-    private User createUser(String name, String email) {
-        User user = new User();
-        user.setName(name);
-        user.setEmail(email);
-        return userRepository.save(user);
+    @Test
+    void testGetBookingsByOwnerUserNotFound() {
+        Long nonExistentUserId = 999L;
+        String state = "ALL";
+
+        assertThrows(NotFoundException.class, () ->
+                bookingService.getBookingsByOwner(nonExistentUserId, state, 0, 10, null).getBookings()
+        );
     }
 
-    private Item createItem(String name, String desc, boolean available, User owner) {
-        Item item = new Item();
-        item.setName(name);
-        item.setDescription(desc);
-        item.setAvailable(available);
-        item.setOwner(owner);
-        return itemRepository.save(item);
+    @Test
+    void testGetBookingsByUserCursorWalksAllPages() {
+        User booker = fixtures.createUser("Booker Pages", "booker.pages@example.com");
+        User owner = fixtures.createUser("Owner Pages", "owner.pages@example.com");
+        Item item = fixtures.createItem("Item Pages", "Desc Pages", true, owner);
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        for (int i = 0; i < 5; i++) {
+            fixtures.createBooking(booker, item, start.plusHours(i), start.plusHours(i + 1), Status.WAITING);
+        }
+        fixtures.createBooking(booker, item, start, start.plusHours(1), Status.APPROVED);
+
+        BookingPageDto first = bookingService.getBookingsByUser(booker.getId(), "ALL", 0, 4, null);
+        assertThat(first.getBookings()).hasSize(4);
+        assertThat(first.getNextCursor()).isNotNull();
+
+        BookingPageDto second = bookingService.getBookingsByUser(booker.getId(), "ALL", 0, 4, first.getNextCursor());
+        assertThat(second.getBookings()).hasSize(2);
+        assertThat(second.getNextCursor()).isNull();
+
+        assertThat(second.getBookings().get(0).getStart()).isBeforeOrEqualTo(first.getBookings().get(3).getStart());
+        assertThat(first.getBookings()).extracting(BookingDto::getId)
+                .doesNotContainAnyElementsOf(second.getBookings().stream().map(BookingDto::getId).toList());
     }
 
-    private Booking createBooking(User booker, Item item, LocalDateTime start, LocalDateTime end, Status status) {
-        Booking booking = new Booking();
-        booking.setBooker(booker);
-        booking.setItem(item);
-        booking.setStart(start);
-        booking.setEnd(end);
-        booking.setStatus(status);
-        return bookingRepository.save(booking);
+    @Test
+    void testGetBookingsByOwnerCursorFiltersByState() {
+        User booker = fixtures.createUser("Booker Waiting Pages", "booker.waiting.pages@example.com");
+        User owner = fixtures.createUser("Owner Waiting Pages", "owner.waiting.pages@example.com");
+        Item item = fixtures.createItem("Item Waiting Pages", "Desc", true, owner);
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        Booking w1 = fixtures.createBooking(booker, item, start, start.plusHours(1), Status.WAITING);
+        fixtures.createBooking(booker, item, start.plusHours(2), start.plusHours(3), Status.REJECTED);
+        Booking w2 = fixtures.createBooking(booker, item, start.plusHours(4), start.plusHours(5), Status.WAITING);
+
+        BookingPageDto first = bookingService.getBookingsByOwner(owner.getId(), "WAITING", 0, 1, null);
+        BookingPageDto second = bookingService.getBookingsByOwner(owner.getId(), "WAITING", 0, 1, first.getNextCursor());
+
+        assertThat(first.getBookings()).extracting(BookingDto::getId).containsExactly(w2.getId());
+        assertThat(second.getBookings()).extracting(BookingDto::getId).containsExactly(w1.getId());
     }
 
     @Test
-    void testGetBookingsByOwnerUserNotFound() {
-        Long nonExistentUserId = 999L;
-        String state = "ALL";
+    void testGetBookingsByUserPageSizeIsCapped() {
+        User booker = fixtures.createUser("Booker Cap", "booker.cap@example.com");
+        User owner = fixtures.createUser("Owner Cap", "owner.cap@example.com");
+        Item item = fixtures.createItem("Item Cap", "Desc", true, owner);
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        for (int i = 0; i < 102; i++) {
+            fixtures.createBooking(booker, item, start.plusHours(i), start.plusHours(i + 1), Status.WAITING);
+        }
+
+        BookingPageDto page = bookingService.getBookingsByUser(booker.getId(), "ALL", 0, 1000, null);
+
+        assertThat(page.getBookings()).hasSize(100);
+        assertThat(page.getNextCursor()).isNotNull();
+    }
+
+    @Test
+    void testGetBookingsByUserLegacyFromOffset() {
+        User booker = fixtures.createUser("Booker From", "booker.from@example.com");
+        User owner = fixtures.createUser("Owner From", "owner.from@example.com");
+        Item item = fixtures.createItem("Item From", "Desc", true, owner);
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        Booking oldest = fixtures.createBooking(booker, item, start, start.plusHours(1), Status.WAITING);
+        fixtures.createBooking(booker, item, start.plusHours(2), start.plusHours(3), Status.WAITING);
+
+        BookingPageDto page = bookingService.getBookingsByUser(booker.getId(), "ALL", 1, 1, null);
+
+        assertThat(page.getBookings()).extracting(BookingDto::getId).containsExactly(oldest.getId());
+        assertThat(bookingService.getBookingsByUser(booker.getId(), "ALL", 1, 10, null).getBookings())
+                .extracting(BookingDto::getId).containsExactly(oldest.getId());
+    }
+
+    @Test
+    void testGetBookingsByUserInvalidPaging() {
+        User booker = fixtures.createUser("Booker Invalid", "booker.invalid@example.com");
+
+        assertThrows(BadRequestException.class, () ->
+                bookingService.getBookingsByUser(booker.getId(), "ALL", -1, 10, null));
+        assertThrows(BadRequestException.class, () ->
+                bookingService.getBookingsByUser(booker.getId(), "ALL", 0, 0, null));
+        assertThrows(BadRequestException.class, () ->
+                bookingService.getBookingsByUser(booker.getId(), "ALL", 0, 10, "not a cursor"));
+    }
+
+    @Test
+    void testGetBookingsByOwnerStatementCountIndependentOfSize() {
+        User owner = fixtures.createUser("Owner Fetch", "owner.fetch@example.com");
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        for (int i = 0; i < 3; i++) {
+            User booker = fixtures.createUser("Booker Fetch " + i, "booker.fetch" + i + "@example.com");
+            Item item = fixtures.createItem("Item Fetch " + i, "Desc", true, owner);
+            fixtures.createBooking(booker, item, start.plusHours(i), start.plusHours(i + 1), Status.WAITING);
+        }
+
+        long smallListStatements = countStatements(() ->
+                bookingService.getBookingsByOwner(owner.getId(), "ALL", 0, 100, null));
+
+        for (int i = 3; i < 30; i++) {
+            User booker = fixtures.createUser("Booker Fetch " + i, "booker.fetch" + i + "@example.com");
+            Item item = fixtures.createItem("Item Fetch " + i, "Desc", true, owner);
+            fixtures.createBooking(booker, item, start.plusHours(i), start.plusHours(i + 1), Status.WAITING);
+        }
+
+        List<BookingDto> bookings = new ArrayList<>();
+        long largeListStatements = countStatements(() ->
+                bookings.addAll(bookingService.getBookingsByOwner(owner.getId(), "ALL", 0, 100, null).getBookings()));
+
+        assertThat(bookings).hasSize(30);
+        assertThat(bookings).allSatisfy(booking -> {
+            assertThat(booking.getBooker().getName()).startsWith("Booker Fetch");
+            assertThat(booking.getItem().getName()).startsWith("Item Fetch");
+            assertThat(booking.getItem().getOwnerId()).isEqualTo(owner.getId());
+        });
+        assertThat(largeListStatements).isEqualTo(smallListStatements);
+    }
+
+    private long countStatements(Runnable action) {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    void testCreateBookingOverlappingApprovedBookingIsRejected() {
+        User booker = fixtures.createUser("Booker Overlap", "booker.overlap@example.com");
+        User owner = fixtures.createUser("Owner Overlap", "owner.overlap@example.com");
+        Item item = fixtures.createItem("Item Overlap", "Desc", true, owner);
 
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        fixtures.createBooking(booker, item, start, start.plusHours(4), Status.APPROVED);
+
+        BookingDto overlapping = new BookingDto();
+        overlapping.setItemId(item.getId());
+        overlapping.setStart(start.plusHours(2));
+        overlapping.setEnd(start.plusHours(6));
+
+        BookingDto adjacent = new BookingDto();
+        adjacent.setItemId(item.getId());
+        adjacent.setStart(start.plusHours(4));
+        adjacent.setEnd(start.plusHours(6));
+
+        User other = fixtures.createUser("Other Overlap", "other.overlap@example.com");
+        assertThrows(ConflictException.class, () -> bookingService.createBooking(other.getId(), overlapping));
+        assertThat(bookingService.createBooking(other.getId(), adjacent).getStatus()).isEqualTo(Status.WAITING);
+    }
+
+    @Test
+    void testApproveOverlappingWaitingBookingIsRejected() {
+        User booker = fixtures.createUser("Booker Approve Overlap", "booker.approve.overlap@example.com");
+        User owner = fixtures.createUser("Owner Approve Overlap", "owner.approve.overlap@example.com");
+        Item item = fixtures.createItem("Item Approve Overlap", "Desc", true, owner);
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        Booking first = fixtures.createBooking(booker, item, start, start.plusHours(4), Status.WAITING);
+        Booking second = fixtures.createBooking(booker, item, start.plusHours(1), start.plusHours(5), Status.WAITING);
+
+        bookingService.updateBookingStatus(first.getId(), true, owner.getId());
+
+        assertThrows(ConflictException.class, () ->
+                bookingService.updateBookingStatus(second.getId(), true, owner.getId()));
+        assertThat(bookingService.updateBookingStatus(second.getId(), false, owner.getId()).getStatus())
+                .isEqualTo(Status.REJECTED);
+    }
+
+    @Test
+    void testCreateBookingsReportsResultPerElement() {
+        User booker = fixtures.createUser("Booker Batch", "booker.batch@example.com");
+        User owner = fixtures.createUser("Owner Batch", "owner.batch@example.com");
+        Item item = fixtures.createItem("Item Batch", "Desc", true, owner);
+        Item unavailable = fixtures.createItem("Item Batch Unavailable", "Desc", false, owner);
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<BookingDto> batch = List.of(
+                new BookingDto(null, item.getId(), start, start.plusHours(1), null, null, null, null),
+                new BookingDto(null, 999_999L, start, start.plusHours(1), null, null, null, null),
+                new BookingDto(null, unavailable.getId(), start, start.plusHours(1), null, null, null, null),
+                new BookingDto(null, item.getId(), start.plusHours(2), start.plusHours(3), null, null, null, null));
+
+        List<BookingBatchResultDto> results = bookingService.createBookings(booker.getId(), batch);
+
+        assertThat(results).extracting(BookingBatchResultDto::getStatus).containsExactly(201, 404, 400, 201);
+        assertThat(results.get(0).getBooking().getId()).isNotNull();
+        assertThat(results.get(0).getBooking().getStatus()).isEqualTo(Status.WAITING);
+        assertThat(results.get(1).getBooking()).isNull();
+        assertThat(results.get(1).getError()).contains("999999");
+        assertThat(results.get(3).getBooking().getStart()).isEqualTo(start.plusHours(2));
+        assertThat(bookingRepository.findAll()).filteredOn(b -> b.getBooker().getId().equals(booker.getId())).hasSize(2);
+    }
+
+    @Test
+    void testCreateBookingsUsesJdbcBatches() {
+        User booker = fixtures.createUser("Booker Jdbc Batch", "booker.jdbc.batch@example.com");
+        User owner = fixtures.createUser("Owner Jdbc Batch", "owner.jdbc.batch@example.com");
+        Item item = fixtures.createItem("Item Jdbc Batch", "Desc", true, owner);
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<BookingDto> batch = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            batch.add(new BookingDto(null, item.getId(), start.plusHours(i), start.plusHours(i + 1), null, null, null, null));
+        }
+
+        long statements = countStatements(() -> {
+            bookingService.createBookings(booker.getId(), batch);
+            entityManager.flush();
+        });
+
+        assertThat(bookingRepository.findAll()).filteredOn(b -> b.getBooker().getId().equals(booker.getId())).hasSize(40);
+        assertThat(statements).isLessThan(10);
+    }
+
+    @Test
+    void testCreateBookingsRejectsEmptyOrOversizedBatch() {
+        User booker = fixtures.createUser("Booker Batch Size", "booker.batch.size@example.com");
+        List<BookingDto> oversized = new ArrayList<>();
+        for (int i = 0; i < 101; i++) {
+            oversized.add(new BookingDto());
+        }
+
+        assertThrows(BadRequestException.class, () -> bookingService.createBookings(booker.getId(), List.of()));
+        assertThrows(BadRequestException.class, () -> bookingService.createBookings(booker.getId(), oversized));
+        assertThrows(NotFoundException.class, () -> bookingService.createBookings(999L, List.of(new BookingDto())));
+    }
+
+    @Test
+    void testUpdateBookingStatusesDecidesOnlyOwnedWaitingBookings() {
+        User booker = fixtures.createUser("Booker Bulk", "booker.bulk@example.com");
+        User owner = fixtures.createUser("Owner Bulk", "owner.bulk@example.com");
+        User stranger = fixtures.createUser("Stranger Bulk", "stranger.bulk@example.com");
+        Item item = fixtures.createItem("Item Bulk", "Desc", true, owner);
+        Item foreignItem = fixtures.createItem("Item Bulk Foreign", "Desc", true, stranger);
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        Booking waiting1 = fixtures.createBooking(booker, item, start, start.plusHours(1), Status.WAITING);
+        Booking waiting2 = fixtures.createBooking(booker, item, start.plusHours(2), start.plusHours(3), Status.WAITING);
+        Booking overlapping = fixtures.createBooking(booker, item, start.plusHours(2), start.plusHours(4), Status.WAITING);
+        Booking decided = fixtures.createBooking(booker, item, start.plusHours(5), start.plusHours(6), Status.REJECTED);
+        Booking foreign = fixtures.createBooking(booker, foreignItem, start, start.plusHours(1), Status.WAITING);
+
+        List<Long> ids = List.of(waiting1.getId(), waiting2.getId(), overlapping.getId(), decided.getId(),
+                foreign.getId(), 999_999L);
+        BookingDecisionResultDto result = bookingService.updateBookingStatuses(new BookingDecisionDto(ids, true),
+                owner.getId());
+
+        assertThat(result.getUpdated()).containsExactlyInAnyOrder(waiting1.getId(), waiting2.getId());
+        assertThat(result.getSkipped()).containsExactly(overlapping.getId(), decided.getId(), foreign.getId(), 999_999L);
+        assertThat(bookingRepository.findById(waiting1.getId()).orElseThrow().getStatus()).isEqualTo(Status.APPROVED);
+        assertThat(bookingRepository.findById(waiting2.getId()).orElseThrow().getStatus()).isEqualTo(Status.APPROVED);
+        assertThat(bookingRepository.findById(overlapping.getId()).orElseThrow().getStatus()).isEqualTo(Status.WAITING);
+        assertThat(bookingRepository.findById(foreign.getId()).orElseThrow().getStatus()).isEqualTo(Status.WAITING);
+    }
+
+    @Test
+    void testUpdateBookingStatusesRejectsInBulk() {
+        User booker = fixtures.createUser("Booker Bulk Reject", "booker.bulk.reject@example.com");
+        User owner = fixtures.createUser("Owner Bulk Reject", "owner.bulk.reject@example.com");
+        Item item = fixtures.createItem("Item Bulk Reject", "Desc", true, owner);
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        Booking first = fixtures.createBooking(booker, item, start, start.plusHours(2), Status.WAITING);
+        Booking second = fixtures.createBooking(booker, item, start.plusHours(1), start.plusHours(3), Status.WAITING);
+
+        BookingDecisionResultDto result = bookingService.updateBookingStatuses(
+                new BookingDecisionDto(List.of(first.getId(), second.getId()), false), owner.getId());
+
+        assertThat(result.getUpdated()).containsExactly(first.getId(), second.getId());
+        assertThat(result.getSkipped()).isEmpty();
+        assertThat(bookingRepository.findAll())
+                .filteredOn(b -> b.getItem().getOwner().getId().equals(owner.getId()) && b.getStatus() == Status.REJECTED)
+                .hasSize(2);
+    }
+
+    @Test
+    void testUpdateBookingStatusesValidation() {
+        User owner = fixtures.createUser("Owner Bulk Invalid", "owner.bulk.invalid@example.com");
+
+        assertThrows(BadRequestException.class, () ->
+                bookingService.updateBookingStatuses(new BookingDecisionDto(List.of(1L), null), owner.getId()));
+        assertThrows(BadRequestException.class, () ->
+                bookingService.updateBookingStatuses(new BookingDecisionDto(List.of(), true), owner.getId()));
         assertThrows(NotFoundException.class, () ->
-                bookingService.getBookingsByOwner(nonExistentUserId, state)
-        );
+                bookingService.updateBookingStatuses(new BookingDecisionDto(List.of(1L), true), 999L));
+    }
+
+
+    @Test
+    void testBookingSummaryCountsEveryState() {
+        User owner = fixtures.createUser("Owner Summary", "owner.summary@example.com");
+        User booker = fixtures.createUser("Booker Summary", "booker.summary@example.com");
+        Item item = fixtures.createItem("Summary Item", "Desc", true, owner);
+        LocalDateTime now = LocalDateTime.now();
+        fixtures.createBooking(booker, item, now.minusDays(3), now.minusDays(2), Status.APPROVED);
+        fixtures.createBooking(booker, item, now.minusDays(1), now.plusDays(1), Status.APPROVED);
+        fixtures.createBooking(booker, item, now.plusDays(2), now.plusDays(3), Status.WAITING);
+        fixtures.createBooking(booker, item, now.plusDays(4), now.plusDays(5), Status.REJECTED);
+
+        BookingSummaryDto expected = new BookingSummaryDto(4, 1, 1, 2, 1, 1, 0);
+        assertThat(bookingService.getBookingSummaryByUser(booker.getId())).isEqualTo(expected);
+        assertThat(bookingService.getBookingSummaryByOwner(owner.getId())).isEqualTo(expected);
+        assertThat(bookingService.getBookingSummaryByUser(owner.getId())).isEqualTo(new BookingSummaryDto());
     }
 
+    @Test
+    void testBookingSummaryIsServedFromCacheUntilBookingsChange() {
+        User owner = fixtures.createUser("Owner Summary Cache", "owner.summary.cache@example.com");
+        User booker = fixtures.createUser("Booker Summary Cache", "booker.summary.cache@example.com");
+        Item item = fixtures.createItem("Summary Cache Item", "Desc", true, owner);
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        BookingDto request = new BookingDto();
+        request.setItemId(item.getId());
+        request.setStart(start);
+        request.setEnd(start.plusDays(1));
+        bookingService.createBooking(booker.getId(), request);
+        entityManager.flush();
+
+        assertThat(bookingService.getBookingSummaryByOwner(owner.getId()).getWaiting()).isEqualTo(1);
+        long statements = countStatements(() -> bookingService.getBookingSummaryByOwner(owner.getId()));
+        assertThat(statements).isEqualTo(1);
+
+        BookingDto next = new BookingDto();
+        next.setItemId(item.getId());
+        next.setStart(start.plusDays(2));
+        next.setEnd(start.plusDays(3));
+        BookingDto created = bookingService.createBooking(booker.getId(), next);
+        entityManager.flush();
+        assertThat(bookingService.getBookingSummaryByOwner(owner.getId()).getWaiting()).isEqualTo(2);
+        assertThat(bookingService.getBookingSummaryByUser(booker.getId()).getFuture()).isEqualTo(2);
+
+        bookingService.updateBookingStatus(created.getId(), false, owner.getId());
+        BookingSummaryDto afterDecision = bookingService.getBookingSummaryByUser(booker.getId());
+        assertThat(afterDecision.getWaiting()).isEqualTo(1);
+        assertThat(afterDecision.getRejected()).isEqualTo(1);
+    }
+
+    @Test
+    void testBookingSummaryUserNotFound() {
+        assertThrows(NotFoundException.class, () -> bookingService.getBookingSummaryByUser(999L));
+        assertThrows(NotFoundException.class, () -> bookingService.getBookingSummaryByOwner(999L));
+    }
 }
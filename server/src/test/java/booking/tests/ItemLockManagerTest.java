@@ -0,0 +1,106 @@
+package booking.tests;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.ItemLockManager;
+import ru.practicum.shareit.exceptions.ConflictException;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ItemLockManagerTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ItemLockManager lockManager = new ItemLockManager(256, 5_000, meterRegistry);
+    private final ExecutorService executor = Executors.newFixedThreadPool(3);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private static void inTransaction(Runnable action) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            action.run();
+        } finally {
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            TransactionSynchronizationManager.clearSynchronization();
+            synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        }
+    }
+
+    @Test
+    void sameItemQueuesWhileOtherItemsProceed() throws Exception {
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() -> inTransaction(() -> {
+            lockManager.lockUntilCompletion(1L);
+            holding.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }), executor);
+        assertThat(holding.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<Void> sameItem = CompletableFuture.runAsync(() ->
+                inTransaction(() -> lockManager.lockUntilCompletion(1L)), executor);
+        CompletableFuture<Void> otherItem = CompletableFuture.runAsync(() ->
+                inTransaction(() -> lockManager.lockUntilCompletion(2L)), executor);
+
+        otherItem.get(5, TimeUnit.SECONDS);
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (lockManager.queueDepth() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(sameItem).isNotDone();
+        assertThat(meterRegistry.get("shareit.booking.item.lock.queue").gauge().value()).isEqualTo(1.0);
+
+        release.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+        sameItem.get(5, TimeUnit.SECONDS);
+        assertThat(lockManager.queueDepth()).isZero();
+        assertThat(meterRegistry.get("shareit.booking.item.lock.wait").timer().count()).isEqualTo(3);
+    }
+
+    @Test
+    void lockTimeoutIsReportedAsConflict() throws Exception {
+        ItemLockManager impatient = new ItemLockManager(16, 50, meterRegistry);
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() -> inTransaction(() -> {
+            impatient.lockUntilCompletion(List.of(7L, 3L));
+            holding.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }), executor);
+        assertThat(holding.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThrows(ConflictException.class, () -> inTransaction(() -> impatient.lockUntilCompletion(3L)));
+
+        release.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+        inTransaction(() -> impatient.lockUntilCompletion(3L));
+    }
+
+    @Test
+    void lockingOutsideTransactionIsRejected() {
+        assertThrows(IllegalStateException.class, () -> lockManager.lockUntilCompletion(1L));
+    }
+}
@@ -0,0 +1,46 @@
+package booking.tests;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.SeriesOccurrences;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SeriesOccurrencesTest {
+    private static final LocalDateTime START = LocalDateTime.of(2030, 6, 1, 10, 0);
+
+    // Daily 10:00-12:00 from June 1 to June 5 inclusive.
+    private final SeriesOccurrences daily = new SeriesOccurrences(START, START.plusHours(2), Duration.ofDays(1),
+            START.plusDays(4).plusHours(3));
+
+    @Test
+    void countsOccurrencesStartingUpToUntil() {
+        assertThat(daily.count()).isEqualTo(5);
+        assertThat(daily.startOf(4)).isEqualTo(START.plusDays(4));
+        assertThat(daily.endOf(4)).isEqualTo(START.plusDays(4).plusHours(2));
+        assertThat(new SeriesOccurrences(START, START.plusHours(2), Duration.ofDays(1), START.minusDays(1)).count())
+                .isZero();
+    }
+
+    @Test
+    void locatesOccurrencesAroundMoment() {
+        assertThat(daily.lastStartingAtOrBefore(START.minusMinutes(1))).isEqualTo(-1);
+        assertThat(daily.lastStartingAtOrBefore(START)).isEqualTo(0);
+        assertThat(daily.lastStartingBefore(START)).isEqualTo(-1);
+        assertThat(daily.lastStartingAtOrBefore(START.plusDays(2))).isEqualTo(2);
+        assertThat(daily.lastStartingBefore(START.plusDays(2))).isEqualTo(1);
+        assertThat(daily.lastStartingAtOrBefore(START.plusYears(1))).isEqualTo(4);
+    }
+
+    @Test
+    void overlapsOnlyIntersectingRanges() {
+        assertThat(daily.overlaps(START.plusDays(1).plusHours(1), START.plusDays(1).plusHours(3))).isTrue();
+        assertThat(daily.overlaps(START.plusDays(1).minusHours(1), START.plusDays(1).plusMinutes(1))).isTrue();
+        assertThat(daily.overlaps(START.plusDays(1).plusHours(2), START.plusDays(2))).isFalse();
+        assertThat(daily.overlaps(START.minusHours(2), START)).isFalse();
+        assertThat(daily.overlaps(START.plusDays(5), START.plusDays(6))).isFalse();
+        assertThat(daily.overlaps(START.minusDays(1), START.plusDays(10))).isTrue();
+    }
+}
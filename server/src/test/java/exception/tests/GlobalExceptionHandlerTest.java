@@ -1,6 +1,8 @@
 package exception.tests;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import ru.practicum.shareit.exceptions.*;
@@ -73,6 +75,19 @@ public class GlobalExceptionHandlerTest {
         assertThat(body.get("message")).isEqualTo(message);
     }
 
+    @Test
+    void testHandleOptimisticLock() {
+        ObjectOptimisticLockingFailureException ex = new ObjectOptimisticLockingFailureException("Booking", 1L);
+        ResponseEntity<Map<String, String>> response = handler.handleOptimisticLock(ex);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("0");
+        Map<String, String> body = response.getBody();
+        assertThat(body).isNotNull();
+        assertThat(body.get("status")).isEqualTo("409");
+        assertThat(body.get("error")).isEqualTo("Conflict");
+    }
+
     @Test
     void testHandleNotFound() {
         String message = "Entity not found";
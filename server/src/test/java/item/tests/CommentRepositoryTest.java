@@ -3,7 +3,9 @@ package item.tests;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.CommentCursor;
 import ru.practicum.shareit.item.CommentRepository;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
@@ -62,7 +64,9 @@ public class CommentRepositoryTest {
         comment2.setCreated(LocalDateTime.now().plusMinutes(5));
         commentRepository.save(comment2);
 
-        List<Comment> comments = commentRepository.findByItemId(item.getId());
+        CommentCursor head = CommentCursor.HEAD;
+        List<Comment> comments = commentRepository.findPageByItemId(item.getId(), head.getCreated(), head.getId(),
+                PageRequest.of(0, 10));
 
         assertThat(comments).hasSize(2);
         assertThat(comments).extracting("text")
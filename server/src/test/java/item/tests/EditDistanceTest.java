@@ -0,0 +1,35 @@
+package item.tests;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.EditDistance;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EditDistanceTest {
+
+    @Test
+    void allowsMoreEditsForLongerTokens() {
+        assertThat(EditDistance.maxEdits(3)).isZero();
+        assertThat(EditDistance.maxEdits(4)).isEqualTo(1);
+        assertThat(EditDistance.maxEdits(7)).isEqualTo(1);
+        assertThat(EditDistance.maxEdits(8)).isEqualTo(2);
+    }
+
+    @Test
+    void countsInsertionsDeletionsAndSubstitutions() {
+        assertThat(EditDistance.distance("hammer", "hammer", 2)).isZero();
+        assertThat(EditDistance.distance("hamer", "hammer", 2)).isEqualTo(1);
+        assertThat(EditDistance.distance("ladderr", "ladder", 2)).isEqualTo(1);
+        assertThat(EditDistance.distance("drill", "grill", 2)).isEqualTo(1);
+        assertThat(EditDistance.distance("kitten", "sitting", 3)).isEqualTo(3);
+        assertThat(EditDistance.distance("", "saw", 3)).isEqualTo(3);
+    }
+
+    @Test
+    void stopsAtTheBound() {
+        assertThat(EditDistance.distance("kitten", "sitting", 2)).isEqualTo(3);
+        assertThat(EditDistance.distance("drill", "hammer", 1)).isEqualTo(2);
+        assertThat(EditDistance.distance("saw", "sawdust", 2)).isEqualTo(3);
+        assertThat(EditDistance.distance("abcdef", "badcfe", 1)).isEqualTo(2);
+    }
+}
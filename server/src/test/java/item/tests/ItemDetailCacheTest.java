@@ -0,0 +1,119 @@
+package item.tests;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.ItemDetailCache;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ItemDetailCacheTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 6, 1, 12, 0);
+
+    private SimpleMeterRegistry meterRegistry;
+    private ItemDetailCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ItemDetailCache(true, 2, 60_000, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static ItemDto item(long id) {
+        ItemDto dto = new ItemDto();
+        dto.setId(id);
+        return dto;
+    }
+
+    private void cache(long id) {
+        cache.put(id, cache.generation(), item(id), NOW);
+    }
+
+    private double evictions(String cause) {
+        return meterRegistry.get("shareit.item.detail.cache.evictions").tag("cause", cause).counter().count();
+    }
+
+    @Test
+    void countsHitsAndMisses() {
+        assertThat(cache.get(1L, NOW)).isNull();
+        cache(1L);
+
+        assertThat(cache.get(1L, NOW)).extracting(ItemDto::getId).isEqualTo(1L);
+        assertThat(meterRegistry.get("shareit.item.detail.cache.gets").tag("result", "hit").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("shareit.item.detail.cache.gets").tag("result", "miss").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("shareit.item.detail.cache.hit.ratio").gauge().value()).isEqualTo(0.5);
+    }
+
+    @Test
+    void evictsExpiredAndLeastRecentlyUsedEntries() {
+        cache(1L);
+        cache(2L);
+        assertThat(cache.get(1L, NOW)).isNotNull();
+        cache(3L);
+
+        assertThat(cache.get(2L, NOW)).isNull();
+        assertThat(evictions("size")).isEqualTo(1);
+        assertThat(cache.get(3L, NOW.plusSeconds(60))).isNull();
+        assertThat(evictions("expired")).isEqualTo(1);
+        assertThat(meterRegistry.get("shareit.item.detail.cache.size").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void invalidatesSingleItemsOrEverything() {
+        cache(1L);
+        cache(2L);
+
+        cache.invalidate(1L);
+        assertThat(cache.get(1L, NOW)).isNull();
+        assertThat(cache.get(2L, NOW)).isNotNull();
+
+        cache(1L);
+        cache.invalidateAll();
+        assertThat(cache.get(1L, NOW)).isNull();
+        assertThat(cache.get(2L, NOW)).isNull();
+        assertThat(evictions("invalidated")).isEqualTo(3);
+    }
+
+    @Test
+    void detailAssembledDuringInvalidationIsNotStored() {
+        long stamp = cache.generation();
+        cache.invalidate(2L);
+        cache.put(1L, stamp, item(1L), NOW);
+
+        assertThat(cache.get(1L, NOW)).isNull();
+    }
+
+    @Test
+    void invalidatesAgainAfterTransactionCompletes() {
+        TransactionSynchronizationManager.initSynchronization();
+        cache.invalidate(1L);
+        cache(1L);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertThat(cache.get(1L, NOW)).isNull();
+    }
+
+    @Test
+    void disabledCacheStoresNothing() {
+        cache = new ItemDetailCache(false, 2, 60_000, new SimpleMeterRegistry());
+        cache(1L);
+
+        assertThat(cache.get(1L, NOW)).isNull();
+    }
+}
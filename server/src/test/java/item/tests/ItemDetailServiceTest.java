@@ -0,0 +1,97 @@
+package item.tests;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = ru.practicum.shareit.ShareItServer.class,
+        properties = "shareit.item.detail.cache.enabled=true")
+@Transactional
+public class ItemDetailServiceTest {
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User saveUser(String name) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name.toLowerCase() + "@example.com");
+        return userRepository.save(user);
+    }
+
+    @Test
+    void repeatedReadsAreCachedUntilItemOrCommentsChange() {
+        User owner = saveUser("DetailOwner");
+        User booker = saveUser("DetailBooker");
+        ItemDto dto = new ItemDto();
+        dto.setName("Pasta machine");
+        dto.setDescription("Rolls and cuts");
+        dto.setAvailable(true);
+        ItemDto created = itemService.addItem(owner.getId(), dto);
+        Long itemId = created.getId();
+
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        ItemDto first = itemService.getItem(itemId);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(itemService.getItem(itemId)).isSameAs(first);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+
+        ItemDto update = new ItemDto();
+        update.setName("Pasta roller");
+        itemService.updateItem(itemId, owner.getId(), update);
+        assertThat(itemService.getItem(itemId).getName()).isEqualTo("Pasta roller");
+
+        Booking booking = new Booking();
+        booking.setItem(entityManager.getReference(Item.class, itemId));
+        booking.setBooker(booker);
+        booking.setStart(LocalDateTime.now().minusDays(3));
+        booking.setEnd(LocalDateTime.now().minusDays(2));
+        booking.setStatus(Status.APPROVED);
+        bookingRepository.save(booking);
+        CommentDto comment = new CommentDto();
+        comment.setText("Makes great tagliatelle");
+        itemService.addComment(booker.getId(), itemId, comment);
+        assertThat(itemService.getItem(itemId).getComments()).extracting(CommentDto::getAuthorName)
+                .containsExactly("DetailBooker");
+
+        UserDto rename = new UserDto();
+        rename.setName("Pasta fan");
+        userService.updateUser(booker.getId(), rename);
+        assertThat(itemService.getItem(itemId).getComments()).extracting(CommentDto::getAuthorName)
+                .containsExactly("Pasta fan");
+    }
+}
@@ -0,0 +1,170 @@
+package item.tests;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.exceptions.BadRequestException;
+import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.item.ItemImporter;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemImportErrorDto;
+import ru.practicum.shareit.item.dto.ItemImportReportDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(classes = ru.practicum.shareit.ShareItServer.class,
+        properties = {"shareit.item.import.batch-size=2", "shareit.item.import.max-errors=2",
+                "shareit.item.import.max-record-length=100"})
+@Transactional
+public class ItemImporterTest {
+
+    @Autowired
+    private ItemImporter itemImporter;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private static InputStream body(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private List<Item> itemsOf(User owner) {
+        return itemRepository.findByOwnerId(owner.getId()).stream()
+                .sorted(Comparator.comparing(Item::getId))
+                .toList();
+    }
+
+    @Test
+    void importsValidNdjsonRowsInChunksAndReportsTheRest() {
+        User owner = userRepository.save(new User(null, "Importer", "importer@example.com"));
+        String ndjson = """
+                {"name": "Drill", "description": "Cordless", "available": true}
+                {"name": "Saw", "description": "Hand saw", "available": false}
+
+                {"name": "Ladder", "description": "Folding", "available": true}
+                {"name": "Broken", "description":
+                {"description": "No name", "available": true}
+                {"name": "Orphan", "description": "Bad request", "available": true, "requestId": 999}
+                """;
+
+        ItemImportReportDto report = itemImporter.importItems(owner.getId(), ItemImporter.Format.NDJSON, body(ndjson));
+
+        assertThat(report.getImported()).isEqualTo(3);
+        assertThat(report.getFailed()).isEqualTo(3);
+        assertThat(report.getErrors()).extracting(ItemImportErrorDto::getRow).containsExactly(5L, 6L);
+        assertThat(report.getErrors().get(0).getMessage()).startsWith("Malformed JSON");
+        assertThat(report.getErrors().get(1).getMessage()).isEqualTo("Field 'name' is required.");
+        assertThat(report.isErrorsTruncated()).isTrue();
+        assertThat(itemsOf(owner)).extracting(Item::getName, Item::getAvailable, Item::getCommentCount)
+                .containsExactly(tuple("Drill", true, 0L), tuple("Saw", false, 0L), tuple("Ladder", true, 0L));
+    }
+
+    @Test
+    void importsCsvWithQuotedFieldsAndColumnsInAnyOrder() {
+        User owner = userRepository.save(new User(null, "Csv Importer", "csv.importer@example.com"));
+        String csv = "available,Name,description\r\n"
+                + "true,\"Drill, cordless\",\"Two \"\"18V\"\" batteries\nand a case\"\r\n"
+                + "maybe,Saw,Hand saw\r\n"
+                + "false,Ladder\r\n"
+                + "FALSE,Sander,Belt sander\r\n";
+
+        ItemImportReportDto report = itemImporter.importItems(owner.getId(), ItemImporter.Format.CSV, body(csv));
+
+        assertThat(report.getImported()).isEqualTo(2);
+        assertThat(report.getErrors()).extracting(ItemImportErrorDto::getRow, ItemImportErrorDto::getMessage)
+                .containsExactly(tuple(3L, "Field 'available' must be true or false."),
+                        tuple(4L, "Expected 3 fields but found 2."));
+        assertThat(report.isErrorsTruncated()).isFalse();
+        assertThat(itemsOf(owner)).extracting(Item::getName, Item::getDescription, Item::getAvailable)
+                .containsExactly(tuple("Drill, cordless", "Two \"18V\" batteries\nand a case", true),
+                        tuple("Sander", "Belt sander", false));
+    }
+
+    @Test
+    void rejectsUnknownOwnersMissingColumnsAndOtherFormats() {
+        User owner = userRepository.save(new User(null, "Csv Header", "csv.header@example.com"));
+
+        assertThrows(NotFoundException.class,
+                () -> itemImporter.importItems(999L, ItemImporter.Format.NDJSON, body("")));
+        assertThrows(BadRequestException.class,
+                () -> itemImporter.importItems(owner.getId(), ItemImporter.Format.CSV, body("name,available\n")));
+        assertThrows(BadRequestException.class,
+                () -> itemImporter.importItems(owner.getId(), ItemImporter.Format.CSV, body("")));
+        assertThat(ItemImporter.Format.of(MediaType.parseMediaType("text/csv;charset=UTF-8")))
+                .isEqualTo(ItemImporter.Format.CSV);
+        assertThrows(BadRequestException.class, () -> ItemImporter.Format.of(MediaType.APPLICATION_XML));
+    }
+
+    @Test
+    void reportsRecordsLongerThanTheLimitAndReadsOn() {
+        User owner = userRepository.save(new User(null, "Long Rows", "long.rows@example.com"));
+        String longText = "x".repeat(150);
+        String ndjson = "{\"name\": \"Drill\", \"description\": \"" + longText + "\", \"available\": true}\n"
+                + "{\"name\": \"Saw\", \"description\": \"Hand saw\", \"available\": true}\n";
+        String csv = "name,description,available\n"
+                + "Ladder,\"" + longText + ",\n" + longText + "\",true\n"
+                + "Sander,Belt sander,false\n";
+
+        ItemImportReportDto ndjsonReport = itemImporter.importItems(owner.getId(), ItemImporter.Format.NDJSON,
+                body(ndjson));
+        ItemImportReportDto csvReport = itemImporter.importItems(owner.getId(), ItemImporter.Format.CSV, body(csv));
+
+        assertThat(ndjsonReport.getErrors()).extracting(ItemImportErrorDto::getRow, ItemImportErrorDto::getMessage)
+                .containsExactly(tuple(1L, "Record must be at most 100 characters."));
+        assertThat(csvReport.getErrors()).extracting(ItemImportErrorDto::getRow, ItemImportErrorDto::getMessage)
+                .containsExactly(tuple(2L, "Record must be at most 100 characters."));
+        assertThat(itemsOf(owner)).extracting(Item::getName).containsExactly("Saw", "Sander");
+        assertThrows(BadRequestException.class, () -> itemImporter.importItems(owner.getId(),
+                ItemImporter.Format.CSV, body("name,description,available," + longText + "\n")));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void retriesARefusedChunkUntilOnlyTheRefusedRowsFail() {
+        User owner = userRepository.save(new User(null, "Refused Rows", "refused.rows@example.com"));
+        jdbcTemplate.execute("ALTER TABLE items ADD CONSTRAINT chk_items_refused CHECK (name <> 'Refused')");
+        try {
+            String ndjson = """
+                    {"name": "Drill", "description": "Cordless", "available": true}
+                    {"name": "Refused", "description": "Violates a constraint", "available": true}
+                    {"name": "Saw", "description": "Hand saw", "available": true}
+                    {"name": "Ladder", "description": "Folding", "available": true}
+                    {"name": "Sander", "description": "Belt sander", "available": true}
+                    """;
+
+            ItemImportReportDto report = itemImporter.importItems(owner.getId(), ItemImporter.Format.NDJSON,
+                    body(ndjson));
+
+            assertThat(report.getImported()).isEqualTo(4);
+            assertThat(report.getFailed()).isEqualTo(1);
+            assertThat(report.getErrors()).extracting(ItemImportErrorDto::getRow).containsExactly(2L);
+            assertThat(report.getErrors().get(0).getMessage()).startsWith("Row could not be stored: ");
+            assertThat(itemsOf(owner)).extracting(Item::getName).containsExactly("Drill", "Saw", "Ladder", "Sander");
+        } finally {
+            jdbcTemplate.execute("ALTER TABLE items DROP CONSTRAINT chk_items_refused");
+            itemRepository.deleteAll(itemsOf(owner));
+            userRepository.delete(owner);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package item.tests;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.ItemNameTrie;
+import ru.practicum.shareit.item.dto.ItemSuggestionDto;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ItemNameTrieTest {
+    private final ItemNameTrie trie = new ItemNameTrie(3);
+
+    private List<String> suggest(String prefix) {
+        return trie.suggest(prefix, 10).stream().map(ItemSuggestionDto::getName).toList();
+    }
+
+    @Test
+    void suggestsFromAnyWordRankingFirstWordAndShortNamesFirst() {
+        trie.add(1, "Cordless drill");
+        trie.add(2, "Drill");
+        trie.add(3, "Drill press");
+        trie.add(4, "Hammer");
+
+        assertThat(suggest("DRI")).containsExactly("Drill", "Drill press", "Cordless drill");
+        assertThat(suggest("cordless  d")).containsExactly("Cordless drill");
+        assertThat(suggest("h")).containsExactly("Hammer");
+        assertThat(suggest("x")).isEmpty();
+        assertThat(suggest("  ")).isEmpty();
+        assertThat(trie.suggest("dri", 1)).extracting(ItemSuggestionDto::getId).containsExactly(2L);
+    }
+
+    @Test
+    void keepsTopKPerNodeAndOneEntryPerItem() {
+        trie.add(1, "Saw saw");
+        trie.add(2, "Sander");
+        trie.add(3, "Sanding block");
+        trie.add(4, "Saw");
+
+        assertThat(suggest("s")).containsExactly("Saw", "Sander", "Saw saw");
+        assertThat(suggest("saw")).containsExactly("Saw", "Saw saw");
+    }
+
+    @Test
+    void removalRefillsTopKFromSubtreeAndPrunesBranches() {
+        trie.add(1, "Saw");
+        trie.add(2, "Sander");
+        trie.add(3, "Saw horse");
+        trie.add(4, "Sanding block");
+        int nodesBefore = trie.nodeCount();
+        trie.add(5, "Scaffold");
+
+        trie.remove(1, "Saw");
+        assertThat(suggest("s")).containsExactly("Sander", "Scaffold", "Saw horse");
+        trie.remove(5, "Scaffold");
+        assertThat(suggest("s")).containsExactly("Sander", "Saw horse", "Sanding block");
+        assertThat(suggest("sc")).isEmpty();
+        // "saw" lost its own entry and merged into its only child, "saw horse"
+        assertThat(trie.nodeCount()).isEqualTo(nodesBefore - 1);
+    }
+
+    @Test
+    void compressesSingleChildPathsIntoEdgeLabels() {
+        trie.add(1, "Cordless drill");
+        assertThat(trie.nodeCount()).isEqualTo(3);
+        trie.add(2, "Drill press");
+        trie.add(3, "Drill");
+        assertThat(trie.nodeCount()).isEqualTo(5);
+
+        assertThat(suggest("cordl")).containsExactly("Cordless drill");
+        assertThat(suggest("drill p")).containsExactly("Drill press");
+        assertThat(suggest("drills")).isEmpty();
+
+        trie.remove(3, "Drill");
+        trie.remove(2, "Drill press");
+        assertThat(trie.nodeCount()).isEqualTo(3);
+        assertThat(suggest("dr")).containsExactly("Cordless drill");
+    }
+}
@@ -3,12 +3,14 @@ package item.tests;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -79,10 +81,72 @@ public class ItemRepositoryTest {
         item3.setOwner(owner);
         itemRepository.save(item3);
 
-        List<Item> result = itemRepository
-                .findByAvailableAndNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase(true, "office", "office");
+        List<Item> result = itemRepository.searchAvailable(List.of("office"), PageRequest.of(0, 10));
 
-        assertThat(result).hasSize(2);
+        assertThat(result).hasSize(1);
         assertThat(result.get(0).getName()).isEqualTo("Desktop");
     }
+
+    @Test
+    void testSearchAvailableRequiresEveryTokenAndRanksNameHitsFirst() {
+        User owner = userRepository.save(new User(null, "Owner Tokens", "owner.tokens@test.com"));
+        for (String[] text : new String[][]{
+                {"Hammer drill", "Cordless, with case"},
+                {"Cordless drill", "Two batteries"},
+                {"Drill bits", "Set of ten"},
+                {"Screwdriver", "Cordless drill driver"}}) {
+            Item item = new Item();
+            item.setName(text[0]);
+            item.setDescription(text[1]);
+            item.setAvailable(true);
+            item.setOwner(owner);
+            itemRepository.save(item);
+        }
+
+        assertThat(itemRepository.searchAvailable(List.of("drill", "cordless"), PageRequest.of(0, 10)))
+                .extracting(Item::getName)
+                .containsExactly("Cordless drill", "Hammer drill", "Screwdriver");
+        assertThat(itemRepository.searchAvailable(List.of("drill", "cordless"), PageRequest.of(1, 2)))
+                .extracting(Item::getName)
+                .containsExactly("Screwdriver");
+    }
+
+    @Test
+    void testLockByIdsReturnsExistingIdsInOrder() {
+        User owner = userRepository.save(new User(null, "Owner Lock", "owner.lock@test.com"));
+        Item first = new Item();
+        first.setName("Locked One");
+        first.setDescription("Description One");
+        first.setAvailable(true);
+        first.setOwner(owner);
+        first = itemRepository.save(first);
+        Item second = new Item();
+        second.setName("Locked Two");
+        second.setDescription("Description Two");
+        second.setAvailable(true);
+        second.setOwner(owner);
+        second = itemRepository.save(second);
+
+        assertThat(itemRepository.lockByIds(List.of(second.getId(), first.getId(), 999_999L)))
+                .containsExactly(first.getId(), second.getId());
+    }
+
+    @Test
+    void testIncrementCommentCountMovesUpdatedButNotVersion() {
+        User owner = userRepository.save(new User(null, "Owner Count", "owner.count@test.com"));
+        Item item = new Item();
+        item.setName("Counted");
+        item.setDescription("Counted description");
+        item.setAvailable(true);
+        item.setOwner(owner);
+        item = itemRepository.saveAndFlush(item);
+        LocalDateTime commented = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+        assertThat(itemRepository.incrementCommentCount(item.getId(), commented)).isEqualTo(1);
+
+        Item reloaded = itemRepository.findById(item.getId()).orElseThrow();
+        assertThat(reloaded.getCommentCount()).isEqualTo(1L);
+        assertThat(reloaded.getUpdated()).isEqualTo(commented);
+        assertThat(reloaded.getVersion()).isEqualTo(item.getVersion());
+    }
 }
@@ -0,0 +1,136 @@
+package item.tests;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.ItemSearchCache;
+import ru.practicum.shareit.item.SearchQuery;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ItemSearchCacheTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 6, 1, 12, 0);
+
+    private SimpleMeterRegistry meterRegistry;
+    private ItemSearchCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ItemSearchCache(true, 3, 60_000, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static List<ItemDto> page(String name) {
+        ItemDto dto = new ItemDto();
+        dto.setName(name);
+        return List.of(dto);
+    }
+
+    private String cache(String text) {
+        List<String> tokens = SearchQuery.tokens(text);
+        String key = ItemSearchCache.key(tokens, false, 0, 10);
+        cache.put(key, tokens, false, cache.generation(), page(text), NOW);
+        return key;
+    }
+
+    private double evictions(String cause) {
+        return meterRegistry.get("shareit.item.search.cache.evictions").tag("cause", cause).counter().count();
+    }
+
+    @Test
+    void countsHitsAndMisses() {
+        String key = ItemSearchCache.key(List.of("drill"), false, 0, 10);
+        assertThat(cache.get(key, NOW)).isNull();
+        cache(" Drill ");
+
+        assertThat(cache.get(key, NOW)).extracting(ItemDto::getName).containsExactly(" Drill ");
+        assertThat(cache.get(key, NOW)).isNotNull();
+        assertThat(meterRegistry.get("shareit.item.search.cache.gets").tag("result", "hit").counter().count())
+                .isEqualTo(2);
+        assertThat(meterRegistry.get("shareit.item.search.cache.gets").tag("result", "miss").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("shareit.item.search.cache.hit.ratio").gauge().value()).isEqualTo(2.0 / 3);
+    }
+
+    @Test
+    void evictsExpiredAndLeastRecentlyUsedEntries() {
+        String drill = cache("drill");
+        String ladder = cache("ladder");
+        String saw = cache("saw");
+        assertThat(cache.get(drill, NOW.plusSeconds(59))).isNotNull();
+        cache("hammer");
+
+        assertThat(cache.get(ladder, NOW)).isNull();
+        assertThat(evictions("size")).isEqualTo(1);
+        assertThat(cache.get(saw, NOW.plusSeconds(60))).isNull();
+        assertThat(evictions("expired")).isEqualTo(1);
+        assertThat(meterRegistry.get("shareit.item.search.cache.size").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void invalidatesOnlyEntriesWhoseTokensAllOccurInChangedItem() {
+        String drill = cache("drill");
+        String cordlessDrill = cache("cordless drill");
+        String ladder = cache("ladder");
+
+        cache.invalidate("Hammer drill Heavy duty");
+
+        assertThat(cache.get(drill, NOW)).isNull();
+        assertThat(cache.get(cordlessDrill, NOW)).isNotNull();
+        assertThat(cache.get(ladder, NOW)).isNotNull();
+        assertThat(evictions("invalidated")).isEqualTo(1);
+
+        cache.invalidate("Step ladder Aluminium", "Step stool Aluminium");
+        assertThat(cache.get(ladder, NOW)).isNull();
+    }
+
+    @Test
+    void fuzzyEntriesAreAlsoInvalidatedBySimilarWords() {
+        List<String> tokens = List.of("hamer");
+        String fuzzy = ItemSearchCache.key(tokens, true, 0, 10);
+        String exact = ItemSearchCache.key(tokens, false, 0, 10);
+        cache.put(fuzzy, tokens, true, cache.generation(), page("Hammer"), NOW);
+        cache.put(exact, tokens, false, cache.generation(), List.of(), NOW);
+
+        cache.invalidate("Claw hammer");
+
+        assertThat(cache.get(fuzzy, NOW)).isNull();
+        assertThat(cache.get(exact, NOW)).isNotNull();
+    }
+
+    @Test
+    void pageComputedDuringInvalidationIsNotStored() {
+        List<String> tokens = List.of("drill");
+        String key = ItemSearchCache.key(tokens, false, 0, 10);
+        long stamp = cache.generation();
+        cache.invalidate("Unrelated saw");
+        cache.put(key, tokens, false, stamp, page("stale"), NOW);
+
+        assertThat(cache.get(key, NOW)).isNull();
+    }
+
+    @Test
+    void invalidatesAgainAfterTransactionCompletes() {
+        TransactionSynchronizationManager.initSynchronization();
+        cache.invalidate("Cordless drill");
+        String drill = cache("drill");
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        assertThat(cache.get(drill, NOW)).isNull();
+    }
+}
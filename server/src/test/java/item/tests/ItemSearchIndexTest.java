@@ -0,0 +1,242 @@
+package item.tests;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.ItemDetailCache;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemSearchCache;
+import ru.practicum.shareit.item.ItemSearchIndex;
+import ru.practicum.shareit.item.SearchQuery;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ItemSearchIndexTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private ItemDetailCache detailCache;
+
+    @Mock
+    private ItemSearchCache searchCache;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ItemSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        index = new ItemSearchIndex(itemRepository, detailCache, searchCache, true, 2, 3, 60_000, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static Item item(long id, String name, String description, boolean available, long version) {
+        User owner = new User();
+        owner.setId(100L);
+        Item item = new Item();
+        item.setId(id);
+        item.setName(name);
+        item.setDescription(description);
+        item.setAvailable(available);
+        item.setOwner(owner);
+        item.setVersion(version);
+        item.setUpdated(LocalDateTime.now());
+        return item;
+    }
+
+    private List<String> search(String text) {
+        return index.search(SearchQuery.tokens(text), false, 0, 10).stream().map(ItemDto::getName).toList();
+    }
+
+    private List<String> fuzzySearch(String text) {
+        return index.search(SearchQuery.tokens(text), true, 0, 10).stream().map(ItemDto::getName).toList();
+    }
+
+    private void build(Item... items) {
+        List<Item> all = List.of(items);
+        when(itemRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 2))).thenReturn(all.subList(0, 2));
+        when(itemRepository.findByIdGreaterThanOrderByIdAsc(2L, PageRequest.of(0, 2))).thenReturn(all.subList(2, 3));
+        index.build();
+    }
+
+    @Test
+    void buildsInBatchesAndReportsSize() {
+        assertThat(index.isReady()).isFalse();
+
+        build(item(1, "Cordless drill", "Drill with two batteries", true, 0),
+                item(2, "Hammer", "Steel claw hammer", true, 0),
+                item(3, "Ladder", "Aluminium ladder", false, 0));
+
+        assertThat(index.isReady()).isTrue();
+        assertThat(meterRegistry.get("shareit.item.search.index.items").gauge().value()).isEqualTo(3);
+        assertThat(meterRegistry.get("shareit.item.search.index.terms").gauge().value()).isPositive();
+        assertThat(meterRegistry.get("shareit.item.search.index.build").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void matchesSubstringsOfEveryTokenOnAvailableItemsOnly() {
+        build(item(1, "Cordless drill", "Drill with two batteries", true, 0),
+                item(2, "Battery charger", "Charges drill batteries", true, 0),
+                item(3, "Old drill", "Broken drill", false, 0));
+
+        assertThat(search("drill")).containsExactly("Cordless drill", "Battery charger");
+        assertThat(search("RILL batter")).containsExactly("Cordless drill", "Battery charger");
+        assertThat(search("charger drill")).containsExactly("Battery charger");
+        assertThat(search("dr")).containsExactly("Cordless drill", "Battery charger");
+        assertThat(search("g")).containsExactly("Battery charger");
+        assertThat(search("q")).isEmpty();
+        assertThat(search("drill saw")).isEmpty();
+        assertThat(search("lrd")).isEmpty();
+        assertThat(index.search(SearchQuery.tokens("drill"), false, 1, 1)).extracting(ItemDto::getId)
+                .containsExactly(2L);
+    }
+
+    @Test
+    void ranksNameMatchesFirst() {
+        build(item(1, "Toolbox", "Holds a hammer", true, 0),
+                item(2, "Hammer", "Claw hammer", true, 0),
+                item(3, "Hammer drill", "Drill", true, 0));
+
+        assertThat(search("hammer")).containsExactly("Hammer", "Hammer drill", "Toolbox");
+    }
+
+    @Test
+    void fuzzySearchToleratesTyposAndRanksCloserMatchesFirst() {
+        build(item(1, "Hammer", "Claw hammer", true, 0),
+                item(2, "Sledge hammer", "Heavy", true, 0),
+                item(3, "Aluminium ladder", "Folding", true, 0));
+
+        assertThat(search("hamer")).isEmpty();
+        assertThat(fuzzySearch("hamer")).containsExactly("Hammer", "Sledge hammer");
+        assertThat(fuzzySearch("ladderr")).containsExactly("Aluminium ladder");
+        assertThat(fuzzySearch("aluminum ladder")).containsExactly("Aluminium ladder");
+        assertThat(fuzzySearch("hammer heavy")).containsExactly("Sledge hammer");
+        assertThat(fuzzySearch("hammer heavvy")).containsExactly("Sledge hammer");
+        assertThat(fuzzySearch("hmmr")).isEmpty();
+        assertThat(fuzzySearch("lad")).containsExactly("Aluminium ladder");
+        assertThat(fuzzySearch("saw")).isEmpty();
+    }
+
+    @Test
+    void fuzzySearchPrefersExactMatches() {
+        build(item(1, "Drill bit", "Wood", true, 0),
+                item(2, "Drill bits", "Metal", true, 0),
+                item(3, "Sander", "Belt", true, 0));
+
+        assertThat(fuzzySearch("bits")).containsExactly("Drill bits", "Drill bit");
+        assertThat(fuzzySearch("bit")).containsExactly("Drill bit", "Drill bits");
+        assertThat(fuzzySearch("sandal")).isEmpty();
+    }
+
+    @Test
+    void updatesReplaceOldTermsAndStaleSnapshotsAreIgnored() {
+        build(item(1, "Drill", "Cordless", true, 0),
+                item(2, "Hammer", "Claw", true, 0),
+                item(3, "Saw", "Hand saw", true, 0));
+
+        index.index(item(1, "Screwdriver", "Cordless", true, 1));
+        assertThat(search("drill")).isEmpty();
+        assertThat(search("screw")).containsExactly("Screwdriver");
+
+        index.index(item(1, "Drill", "Cordless", true, 0));
+        assertThat(search("screw")).containsExactly("Screwdriver");
+
+        index.index(item(2, "Hammer", "Claw", false, 1));
+        assertThat(search("hammer")).isEmpty();
+        assertThat(fuzzySearch("drll")).isEmpty();
+        assertThat(fuzzySearch("screwdriverr")).containsExactly("Screwdriver");
+    }
+
+    @Test
+    void rolledBackChangeIsUndone() {
+        build(item(1, "Drill", "Cordless", true, 0),
+                item(2, "Hammer", "Claw", true, 0),
+                item(3, "Saw", "Hand saw", true, 0));
+
+        TransactionSynchronizationManager.initSynchronization();
+        index.index(item(1, "Screwdriver", "Cordless", true, 1));
+        index.index(item(4, "Chisel", "Wood chisel", true, 0));
+        assertThat(search("screw")).containsExactly("Screwdriver");
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertThat(search("screw")).isEmpty();
+        assertThat(search("drill")).containsExactly("Drill");
+        assertThat(search("chisel")).isEmpty();
+        assertThat(meterRegistry.get("shareit.item.search.index.items").gauge().value()).isEqualTo(3);
+    }
+
+    @Test
+    void catchUpAppliesChangesOfOtherInstancesOnce() {
+        build(item(1, "Drill", "Cordless", true, 0),
+                item(2, "Hammer", "Claw", true, 0),
+                item(3, "Saw", "Hand saw", true, 0));
+        List<Item> changed = List.of(item(1, "Screwdriver", "Cordless", true, 1), item(4, "Chisel", "Wood", true, 0));
+        when(itemRepository.findUpdatedAfter(any(), anyLong(), any()))
+                .thenReturn(changed)
+                .thenReturn(List.of())
+                .thenReturn(changed)
+                .thenReturn(List.of());
+
+        assertThat(index.catchUp()).isEqualTo(2);
+        assertThat(search("drill")).isEmpty();
+        assertThat(search("screw")).containsExactly("Screwdriver");
+        assertThat(search("chisel")).containsExactly("Chisel");
+
+        assertThat(index.catchUp()).isZero();
+        assertThat(meterRegistry.get("shareit.item.search.index.caught.up").counter().count()).isEqualTo(2);
+        verify(detailCache).invalidate(1L);
+        verify(detailCache).invalidate(4L);
+        verify(searchCache).invalidate("Drill", "Cordless", "Screwdriver", "Cordless", "Chisel", "Wood");
+    }
+
+    @Test
+    void catchUpRefreshesAnItemCommentedWithoutANewVersion() {
+        Item drill = item(1, "Drill", "Cordless", true, 0);
+        build(drill, item(2, "Hammer", "Claw", true, 0), item(3, "Saw", "Hand saw", true, 0));
+        Item commented = item(1, "Drill", "Cordless", true, 0);
+        commented.setUpdated(drill.getUpdated().plusSeconds(1));
+        commented.setCommentCount(1L);
+        when(itemRepository.findUpdatedAfter(any(), anyLong(), any()))
+                .thenReturn(List.of(drill))
+                .thenReturn(List.of(commented))
+                .thenReturn(List.of(commented));
+
+        assertThat(index.catchUp()).isZero();
+        verify(detailCache, never()).invalidate(1L);
+
+        assertThat(index.catchUp()).isZero();
+        assertThat(index.catchUp()).isZero();
+        verify(detailCache).invalidate(1L);
+        verify(searchCache).invalidate("Drill", "Cordless");
+        assertThat(index.search(List.of("drill"), false, 0, 10)).extracting(ItemDto::getCommentCount)
+                .containsExactly(1L);
+    }
+}
@@ -0,0 +1,95 @@
+package item.tests;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.ItemSearchIndex;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemSuggestionDto;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = ru.practicum.shareit.ShareItServer.class,
+        properties = {"shareit.item.search.index.enabled=true", "shareit.item.search.cache.enabled=true"})
+@Transactional
+public class ItemSearchServiceTest {
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemSearchIndex searchIndex;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void addAndUpdateKeepIndexCurrentAndSearchSkipsDatabase() {
+        assertThat(searchIndex.isReady()).isTrue();
+        User owner = new User();
+        owner.setName("Indexer");
+        owner.setEmail("indexer@example.com");
+        owner = userRepository.save(owner);
+
+        ItemDto dto = new ItemDto();
+        dto.setName("Zebrawood plane");
+        dto.setDescription("Hand plane with zebrawood sole");
+        dto.setAvailable(true);
+        ItemDto created = itemService.addItem(owner.getId(), dto);
+
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        assertThat(itemService.searchItems("zebrawood", 0, 10, false)).extracting(ItemDto::getId)
+                .containsExactly(created.getId());
+        assertThat(itemService.suggestItems("zebra", 10)).extracting(ItemSuggestionDto::getName)
+                .containsExactly("Zebrawood plane");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        ItemDto update = new ItemDto();
+        update.setAvailable(false);
+        itemService.updateItem(created.getId(), owner.getId(), update);
+        assertThat(itemService.searchItems("zebrawood", 0, 10, false)).isEmpty();
+        assertThat(itemService.suggestItems("zebra", 10)).isEmpty();
+    }
+
+    @Test
+    void repeatedSearchIsCachedUntilMatchingItemChanges() {
+        User owner = new User();
+        owner.setName("Cacher");
+        owner.setEmail("cacher@example.com");
+        owner = userRepository.save(owner);
+        ItemDto dto = new ItemDto();
+        dto.setName("Quokka lamp");
+        dto.setDescription("Desk lamp");
+        dto.setAvailable(true);
+        ItemDto created = itemService.addItem(owner.getId(), dto);
+
+        List<ItemDto> first = itemService.searchItems("QUOKKA!", 0, 10, false);
+        assertThat(itemService.searchItems("quokka", 0, 10, false)).isSameAs(first);
+
+        ItemDto unrelated = new ItemDto();
+        unrelated.setName("Wombat chair");
+        unrelated.setDescription("Chair");
+        unrelated.setAvailable(true);
+        itemService.addItem(owner.getId(), unrelated);
+        assertThat(itemService.searchItems("quokka", 0, 10, false)).isSameAs(first);
+
+        ItemDto rename = new ItemDto();
+        rename.setName("Wombat lamp");
+        itemService.updateItem(created.getId(), owner.getId(), rename);
+        assertThat(itemService.searchItems("quokka", 0, 10, false)).isEmpty();
+        assertThat(itemService.searchItems("wombat", 0, 10, false)).hasSize(2);
+    }
+}
@@ -1,8 +1,13 @@
 package item.tests;
 
+import common.tests.TestFixtures;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exceptions.BadRequestException;
 import ru.practicum.shareit.exceptions.ForbiddenException;
@@ -10,9 +15,15 @@ import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.ItemService;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.CommentPageDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemSuggestionDto;
+import ru.practicum.shareit.item.dto.TimeSlotDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingSeries;
+import ru.practicum.shareit.booking.BookingSeriesRepository;
+import ru.practicum.shareit.booking.Recurrence;
 import ru.practicum.shareit.booking.Status;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.request.ItemRequest;
@@ -21,16 +32,21 @@ import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+@Import(TestFixtures.class)
 @SpringBootTest(classes = ru.practicum.shareit.ShareItServer.class)
 @Transactional
 public class ItemServiceImplTest {
 
+    @Autowired
+    private TestFixtures fixtures;
+
     @Autowired
     private ItemService itemService;
 
@@ -40,12 +56,18 @@ public class ItemServiceImplTest {
     @Autowired
     private ItemRepository itemRepository;
 
+    @Autowired
+    private BookingSeriesRepository seriesRepository;
+
     @Autowired
     private BookingRepository bookingRepository;
 
     @Autowired
     private ItemRequestRepository itemRequestRepository;
 
+    @Autowired
+    private EntityManager entityManager;
+
     @Test
     void testAddItemUserNotFound() {
         Long nonExistentUserId = 999L;
@@ -371,9 +393,16 @@ public class ItemServiceImplTest {
         item3.setOwner(owner);
         itemRepository.save(item3);
 
-        List<ItemDto> result = itemService.searchItems("laptop");
+        List<ItemDto> result = itemService.searchItems("laptop", 0, 10, false);
 
-        assertThat(result).hasSize(3);
+        assertThat(result).extracting(ItemDto::getName).containsExactly("Laptop Pro", "Notebook");
+        assertThat(itemService.searchItems("laptop", 1, 1, false)).extracting(ItemDto::getName)
+                .containsExactly("Notebook");
+        assertThat(itemService.searchItems("laptop", 1, 2, false)).extracting(ItemDto::getName)
+                .containsExactly("Notebook");
+        assertThat(itemService.searchItems(" !? ", 0, 10, false)).isEmpty();
+        assertThrows(BadRequestException.class, () -> itemService.searchItems("laptop", -1, 10, false));
+        assertThrows(BadRequestException.class, () -> itemService.searchItems("laptop", 0, 0, false));
     }
 
     @Test
@@ -402,6 +431,66 @@ public class ItemServiceImplTest {
                 .containsExactlyInAnyOrder("Item One", "Item Two");
     }
 
+    @Test
+    void testGetItemsByOwnerLoadsLastAndNextBookingsPerDirection() {
+        User owner = new User();
+        owner.setName("Owner Batch");
+        owner.setEmail("owner.batch@example.com");
+        owner = userRepository.save(owner);
+
+        User booker = new User();
+        booker.setName("Booker Batch");
+        booker.setEmail("booker.batch@example.com");
+        booker = userRepository.save(booker);
+
+        LocalDateTime now = LocalDateTime.now();
+        Item first = fixtures.createItem("First", "First item", true, owner);
+        Item second = fixtures.createItem("Second", "Second item", true, owner);
+        Item third = fixtures.createItem("Third", "Third item", true, owner);
+        fixtures.createBooking(booker, first, now.minusDays(5), now.minusDays(4), Status.APPROVED);
+        Booking firstLast = fixtures.createBooking(booker, first, now.minusDays(3), now.minusDays(1), Status.APPROVED);
+        Booking firstNext = fixtures.createBooking(booker, first, now.plusDays(1), now.plusDays(2), Status.APPROVED);
+        fixtures.createBooking(booker, first, now.plusDays(3), now.plusDays(4), Status.APPROVED);
+        Booking secondLast = fixtures.createBooking(booker, second, now.minusDays(2), now.minusDays(1), Status.APPROVED);
+        fixtures.createBooking(booker, second, now.minusDays(3), now.minusDays(1), Status.APPROVED);
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        List<ItemDto> items = itemService.getItemsByOwner(owner.getId());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+        ItemDto firstDto = items.stream().filter(item -> item.getId().equals(first.getId())).findFirst().orElseThrow();
+        ItemDto secondDto = items.stream().filter(item -> item.getId().equals(second.getId())).findFirst().orElseThrow();
+        ItemDto thirdDto = items.stream().filter(item -> item.getId().equals(third.getId())).findFirst().orElseThrow();
+        assertThat(firstDto.getLastBooking().getId()).isEqualTo(firstLast.getId());
+        assertThat(firstDto.getNextBooking().getId()).isEqualTo(firstNext.getId());
+        assertThat(secondDto.getLastBooking().getId()).isEqualTo(secondLast.getId());
+        assertThat(secondDto.getLastBooking().getBooker().getName()).isEqualTo("Booker Batch");
+        assertThat(secondDto.getNextBooking()).isNull();
+        assertThat(thirdDto.getLastBooking()).isNull();
+        assertThat(thirdDto.getNextBooking()).isNull();
+    }
+
+    @Test
+    void testGetItemsByOwnerPrefersCloserSeriesOccurrences() {
+        User owner = userRepository.save(new User(null, "Owner Series Items", "owner.series.items@example.com"));
+        User booker = userRepository.save(new User(null, "Booker Series Items", "booker.series.items@example.com"));
+        LocalDateTime now = LocalDateTime.now();
+        Item item = fixtures.createItem("Recurring", "Recurring item", true, owner);
+        fixtures.createBooking(booker, item, now.minusDays(4), now.minusDays(3), Status.APPROVED);
+        Booking later = fixtures.createBooking(booker, item, now.plusHours(12), now.plusHours(13), Status.APPROVED);
+        saveSeries(item, booker, now.minusDays(2), now.plusDays(2), Status.APPROVED);
+
+        ItemDto dto = itemService.getItemsByOwner(owner.getId()).get(0);
+
+        assertThat(dto.getLastBooking().getId()).isNull();
+        assertThat(dto.getLastBooking().getSeriesId()).isNotNull();
+        assertThat(dto.getLastBooking().getStart()).isEqualTo(now.minusDays(1));
+        assertThat(dto.getNextBooking().getId()).isEqualTo(later.getId());
+    }
+
     @Test
     void testAddCommentSuccess() {
         User owner = new User();
@@ -441,6 +530,35 @@ public class ItemServiceImplTest {
         assertThat(createdComment.getAuthorName()).isEqualTo(booker.getName());
     }
 
+    @Test
+    void commentsArePagedByCursorAndCountedOnItem() {
+        User owner = userRepository.save(new User(null, "Owner Paged", "owner.paged@example.com"));
+        User booker = userRepository.save(new User(null, "Booker Paged", "booker.paged@example.com"));
+        Item item = fixtures.createItem("Paged", "Paged item", true, owner);
+        LocalDateTime now = LocalDateTime.now();
+        fixtures.createBooking(booker, item, now.minusDays(2), now.minusDays(1), Status.APPROVED);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            CommentDto commentDto = new CommentDto();
+            commentDto.setText("Comment " + i);
+            ids.add(itemService.addComment(booker.getId(), item.getId(), commentDto).getId());
+        }
+
+        CommentPageDto first = itemService.getComments(item.getId(), null, 2);
+        assertThat(first.getComments()).extracting(CommentDto::getId).containsExactly(ids.get(0), ids.get(1));
+        CommentPageDto second = itemService.getComments(item.getId(), first.getNextCursor(), 2);
+        assertThat(second.getComments()).extracting(CommentDto::getId).containsExactly(ids.get(2), ids.get(3));
+        CommentPageDto last = itemService.getComments(item.getId(), second.getNextCursor(), 2);
+        assertThat(last.getComments()).extracting(CommentDto::getId).containsExactly(ids.get(4));
+        assertThat(last.getNextCursor()).isNull();
+
+        assertThat(itemService.getItem(item.getId()).getCommentCount()).isEqualTo(5);
+        assertThat(itemService.getItemsByOwner(owner.getId())).extracting(ItemDto::getCommentCount).containsExactly(5L);
+        assertThrows(BadRequestException.class, () -> itemService.getComments(item.getId(), "not a cursor", 2));
+        assertThrows(BadRequestException.class, () -> itemService.getComments(item.getId(), null, 0));
+        assertThrows(NotFoundException.class, () -> itemService.getComments(999L, null, 2));
+    }
+
     @Test
     void testAddCommentUserNotFound() {
         Long nonExistentUserId = 999L;
@@ -499,11 +617,104 @@ public class ItemServiceImplTest {
         );
     }
 
+    @Test
+    void testSuggestItemsFallsBackToNamePrefixQuery() {
+        User owner = new User();
+        owner.setName("Owner Suggest");
+        owner.setEmail("owner.suggest@example.com");
+        owner = userRepository.save(owner);
+        fixtures.createItem("Drill press", "Drill press item", true, owner);
+        fixtures.createItem("Cordless drill", "Cordless drill item", true, owner);
+        Item hidden = fixtures.createItem("Drill bits", "Drill bits item", true, owner);
+        hidden.setAvailable(false);
+        itemRepository.save(hidden);
+
+        assertThat(itemService.suggestItems(" dri", 10)).extracting(ItemSuggestionDto::getName)
+                .containsExactly("Drill press");
+        assertThat(itemService.suggestItems("", 10)).isEmpty();
+        assertThrows(BadRequestException.class, () -> itemService.suggestItems("dri", 0));
+    }
+
     @Test
     void testSearchItemsReturnsEmptyWhenTextIsNullOrEmpty() {
-        assertThat(itemService.searchItems(null)).isEmpty();
-        assertThat(itemService.searchItems("")).isEmpty();
-        assertThat(itemService.searchItems("   ")).isEmpty();
+        assertThat(itemService.searchItems(null, 0, 10, false)).isEmpty();
+        assertThat(itemService.searchItems("", 0, 10, false)).isEmpty();
+        assertThat(itemService.searchItems("   ", 0, 10, false)).isEmpty();
+    }
+
+    @Test
+    void testGetAvailabilityReturnsGapsBetweenActiveBookings() {
+        User owner = userRepository.save(new User(null, "Owner Calendar", "owner.calendar@example.com"));
+        User booker = userRepository.save(new User(null, "Booker Calendar", "booker.calendar@example.com"));
+
+        Item item = new Item();
+        item.setName("Calendar Item");
+        item.setDescription("Calendar Description");
+        item.setAvailable(true);
+        item.setOwner(owner);
+        item = itemRepository.save(item);
+
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime to = from.plusDays(1);
+        fixtures.createBooking(booker, item, from.minusHours(2), from.plusHours(2), Status.APPROVED);
+        fixtures.createBooking(booker, item, from.plusHours(5), from.plusHours(7), Status.WAITING);
+        fixtures.createBooking(booker, item, from.plusHours(6), from.plusHours(8), Status.APPROVED);
+        fixtures.createBooking(booker, item, from.plusHours(10), from.plusHours(12), Status.REJECTED);
+
+        List<TimeSlotDto> slots = itemService.getAvailability(item.getId(), from, to);
+
+        assertThat(slots).containsExactly(
+                new TimeSlotDto(from.plusHours(2), from.plusHours(5)),
+                new TimeSlotDto(from.plusHours(8), to));
+    }
+
+    @Test
+    void testGetAvailabilityExcludesOccurrencesOfActiveSeries() {
+        User owner = userRepository.save(new User(null, "Owner Calendar Series", "owner.calendar.series@example.com"));
+        User booker = userRepository.save(new User(null, "Booker Calendar Series", "booker.calendar.series@example.com"));
+
+        Item item = new Item();
+        item.setName("Calendar Series Item");
+        item.setDescription("Calendar Series Description");
+        item.setAvailable(true);
+        item.setOwner(owner);
+        item = itemRepository.save(item);
+
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime to = from.plusDays(2);
+        saveSeries(item, booker, from.minusDays(1).plusHours(23), from.plusDays(5), Status.APPROVED);
+        saveSeries(item, booker, from.plusHours(12), from.plusDays(5), Status.WAITING);
+        saveSeries(item, booker, from.plusHours(6), from.plusDays(5), Status.REJECTED);
+        fixtures.createBooking(booker, item, from.plusHours(13), from.plusHours(15), Status.APPROVED);
+
+        List<TimeSlotDto> slots = itemService.getAvailability(item.getId(), from, to);
+
+        assertThat(slots).containsExactly(
+                new TimeSlotDto(from.plusHours(1), from.plusHours(12)),
+                new TimeSlotDto(from.plusHours(15), from.plusHours(23)),
+                new TimeSlotDto(from.plusDays(1).plusHours(1), from.plusDays(1).plusHours(12)),
+                new TimeSlotDto(from.plusDays(1).plusHours(14), from.plusDays(1).plusHours(23)));
+    }
+
+    @Test
+    void testGetAvailabilityValidation() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+        assertThrows(BadRequestException.class, () -> itemService.getAvailability(1L, from, from));
+        assertThrows(NotFoundException.class, () -> itemService.getAvailability(999L, from, from.plusDays(1)));
+    }
+
+    private void saveSeries(Item item, User booker, LocalDateTime start, LocalDateTime until, Status status) {
+        BookingSeries series = new BookingSeries();
+        series.setItem(item);
+        series.setBooker(booker);
+        series.setStart(start);
+        series.setEnd(start.plusHours(2));
+        series.setRecurrence(Recurrence.DAILY);
+        series.setInterval(1);
+        series.setUntil(until);
+        series.setStatus(status);
+        seriesRepository.save(series);
     }
 
 }
@@ -0,0 +1,23 @@
+package item.tests;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.SearchQuery;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchQueryTest {
+
+    @Test
+    void tokensKeepOnlyLowerCaseWords() {
+        assertThat(SearchQuery.tokens("  Дрель, cordless-DRILL  drill! ")).containsExactly("дрель", "cordless", "drill");
+        assertThat(SearchQuery.tokens("':* & | !")).isEmpty();
+        assertThat(SearchQuery.tokens(null)).isEmpty();
+    }
+
+    @Test
+    void prefixQueryRequiresEveryToken() {
+        assertThat(SearchQuery.toPrefixTsQuery(List.of("drill", "bat"))).isEqualTo("drill:* & bat:*");
+    }
+}
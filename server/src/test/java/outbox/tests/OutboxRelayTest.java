@@ -0,0 +1,176 @@
+package outbox.tests;
+
+import common.tests.TestFixtures;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingEventType;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingEventDto;
+import ru.practicum.shareit.exceptions.BadRequestException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.outbox.OutboxConsumer;
+import ru.practicum.shareit.outbox.OutboxDeadLetter;
+import ru.practicum.shareit.outbox.OutboxDeadLetterRepository;
+import ru.practicum.shareit.outbox.OutboxEvent;
+import ru.practicum.shareit.outbox.OutboxRelay;
+import ru.practicum.shareit.outbox.OutboxRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Import(TestFixtures.class)
+@SpringBootTest(classes = {ru.practicum.shareit.ShareItServer.class, OutboxRelayTest.Consumers.class},
+        properties = "shareit.outbox.max-attempts=2")
+@Transactional
+public class OutboxRelayTest {
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private OutboxRepository outboxRepository;
+
+    @Autowired
+    private OutboxDeadLetterRepository deadLetterRepository;
+
+    @Autowired
+    private RecordingConsumer consumer;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @TestConfiguration
+    static class Consumers {
+        @Bean
+        RecordingConsumer recordingConsumer() {
+            return new RecordingConsumer();
+        }
+    }
+
+    static class RecordingConsumer implements OutboxConsumer {
+        private final List<OutboxEvent> received = new ArrayList<>();
+        private int failuresLeft;
+
+        @Override
+        public void accept(OutboxEvent event) {
+            if (failuresLeft > 0) {
+                failuresLeft--;
+                throw new IllegalStateException("Consumer unavailable");
+            }
+            received.add(event);
+        }
+    }
+
+    @BeforeEach
+    void resetConsumer() {
+        consumer.received.clear();
+        consumer.failuresLeft = 0;
+    }
+
+    @Test
+    void bookingChangesAreRelayedInOrderAndRemovedFromTheOutbox() throws Exception {
+        User owner = userRepository.save(new User(null, "Owner Outbox", "owner.outbox@example.com"));
+        User booker = userRepository.save(new User(null, "Booker Outbox", "booker.outbox@example.com"));
+        Item item = fixtures.createItem("Outbox Item", "Outbox Description", true, owner);
+        BookingDto created = bookingService.createBooking(booker.getId(), request(item, LocalDateTime.now().plusDays(1)));
+        bookingService.updateBookingStatus(created.getId(), true, owner.getId());
+
+        assertThat(outboxRelay.relay()).isEqualTo(2);
+
+        assertThat(consumer.received).extracting(OutboxEvent::getType).containsExactly(
+                BookingEventType.BOOKING_CREATED.name(), BookingEventType.BOOKING_STATUS_CHANGED.name());
+        BookingEventDto approved = objectMapper.readValue(consumer.received.get(1).getPayload(), BookingEventDto.class);
+        assertThat(approved.getBookingId()).isEqualTo(created.getId());
+        assertThat(approved.getOwnerId()).isEqualTo(owner.getId());
+        assertThat(approved.getBookerId()).isEqualTo(booker.getId());
+        assertThat(approved.getStatus()).isEqualTo(Status.APPROVED);
+        assertThat(outboxRepository.count()).isZero();
+        assertThat(meterRegistry.get("shareit.outbox.lag").gauge().value()).isZero();
+    }
+
+    @Test
+    void failedDeliveryIsRetriedOnTheNextRun() {
+        User owner = userRepository.save(new User(null, "Owner Outbox Retry", "owner.outbox.retry@example.com"));
+        User booker = userRepository.save(new User(null, "Booker Outbox Retry", "booker.outbox.retry@example.com"));
+        Item item = fixtures.createItem("Outbox Item", "Outbox Description", true, owner);
+        bookingService.createBooking(booker.getId(), request(item, LocalDateTime.now().plusDays(1)));
+        consumer.failuresLeft = 1;
+
+        assertThat(outboxRelay.relay()).isZero();
+        assertThat(outboxRepository.findAll()).singleElement()
+                .extracting(OutboxEvent::getAttempts).isEqualTo(1);
+
+        assertThat(outboxRelay.relay()).isEqualTo(1);
+        assertThat(consumer.received).hasSize(1);
+        assertThat(outboxRepository.count()).isZero();
+    }
+
+    @Test
+    void eventFailingEveryAttemptIsDeadLetteredAndNoLongerBlocksTheOutbox() {
+        User owner = userRepository.save(new User(null, "Owner Outbox Dead", "owner.outbox.dead@example.com"));
+        User booker = userRepository.save(new User(null, "Booker Outbox Dead", "booker.outbox.dead@example.com"));
+        Item item = fixtures.createItem("Outbox Item", "Outbox Description", true, owner);
+        BookingDto first = bookingService.createBooking(booker.getId(), request(item, LocalDateTime.now().plusDays(1)));
+        bookingService.createBooking(booker.getId(), request(item, LocalDateTime.now().plusDays(3)));
+        double deadBefore = meterRegistry.get("shareit.outbox.dead.lettered").counter().count();
+        consumer.failuresLeft = 2;
+
+        assertThat(outboxRelay.relay()).isZero();
+        assertThat(outboxRelay.relay()).isEqualTo(2);
+
+        assertThat(consumer.received).singleElement().extracting(OutboxEvent::getType)
+                .isEqualTo(BookingEventType.BOOKING_CREATED.name());
+        assertThat(outboxRepository.count()).isZero();
+        OutboxDeadLetter deadLetter = deadLetterRepository.findAll().get(0);
+        assertThat(deadLetter.getAggregateId()).isEqualTo(first.getId());
+        assertThat(deadLetter.getAttempts()).isEqualTo(2);
+        assertThat(deadLetter.getError()).isEqualTo("Consumer unavailable");
+        assertThat(meterRegistry.get("shareit.outbox.dead.lettered").counter().count()).isEqualTo(deadBefore + 1);
+    }
+
+    @Test
+    void rejectedBookingRecordsNoEvent() {
+        User owner = userRepository.save(new User(null, "Owner Outbox None", "owner.outbox.none@example.com"));
+        Item item = fixtures.createItem("Outbox Item", "Outbox Description", true, owner);
+
+        assertThrows(BadRequestException.class,
+                () -> bookingService.createBooking(owner.getId(), request(item, LocalDateTime.now().plusDays(1))));
+        assertThat(outboxRepository.count()).isZero();
+    }
+
+    private BookingDto request(Item item, LocalDateTime start) {
+        BookingDto request = new BookingDto();
+        request.setItemId(item.getId());
+        request.setStart(start);
+        request.setEnd(start.plusDays(1));
+        return request;
+    }
+}
@@ -0,0 +1,126 @@
+package owner.tests;
+
+import common.tests.TestFixtures;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.item.CommentRepository;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.owner.OwnerDashboardService;
+import ru.practicum.shareit.owner.dto.DashboardItemDto;
+import ru.practicum.shareit.owner.dto.OwnerDashboardDto;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Import(TestFixtures.class)
+@SpringBootTest(classes = ru.practicum.shareit.ShareItServer.class)
+@Transactional
+public class OwnerDashboardServiceImplTest {
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private OwnerDashboardService ownerDashboardService;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void dashboardCombinesItemsBookingsCommentsAndPendingApprovals() {
+        User owner = userRepository.save(new User(null, "Owner Dashboard", "owner.dashboard@example.com"));
+        User booker = userRepository.save(new User(null, "Booker Dashboard", "booker.dashboard@example.com"));
+        Item drill = fixtures.createItem("Drill", "Drill description", true, owner);
+        Item ladder = fixtures.createItem("Ladder", "Ladder description", true, owner);
+        LocalDateTime now = LocalDateTime.now();
+        fixtures.createBooking(booker, drill, now.minusDays(5), now.minusDays(4), Status.APPROVED);
+        Booking last = fixtures.createBooking(booker, drill, now.minusDays(3), now.minusDays(2), Status.APPROVED);
+        Booking next = fixtures.createBooking(booker, drill, now.plusDays(1), now.plusDays(2), Status.WAITING);
+        Booking later = fixtures.createBooking(booker, drill, now.plusDays(3), now.plusDays(4), Status.WAITING);
+        saveComment(booker, drill, "Old", now.minusDays(2));
+        saveComment(booker, drill, "Works great", now.minusDays(1));
+
+        OwnerDashboardDto dashboard = ownerDashboardService.getDashboard(owner.getId());
+
+        assertThat(dashboard.getItems()).extracting(DashboardItemDto::getName).containsExactly("Drill", "Ladder");
+        DashboardItemDto drillDto = dashboard.getItems().get(0);
+        assertThat(drillDto.getLastBooking().getId()).isEqualTo(last.getId());
+        assertThat(drillDto.getNextBooking().getId()).isEqualTo(next.getId());
+        assertThat(drillDto.getNextBooking().getBookerName()).isEqualTo("Booker Dashboard");
+        assertThat(drillDto.getCommentCount()).isEqualTo(2);
+        assertThat(drillDto.getLastComment().getText()).isEqualTo("Works great");
+        DashboardItemDto ladderDto = dashboard.getItems().get(1);
+        assertThat(ladderDto.getLastBooking()).isNull();
+        assertThat(ladderDto.getNextBooking()).isNull();
+        assertThat(ladderDto.getCommentCount()).isZero();
+        assertThat(ladderDto.getLastComment()).isNull();
+        assertThat(dashboard.getPendingApprovals()).extracting(b -> b.getId())
+                .containsExactly(next.getId(), later.getId());
+    }
+
+    @Test
+    void dashboardQueryCountDoesNotGrowWithItems() {
+        User owner = userRepository.save(new User(null, "Owner Dashboard Many", "owner.dashboard.many@example.com"));
+        User booker = userRepository.save(new User(null, "Booker Dashboard Many", "booker.dashboard.many@example.com"));
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 15; i++) {
+            Item item = fixtures.createItem("Item " + i, "Item " + i + " description", true, owner);
+            fixtures.createBooking(booker, item, now.minusDays(3), now.minusDays(2), Status.APPROVED);
+            fixtures.createBooking(booker, item, now.plusDays(1), now.plusDays(2), Status.WAITING);
+            saveComment(booker, item, "Comment " + i, now.minusDays(1));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        OwnerDashboardDto dashboard = ownerDashboardService.getDashboard(owner.getId());
+
+        assertThat(dashboard.getItems()).hasSize(15);
+        assertThat(dashboard.getItems()).allSatisfy(item -> {
+            assertThat(item.getLastBooking()).isNotNull();
+            assertThat(item.getNextBooking()).isNotNull();
+            assertThat(item.getLastComment().getAuthorName()).isEqualTo("Booker Dashboard Many");
+        });
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(6);
+    }
+
+    @Test
+    void dashboardForUnknownUserThrows() {
+        assertThrows(NotFoundException.class, () -> ownerDashboardService.getDashboard(999L));
+    }
+
+    private void saveComment(User author, Item item, String text, LocalDateTime created) {
+        Comment comment = new Comment();
+        comment.setAuthor(author);
+        comment.setItem(item);
+        comment.setText(text);
+        comment.setCreated(created);
+        commentRepository.save(comment);
+        itemRepository.incrementCommentCount(item.getId(), created);
+    }
+}
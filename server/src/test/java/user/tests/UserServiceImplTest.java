@@ -8,6 +8,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import ru.practicum.shareit.exceptions.BadRequestException;
 import ru.practicum.shareit.exceptions.ConflictException;
 import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.item.ItemDetailCache;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.UserServiceImpl;
@@ -26,6 +27,9 @@ public class UserServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ItemDetailCache itemDetailCache;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -182,6 +186,7 @@ public class UserServiceImplTest {
         assertEquals(4L, updated.getId());
         assertEquals("Charles", updated.getName());
         assertEquals("charles@example.com", updated.getEmail());
+        verify(itemDetailCache, times(1)).invalidateAll();
     }
 
     @Test